@@ -0,0 +1,234 @@
+package VoidSystems.appointment_service.cache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import VoidSystems.appointment_service.domain.model.Service;
+import VoidSystems.appointment_service.domain.repository.ServiceRepository;
+import VoidSystems.appointment_service.dto.common.ApiResponse;
+import VoidSystems.appointment_service.dto.service.ServiceDTO;
+import VoidSystems.appointment_service.mapper.ServiceMapper;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory catalog of active services grouped by provider.
+ *
+ * The catalog is loaded on first read and then kept current by applying each committed
+ * change to a copy of the previous snapshot. Responses are serialized once per change, so
+ * reads only hand out the prepared bytes.
+ *
+ * Only changes made through this instance are applied. Changes made on other instances show
+ * up when the catalog is reloaded, which happens at the latest once the last full load is older
+ * than the maximum staleness. A reload that finds nothing changed keeps the current version.
+ */
+@Component
+@Slf4j
+public class ServiceCatalog {
+
+    private static final Comparator<ServiceDTO> BY_ID = Comparator.comparing(ServiceDTO::getId);
+
+    private final ServiceRepository serviceRepository;
+    private final ServiceMapper serviceMapper;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+    private final long maxStalenessNanos;
+
+    // Distinguishes versions issued by different instances or restarts
+    private final String instanceId = Long.toString(System.currentTimeMillis(), 36);
+
+    private final Object writeLock = new Object();
+    private volatile ServiceCatalogSnapshot snapshot;
+    // System.nanoTime() of the last full load; written before the snapshot it belongs to
+    private volatile long loadedAt;
+    private long version;
+
+    public ServiceCatalog(ServiceRepository serviceRepository, ServiceMapper serviceMapper,
+            ObjectMapper objectMapper, PlatformTransactionManager transactionManager,
+            @Value("${app.service-catalog.max-staleness:60s}") Duration maxStaleness) {
+        this.serviceRepository = serviceRepository;
+        this.serviceMapper = serviceMapper;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.maxStalenessNanos = maxStaleness.toNanos();
+    }
+
+    public ServiceCatalogSnapshot getSnapshot() {
+        ServiceCatalogSnapshot current = snapshot;
+        if (current != null && !isStale()) {
+            return current;
+        }
+
+        synchronized (writeLock) {
+            if (snapshot == null || isStale()) {
+                load();
+            }
+            return snapshot;
+        }
+    }
+
+    public long getVersion() {
+        return getSnapshot().getVersion();
+    }
+
+    /**
+     * Returns an identifier for the current catalog contents that is unique across instances.
+     */
+    public String getVersionTag() {
+        return instanceId + "-" + getVersion();
+    }
+
+    /**
+     * Records the state of the service once the surrounding transaction commits, so
+     * generated timestamps are included. Inactive services are removed from the catalog.
+     */
+    public void serviceChanged(Service service) {
+        afterCommit(() -> {
+            ServiceDTO dto = serviceMapper.toDTO(service);
+            apply(dto.getId(), dto.getProviderId(), Boolean.TRUE.equals(dto.getActive()) ? dto : null);
+        });
+    }
+
+    public void serviceRemoved(Long serviceId, Long providerId) {
+        afterCommit(() -> apply(serviceId, providerId, null));
+    }
+
+    /**
+     * Reloads the provider's services once the surrounding transaction commits, as each of
+     * them carries the provider's name.
+     */
+    public void providerRenamed(Long providerId) {
+        afterCommit(() -> reloadProvider(providerId));
+    }
+
+    /**
+     * Discards the snapshot so the next read reloads it from the database.
+     */
+    public void invalidate() {
+        synchronized (writeLock) {
+            snapshot = null;
+        }
+    }
+
+    private boolean isStale() {
+        return System.nanoTime() - loadedAt > maxStalenessNanos;
+    }
+
+    // Called with the write lock held
+    private void load() {
+        List<ServiceDTO> services = readOnlyTransaction.execute(status -> serviceRepository.findAllActive().stream()
+                .map(serviceMapper::toDTO)
+                .sorted(BY_ID)
+                .collect(Collectors.toList()));
+        ServiceCatalogSnapshot current = snapshot;
+        loadedAt = System.nanoTime();
+        if (current != null && current.getServices().equals(services)) {
+            // Nothing changed elsewhere; keep the version so clients' ETags stay valid
+            return;
+        }
+
+        Map<Long, ServiceCatalogSnapshot.ProviderGroup> providers = new HashMap<>();
+        services.stream()
+                .collect(Collectors.groupingBy(ServiceDTO::getProviderId))
+                .forEach((providerId, group) -> providers.put(providerId, toGroup(group)));
+
+        snapshot = buildSnapshot(providers);
+        log.info("Loaded service catalog with {} active services", services.size());
+    }
+
+    private void reloadProvider(Long providerId) {
+        synchronized (writeLock) {
+            if (snapshot == null) {
+                // Not loaded yet; the initial load will read the committed state
+                return;
+            }
+
+            List<ServiceDTO> group = readOnlyTransaction.execute(status ->
+                    serviceRepository.findByProviderIdAndActive(providerId, true).stream()
+                            .map(serviceMapper::toDTO)
+                            .collect(Collectors.toList()));
+            replaceGroup(providerId, group);
+        }
+    }
+
+    private void apply(Long serviceId, Long providerId, ServiceDTO replacement) {
+        synchronized (writeLock) {
+            ServiceCatalogSnapshot current = snapshot;
+            if (current == null) {
+                // Not loaded yet; the initial load will read the committed state
+                return;
+            }
+
+            List<ServiceDTO> group = new ArrayList<>(current.getServices(providerId));
+            group.removeIf(service -> service.getId().equals(serviceId));
+            if (replacement != null) {
+                group.add(replacement);
+            }
+            replaceGroup(providerId, group);
+        }
+    }
+
+    // Called with the write lock held and a snapshot loaded
+    private void replaceGroup(Long providerId, List<ServiceDTO> group) {
+        Map<Long, ServiceCatalogSnapshot.ProviderGroup> providers = new HashMap<>(snapshot.getProviders());
+        if (group.isEmpty()) {
+            providers.remove(providerId);
+        } else {
+            providers.put(providerId, toGroup(group));
+        }
+
+        snapshot = buildSnapshot(providers);
+    }
+
+    private ServiceCatalogSnapshot.ProviderGroup toGroup(List<ServiceDTO> services) {
+        List<ServiceDTO> sorted = new ArrayList<>(services);
+        sorted.sort(BY_ID);
+        return new ServiceCatalogSnapshot.ProviderGroup(sorted, serialize(sorted));
+    }
+
+    private ServiceCatalogSnapshot buildSnapshot(Map<Long, ServiceCatalogSnapshot.ProviderGroup> providers) {
+        List<ServiceDTO> services = new ArrayList<>();
+        providers.values().forEach(group -> services.addAll(group.getServices()));
+        services.sort(BY_ID);
+
+        version++;
+        return new ServiceCatalogSnapshot(version, services, serialize(services), serialize(List.of()), providers);
+    }
+
+    private byte[] serialize(List<ServiceDTO> services) {
+        try {
+            return objectMapper.writeValueAsBytes(ApiResponse.success(services));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize service catalog", e);
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,74 @@
+package VoidSystems.appointment_service.cache;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import VoidSystems.appointment_service.dto.service.ServiceDTO;
+
+/**
+ * Immutable view of the active service catalog at a given version. A new instance is
+ * built for every change; readers never observe a partially applied update.
+ */
+public final class ServiceCatalogSnapshot {
+
+    private final long version;
+    private final List<ServiceDTO> services;
+    private final byte[] json;
+    private final byte[] emptyJson;
+    private final Map<Long, ProviderGroup> providers;
+
+    ServiceCatalogSnapshot(long version, List<ServiceDTO> services, byte[] json, byte[] emptyJson,
+            Map<Long, ProviderGroup> providers) {
+        this.version = version;
+        this.services = Collections.unmodifiableList(services);
+        this.json = json;
+        this.emptyJson = emptyJson;
+        this.providers = Collections.unmodifiableMap(providers);
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public List<ServiceDTO> getServices() {
+        return services;
+    }
+
+    public byte[] getJson() {
+        return json;
+    }
+
+    public List<ServiceDTO> getServices(Long providerId) {
+        ProviderGroup group = providers.get(providerId);
+        return group != null ? group.getServices() : Collections.emptyList();
+    }
+
+    public byte[] getJson(Long providerId) {
+        ProviderGroup group = providers.get(providerId);
+        return group != null ? group.getJson() : emptyJson;
+    }
+
+    Map<Long, ProviderGroup> getProviders() {
+        return providers;
+    }
+
+    static final class ProviderGroup {
+
+        private final List<ServiceDTO> services;
+        private final byte[] json;
+
+        ProviderGroup(List<ServiceDTO> services, byte[] json) {
+            this.services = Collections.unmodifiableList(services);
+            this.json = json;
+        }
+
+        List<ServiceDTO> getServices() {
+            return services;
+        }
+
+        byte[] getJson() {
+            return json;
+        }
+    }
+}
@@ -30,6 +30,7 @@ import VoidSystems.appointment_service.domain.repository.ClientRepository;
 import VoidSystems.appointment_service.domain.repository.ProviderRepository;
 import VoidSystems.appointment_service.domain.repository.RoleRepository;
 import VoidSystems.appointment_service.domain.repository.ServiceRepository;
+import VoidSystems.appointment_service.service.ProviderAgendaService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -47,6 +48,7 @@ public class DataInitializer {
     private final AppointmentStatusRepository appointmentStatusRepository;
     private final AppointmentRepository appointmentRepository;
     private final PasswordEncoder passwordEncoder;
+    private final ProviderAgendaService providerAgendaService;
 
     @Bean
     @Profile("dev")
@@ -214,6 +216,7 @@ public class DataInitializer {
             );
             
             appointmentRepository.saveAll(appointments);
+            providerAgendaService.rebuild();
             
             log.info("Development data initialized successfully!");
         };
@@ -0,0 +1,22 @@
+package VoidSystems.appointment_service.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import VoidSystems.appointment_service.metrics.BookingMetricsInterceptor;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+
+@Configuration
+@RequiredArgsConstructor
+public class MetricsConfig implements WebMvcConfigurer {
+
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new BookingMetricsInterceptor(meterRegistry))
+                .addPathPatterns("/api/appointments", "/api/appointments/**");
+    }
+}
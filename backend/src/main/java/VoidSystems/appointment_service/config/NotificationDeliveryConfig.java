@@ -0,0 +1,17 @@
+package VoidSystems.appointment_service.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import VoidSystems.appointment_service.notification.delivery.DeliveryProperties;
+
+@Configuration
+public class NotificationDeliveryConfig {
+
+    @Bean
+    @ConfigurationProperties("app.notifications.delivery")
+    public DeliveryProperties deliveryProperties() {
+        return new DeliveryProperties();
+    }
+}
@@ -0,0 +1,30 @@
+package VoidSystems.appointment_service.config;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import VoidSystems.appointment_service.metrics.QueryCountingDataSource;
+
+/**
+ * Wraps the application datasource so JDBC activity can be counted per request.
+ */
+@Configuration
+public class QueryMetricsConfig {
+
+    @Bean
+    public static BeanPostProcessor queryCountingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                // Only the datasource the application talks to; individual pools behind a router are left alone
+                if (bean instanceof DataSource && "dataSource".equals(beanName) && !(bean instanceof QueryCountingDataSource)) {
+                    return new QueryCountingDataSource((DataSource) bean);
+                }
+                return bean;
+            }
+        };
+    }
+}
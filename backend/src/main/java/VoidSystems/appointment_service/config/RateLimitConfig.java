@@ -0,0 +1,17 @@
+package VoidSystems.appointment_service.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import VoidSystems.appointment_service.ratelimit.RateLimitProperties;
+
+@Configuration
+public class RateLimitConfig {
+
+    @Bean
+    @ConfigurationProperties("app.rate-limit")
+    public RateLimitProperties rateLimitProperties() {
+        return new RateLimitProperties();
+    }
+}
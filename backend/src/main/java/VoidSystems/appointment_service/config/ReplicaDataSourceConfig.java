@@ -0,0 +1,98 @@
+package VoidSystems.appointment_service.config;
+
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import VoidSystems.appointment_service.datasource.ReadYourWritesInterceptor;
+import VoidSystems.appointment_service.datasource.ReadYourWritesTracker;
+import VoidSystems.appointment_service.datasource.ReplicaRoutingDataSource;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Splits database traffic between the primary and a read replica.
+ * Only active when {@code app.datasource.replica.enabled=true}; otherwise Spring Boot's
+ * single auto-configured datasource is used unchanged.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.datasource.replica", name = "enabled", havingValue = "true")
+@Slf4j
+public class ReplicaDataSourceConfig implements WebMvcConfigurer {
+
+    @Value("${app.datasource.replica.read-your-writes-window:5s}")
+    private Duration readYourWritesWindow;
+
+    @Value("${app.datasource.replica.read-your-writes-max-users:10000}")
+    private int readYourWritesMaxUsers;
+
+    @Bean
+    @Primary
+    @ConfigurationProperties("spring.datasource")
+    public DataSourceProperties primaryDataSourceProperties() {
+        return new DataSourceProperties();
+    }
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(@Qualifier("primaryDataSourceProperties") DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary-pool");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("app.datasource.replica")
+    public DataSourceProperties replicaDataSourceProperties() {
+        return new DataSourceProperties();
+    }
+
+    @Bean
+    @ConfigurationProperties("app.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(@Qualifier("replicaDataSourceProperties") DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("replica-pool");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker() {
+        return new ReadYourWritesTracker(readYourWritesWindow, readYourWritesMaxUsers);
+    }
+
+    /**
+     * The datasource used by JPA, Flyway and JdbcTemplate. The lazy proxy defers fetching a
+     * physical connection until the first statement, by which point the transaction's
+     * read-only flag has been published and the router can pick the right pool.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                 @Qualifier("replicaDataSource") DataSource replicaDataSource,
+                                 ReadYourWritesTracker readYourWritesTracker) {
+        ReplicaRoutingDataSource routingDataSource =
+                new ReplicaRoutingDataSource(primaryDataSource, replicaDataSource, readYourWritesTracker);
+        routingDataSource.afterPropertiesSet();
+        log.info("Read replica routing enabled (read-your-writes window: {})", readYourWritesWindow);
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new ReadYourWritesInterceptor(readYourWritesTracker()));
+    }
+}
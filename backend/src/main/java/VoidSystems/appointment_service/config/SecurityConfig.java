@@ -1,5 +1,6 @@
 package VoidSystems.appointment_service.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -16,9 +17,14 @@ import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import VoidSystems.appointment_service.ratelimit.RateLimitFilter;
+import VoidSystems.appointment_service.security.BoundedPasswordEncoder;
 import VoidSystems.appointment_service.security.JwtAuthenticationFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
 
@@ -29,6 +35,7 @@ import java.util.List;
 public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final RateLimitFilter rateLimitFilter;
 
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
@@ -37,16 +44,20 @@ public class SecurityConfig {
             .csrf(csrf -> csrf.disable())
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             .authorizeHttpRequests(authorize -> authorize
+                // Async dispatches of an already authorized stream (SSE completion/timeout)
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                 // Public endpoints
                 .requestMatchers("/api/auth/**").permitAll()
                 .requestMatchers("/api/public/**").permitAll()
                 .requestMatchers("/api/health/**").permitAll()
+                .requestMatchers("/api/actuator/provideragenda").hasRole("ADMIN")
                 .requestMatchers("/api/actuator/**").permitAll()
                 .requestMatchers("/v3/api-docs/**", "/swagger-ui/**", "/swagger-ui.html").permitAll()
                 // Protected endpoints
                 .anyRequest().authenticated()
             )
-            .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+            .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+            .addFilterBefore(rateLimitFilter, JwtAuthenticationFilter.class);
         
         return http.build();
     }
@@ -64,8 +75,12 @@ public class SecurityConfig {
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(
+            MeterRegistry meterRegistry,
+            @Value("${app.security.password-hashing.pool-size:0}") int poolSize,
+            @Value("${app.security.password-hashing.queue-capacity:64}") int queueCapacity,
+            @Value("${app.security.password-hashing.retry-after:2s}") Duration retryAfter) {
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(), meterRegistry, poolSize, queueCapacity, retryAfter);
     }
 
     @Bean
@@ -17,6 +17,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import VoidSystems.appointment_service.dto.appointment.AppointmentDTO;
 import VoidSystems.appointment_service.dto.common.ApiResponse;
@@ -45,35 +46,49 @@ public class AppointmentController {
     }
 
     @GetMapping("/client/{clientId}")
-    @PreAuthorize("hasRole('ADMIN') or (hasRole('CLIENT') and @userService.getCurrentUser().getId() == #clientId)")
+    @PreAuthorize("hasRole('ADMIN') or (hasRole('CLIENT') and @accessDecisions.isCurrentUser(#clientId))")
     public ResponseEntity<ApiResponse<List<AppointmentDTO>>> getAppointmentsByClientId(
             @PathVariable Long clientId,
-            @RequestParam(required = false) Boolean upcoming) {
+            @RequestParam(required = false) Boolean upcoming,
+            WebRequest request) {
+        boolean upcomingOnly = upcoming != null && upcoming;
+        String eTag = ETags.strong("appointments", appointmentService.getAppointmentVersionByClientId(clientId, upcomingOnly));
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+        
         List<AppointmentDTO> appointments;
         
-        if (upcoming != null && upcoming) {
+        if (upcomingOnly) {
             appointments = appointmentService.getUpcomingAppointmentsByClientId(clientId);
         } else {
             appointments = appointmentService.getAppointmentsByClientId(clientId);
         }
         
-        return ResponseEntity.ok(ApiResponse.success(appointments));
+        return ResponseEntity.ok().eTag(eTag).body(ApiResponse.success(appointments));
     }
 
     @GetMapping("/provider/{providerId}")
-    @PreAuthorize("hasRole('ADMIN') or (hasRole('PROVIDER') and @userService.getCurrentUser().getId() == #providerId)")
+    @PreAuthorize("hasRole('ADMIN') or (hasRole('PROVIDER') and @accessDecisions.isCurrentUser(#providerId))")
     public ResponseEntity<ApiResponse<List<AppointmentDTO>>> getAppointmentsByProviderId(
             @PathVariable Long providerId,
-            @RequestParam(required = false) Boolean upcoming) {
+            @RequestParam(required = false) Boolean upcoming,
+            WebRequest request) {
+        boolean upcomingOnly = upcoming != null && upcoming;
+        String eTag = ETags.strong("appointments", appointmentService.getAppointmentVersionByProviderId(providerId, upcomingOnly));
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+        
         List<AppointmentDTO> appointments;
         
-        if (upcoming != null && upcoming) {
+        if (upcomingOnly) {
             appointments = appointmentService.getUpcomingAppointmentsByProviderId(providerId);
         } else {
             appointments = appointmentService.getAppointmentsByProviderId(providerId);
         }
         
-        return ResponseEntity.ok(ApiResponse.success(appointments));
+        return ResponseEntity.ok().eTag(eTag).body(ApiResponse.success(appointments));
     }
 
     @GetMapping("/service/{serviceId}")
@@ -90,7 +105,7 @@ public class AppointmentController {
     }
 
     @GetMapping("/provider/{providerId}/date/{date}")
-    @PreAuthorize("hasRole('ADMIN') or (hasRole('PROVIDER') and @userService.getCurrentUser().getId() == #providerId)")
+    @PreAuthorize("hasRole('ADMIN') or (hasRole('PROVIDER') and @accessDecisions.isCurrentUser(#providerId))")
     public ResponseEntity<ApiResponse<List<AppointmentDTO>>> getAppointmentsByProviderIdAndDate(
             @PathVariable Long providerId,
             @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
@@ -99,7 +114,7 @@ public class AppointmentController {
     }
 
     @GetMapping("/client/{clientId}/date/{date}")
-    @PreAuthorize("hasRole('ADMIN') or (hasRole('CLIENT') and @userService.getCurrentUser().getId() == #clientId)")
+    @PreAuthorize("hasRole('ADMIN') or (hasRole('CLIENT') and @accessDecisions.isCurrentUser(#clientId))")
     public ResponseEntity<ApiResponse<List<AppointmentDTO>>> getAppointmentsByClientIdAndDate(
             @PathVariable Long clientId,
             @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
@@ -108,7 +123,7 @@ public class AppointmentController {
     }
 
     @GetMapping("/provider/{providerId}/range")
-    @PreAuthorize("hasRole('ADMIN') or (hasRole('PROVIDER') and @userService.getCurrentUser().getId() == #providerId)")
+    @PreAuthorize("hasRole('ADMIN') or (hasRole('PROVIDER') and @accessDecisions.isCurrentUser(#providerId))")
     public ResponseEntity<ApiResponse<List<AppointmentDTO>>> getAppointmentsByProviderIdAndDateRange(
             @PathVariable Long providerId,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDateTime,
@@ -118,7 +133,7 @@ public class AppointmentController {
     }
 
     @GetMapping("/client/{clientId}/range")
-    @PreAuthorize("hasRole('ADMIN') or (hasRole('CLIENT') and @userService.getCurrentUser().getId() == #clientId)")
+    @PreAuthorize("hasRole('ADMIN') or (hasRole('CLIENT') and @accessDecisions.isCurrentUser(#clientId))")
     public ResponseEntity<ApiResponse<List<AppointmentDTO>>> getAppointmentsByClientIdAndDateRange(
             @PathVariable Long clientId,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDateTime,
@@ -1,13 +1,16 @@
 package VoidSystems.appointment_service.controller;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import VoidSystems.appointment_service.dto.auth.JwtAuthenticationResponse;
 import VoidSystems.appointment_service.dto.auth.LoginRequest;
+import VoidSystems.appointment_service.dto.auth.RefreshTokenRequest;
 import VoidSystems.appointment_service.dto.auth.RegisterRequest;
 import VoidSystems.appointment_service.dto.common.ApiResponse;
 import VoidSystems.appointment_service.service.AuthService;
@@ -32,4 +35,20 @@ public class AuthController {
         JwtAuthenticationResponse response = authService.register(registerRequest);
         return ResponseEntity.ok(ApiResponse.success("User registered successfully", response));
     }
+
+    @PostMapping("/refresh")
+    public ResponseEntity<ApiResponse<JwtAuthenticationResponse>> refresh(@Valid @RequestBody RefreshTokenRequest refreshTokenRequest) {
+        JwtAuthenticationResponse response = authService.refresh(refreshTokenRequest);
+        return ResponseEntity.ok(ApiResponse.success("Token refreshed successfully", response));
+    }
+
+    @PostMapping("/logout")
+    public ResponseEntity<ApiResponse<Void>> logout(
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization,
+            @RequestBody(required = false) RefreshTokenRequest refreshTokenRequest) {
+        String accessToken = authorization != null && authorization.startsWith("Bearer ") ? authorization.substring(7) : null;
+        String refreshToken = refreshTokenRequest != null ? refreshTokenRequest.getRefreshToken() : null;
+        authService.logout(accessToken, refreshToken);
+        return ResponseEntity.ok(ApiResponse.success("User logged out successfully", null));
+    }
 }
\ No newline at end of file
@@ -19,6 +19,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import VoidSystems.appointment_service.dto.availability.AvailabilityDTO;
 import VoidSystems.appointment_service.dto.common.ApiResponse;
@@ -51,7 +52,13 @@ public class AvailabilityController {
     @PreAuthorize("hasRole('ADMIN') or hasRole('PROVIDER') or hasRole('CLIENT')")
     public ResponseEntity<ApiResponse<List<AvailabilityDTO>>> getAvailabilitiesByProviderId(
             @PathVariable Long providerId,
-            @RequestParam(required = false) Boolean recurring) {
+            @RequestParam(required = false) Boolean recurring,
+            WebRequest request) {
+        String eTag = ETags.strong("availabilities", availabilityService.getAvailabilityVersionByProviderId(providerId));
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+        
         List<AvailabilityDTO> availabilities;
         
         if (recurring != null) {
@@ -64,7 +71,7 @@ public class AvailabilityController {
             availabilities = availabilityService.getAvailabilitiesByProviderId(providerId);
         }
         
-        return ResponseEntity.ok(ApiResponse.success(availabilities));
+        return ResponseEntity.ok().eTag(eTag).body(ApiResponse.success(availabilities));
     }
 
     @GetMapping("/provider/{providerId}/day/{dayOfWeek}")
@@ -86,7 +93,7 @@ public class AvailabilityController {
     }
 
     @PostMapping("/provider/{providerId}")
-    @PreAuthorize("hasRole('ADMIN') or (hasRole('PROVIDER') and @userService.getCurrentUser().getId() == #providerId)")
+    @PreAuthorize("hasRole('ADMIN') or (hasRole('PROVIDER') and @accessDecisions.isCurrentUser(#providerId))")
     public ResponseEntity<ApiResponse<AvailabilityDTO>> createAvailability(
             @PathVariable Long providerId,
             @Valid @RequestBody AvailabilityDTO availabilityDTO) {
@@ -95,7 +102,7 @@ public class AvailabilityController {
     }
 
     @PutMapping("/{id}")
-    @PreAuthorize("hasRole('ADMIN') or (hasRole('PROVIDER') and @availabilityService.getAvailabilityById(#id).providerId == @userService.getCurrentUser().getId())")
+    @PreAuthorize("hasRole('ADMIN') or (hasRole('PROVIDER') and @accessDecisions.isAvailabilityOwner(#id))")
     public ResponseEntity<ApiResponse<AvailabilityDTO>> updateAvailability(
             @PathVariable Long id,
             @Valid @RequestBody AvailabilityDTO availabilityDTO) {
@@ -104,7 +111,7 @@ public class AvailabilityController {
     }
 
     @DeleteMapping("/{id}")
-    @PreAuthorize("hasRole('ADMIN') or (hasRole('PROVIDER') and @availabilityService.getAvailabilityById(#id).providerId == @userService.getCurrentUser().getId())")
+    @PreAuthorize("hasRole('ADMIN') or (hasRole('PROVIDER') and @accessDecisions.isAvailabilityOwner(#id))")
     public ResponseEntity<ApiResponse<Void>> deleteAvailability(@PathVariable Long id) {
         availabilityService.deleteAvailability(id);
         return ResponseEntity.ok(ApiResponse.success("Availability deleted successfully", null));
@@ -0,0 +1,14 @@
+package VoidSystems.appointment_service.controller;
+
+/**
+ * Builds strong entity tags from data version identifiers.
+ */
+final class ETags {
+
+    private ETags() {
+    }
+
+    static String strong(String resource, String version) {
+        return "\"" + resource + "-" + version + "\"";
+    }
+}
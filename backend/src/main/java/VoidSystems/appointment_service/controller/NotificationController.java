@@ -3,28 +3,30 @@ package VoidSystems.appointment_service.controller;
 import VoidSystems.appointment_service.domain.model.Notification;
 import VoidSystems.appointment_service.domain.model.User;
 import VoidSystems.appointment_service.dto.NotificationDTO;
+import VoidSystems.appointment_service.dto.notification.BulkOperationResponse;
+import VoidSystems.appointment_service.dto.notification.NotificationChangesResponse;
+import VoidSystems.appointment_service.dto.notification.NotificationIdsRequest;
 import VoidSystems.appointment_service.exception.UnauthorizedException;
 import VoidSystems.appointment_service.mapper.NotificationMapper;
 import VoidSystems.appointment_service.security.CurrentUser;
-import VoidSystems.appointment_service.security.CustomUserDetailsService;
+import VoidSystems.appointment_service.security.UserPrincipal;
 import VoidSystems.appointment_service.service.NotificationService;
 import VoidSystems.appointment_service.domain.repository.UserRepository;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -34,34 +36,15 @@ import java.util.stream.Collectors;
 @Tag(name = "Notifications", description = "Notification management APIs")
 public class NotificationController {
 
-    private static final Logger logger = LoggerFactory.getLogger(NotificationController.class);
-
     private final NotificationService notificationService;
     private final NotificationMapper notificationMapper;
-    private final UserDetailsService userDetailsService;
     private final UserRepository userRepository;
 
     @GetMapping
     @Operation(summary = "Get all notifications for the current user")
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<List<NotificationDTO>> getUserNotifications(@CurrentUser User user) {
-        if (user == null) {
-            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-            if (authentication != null && authentication.getPrincipal() instanceof UserDetails) {
-                String email = ((UserDetails) authentication.getPrincipal()).getUsername();
-                try {
-                    // We need to get the actual User entity from the repository
-                    user = userRepository.findByEmail(email)
-                            .orElseThrow(() -> new UnauthorizedException("User not found"));
-                } catch (Exception e) {
-                    throw new UnauthorizedException("User not found");
-                }
-            }
-            
-            if (user == null) {
-                throw new UnauthorizedException("Authentication required");
-            }
-        }
+    public ResponseEntity<List<NotificationDTO>> getUserNotifications(@CurrentUser UserDetails principal) {
+        User user = resolveUser(principal);
         
         List<Notification> notifications = notificationService.getUserNotifications(user);
         List<NotificationDTO> notificationDTOs = notifications.stream()
@@ -74,51 +57,18 @@ public class NotificationController {
     @Operation(summary = "Get paginated notifications for the current user")
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<Page<NotificationDTO>> getPaginatedNotifications(
-            @CurrentUser User user,
+            @CurrentUser UserDetails principal,
             Pageable pageable) {
-        if (user == null) {
-            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-            if (authentication != null && authentication.getPrincipal() instanceof UserDetails) {
-                String email = ((UserDetails) authentication.getPrincipal()).getUsername();
-                try {
-                    // We need to get the actual User entity from the repository
-                    user = userRepository.findByEmail(email)
-                            .orElseThrow(() -> new UnauthorizedException("User not found"));
-                } catch (Exception e) {
-                    throw new UnauthorizedException("User not found");
-                }
-            }
-            
-            if (user == null) {
-                throw new UnauthorizedException("Authentication required");
-            }
-        }
+        User user = resolveUser(principal);
         
-        Page<Notification> notificationsPage = notificationService.getUserNotifications(user, pageable);
-        return ResponseEntity.ok(notificationsPage.map(notificationMapper::toDTO));
+        return ResponseEntity.ok(notificationService.getNotificationPage(user, pageable));
     }
 
     @GetMapping("/unread")
     @Operation(summary = "Get unread notifications for the current user")
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<List<NotificationDTO>> getUnreadNotifications(@CurrentUser User user) {
-        if (user == null) {
-            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-            if (authentication != null && authentication.getPrincipal() instanceof UserDetails) {
-                String email = ((UserDetails) authentication.getPrincipal()).getUsername();
-                try {
-                    // We need to get the actual User entity from the repository
-                    user = userRepository.findByEmail(email)
-                            .orElseThrow(() -> new UnauthorizedException("User not found"));
-                } catch (Exception e) {
-                    throw new UnauthorizedException("User not found");
-                }
-            }
-            
-            if (user == null) {
-                throw new UnauthorizedException("Authentication required");
-            }
-        }
+    public ResponseEntity<List<NotificationDTO>> getUnreadNotifications(@CurrentUser UserDetails principal) {
+        User user = resolveUser(principal);
         
         List<Notification> notifications = notificationService.getUnreadNotifications(user);
         List<NotificationDTO> notificationDTOs = notifications.stream()
@@ -130,49 +80,41 @@ public class NotificationController {
     @GetMapping("/unread/count")
     @Operation(summary = "Get the count of unread notifications for the current user")
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<Long> getUnreadNotificationCount(@CurrentUser User user) {
-        if (user == null) {
-            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-            if (authentication != null && authentication.getPrincipal() instanceof UserDetails) {
-                String email = ((UserDetails) authentication.getPrincipal()).getUsername();
-                try {
-                    // We need to get the actual User entity from the repository
-                    user = userRepository.findByEmail(email)
-                            .orElseThrow(() -> new UnauthorizedException("User not found"));
-                } catch (Exception e) {
-                    throw new UnauthorizedException("User not found");
-                }
-            }
-            
-            if (user == null) {
-                throw new UnauthorizedException("Authentication required");
-            }
-        }
+    public ResponseEntity<Long> getUnreadNotificationCount(@CurrentUser UserDetails principal) {
+        User user = resolveUser(principal);
         
         long count = notificationService.getUnreadNotificationCount(user);
         return ResponseEntity.ok(count);
     }
 
+    @GetMapping("/changes")
+    @Operation(summary = "Get notifications changed and deleted since a sync cursor")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<NotificationChangesResponse> getNotificationChanges(
+            @CurrentUser UserDetails principal,
+            @RequestParam(required = false) String since) {
+        User user = resolveUser(principal);
+        
+        return ResponseEntity.ok(notificationService.getChangesSince(user, since));
+    }
+
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream new notifications and unread count changes for the current user")
+    @PreAuthorize("isAuthenticated()")
+    public SseEmitter streamNotifications(
+            @CurrentUser UserDetails principal,
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId,
+            @RequestParam(value = "lastEventId", required = false) Long lastEventIdParam) {
+        User user = resolveUser(principal);
+        
+        // The browser sends the header on its own reconnects; a freshly opened stream can only pass a parameter
+        return notificationService.streamNotifications(user, lastEventId != null ? lastEventId : lastEventIdParam);
+    }
+
     @PutMapping("/{id}/read")
     @Operation(summary = "Mark notification as read")
-    public ResponseEntity<NotificationDTO> markAsRead(@PathVariable Long id, @CurrentUser User user) {
-        if (user == null) {
-            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-            if (authentication != null && authentication.getPrincipal() instanceof UserDetails) {
-                String email = ((UserDetails) authentication.getPrincipal()).getUsername();
-                try {
-                    // We need to get the actual User entity from the repository
-                    user = userRepository.findByEmail(email)
-                            .orElseThrow(() -> new UnauthorizedException("User not found"));
-                } catch (Exception e) {
-                    throw new UnauthorizedException("User not found");
-                }
-            }
-            
-            if (user == null) {
-                throw new UnauthorizedException("Authentication required");
-            }
-        }
+    public ResponseEntity<NotificationDTO> markAsRead(@PathVariable Long id, @CurrentUser UserDetails principal) {
+        User user = resolveUser(principal);
         
         Notification notification = notificationService.markAsRead(id, user);
         return ResponseEntity.ok(notificationMapper.toDTO(notification));
@@ -181,35 +123,35 @@ public class NotificationController {
     @PutMapping("/read-all")
     @Operation(summary = "Mark all notifications as read for the current user")
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<Void> markAllAsRead(@CurrentUser User user) {
-        if (user == null) {
-            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-            if (authentication != null && authentication.getPrincipal() instanceof UserDetails) {
-                String email = ((UserDetails) authentication.getPrincipal()).getUsername();
-                try {
-                    // We need to get the actual User entity from the repository
-                    user = userRepository.findByEmail(email)
-                            .orElseThrow(() -> new UnauthorizedException("User not found"));
-                } catch (Exception e) {
-                    throw new UnauthorizedException("User not found");
-                }
-            }
-            
-            if (user == null) {
-                throw new UnauthorizedException("Authentication required");
-            }
-        }
+    public ResponseEntity<Void> markAllAsRead(@CurrentUser UserDetails principal) {
+        User user = resolveUser(principal);
         
         notificationService.markAllAsRead(user);
+        return ResponseEntity.ok().build();
+    }
+
+    @PutMapping("/read")
+    @Operation(summary = "Mark the given notifications as read")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<BulkOperationResponse> markAsRead(
+            @Valid @RequestBody NotificationIdsRequest request,
+            @CurrentUser UserDetails principal) {
+        User user = resolveUser(principal);
         
-        // Return all notifications to verify they're marked as read
-        List<Notification> notifications = notificationService.getUserNotifications(user);
-        if (!notifications.stream().allMatch(Notification::isRead)) {
-            // If not all notifications are marked as read, log a warning
-            logger.warn("Not all notifications were marked as read for user {}", user.getId());
-        }
+        int affected = notificationService.markAsRead(request.getIds(), user);
+        return ResponseEntity.ok(new BulkOperationResponse(affected));
+    }
+
+    @PutMapping("/read-before")
+    @Operation(summary = "Mark notifications created before the given time as read")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<BulkOperationResponse> markAsReadBefore(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime before,
+            @CurrentUser UserDetails principal) {
+        User user = resolveUser(principal);
         
-        return ResponseEntity.ok().build();
+        int affected = notificationService.markAsReadBefore(before, user);
+        return ResponseEntity.ok(new BulkOperationResponse(affected));
     }
 
     @DeleteMapping("/{id}")
@@ -217,52 +159,57 @@ public class NotificationController {
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<Void> deleteNotification(
             @PathVariable("id") Long notificationId,
-            @CurrentUser User user) {
-        if (user == null) {
-            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-            if (authentication != null && authentication.getPrincipal() instanceof UserDetails) {
-                String email = ((UserDetails) authentication.getPrincipal()).getUsername();
-                try {
-                    // We need to get the actual User entity from the repository
-                    user = userRepository.findByEmail(email)
-                            .orElseThrow(() -> new UnauthorizedException("User not found"));
-                } catch (Exception e) {
-                    throw new UnauthorizedException("User not found");
-                }
-            }
-            
-            if (user == null) {
-                throw new UnauthorizedException("Authentication required");
-            }
-        }
+            @CurrentUser UserDetails principal) {
+        User user = resolveUser(principal);
         
         notificationService.deleteNotification(notificationId, user);
         return ResponseEntity.noContent().build();
     }
 
+    @PostMapping("/delete")
+    @Operation(summary = "Delete the given notifications")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<BulkOperationResponse> deleteNotifications(
+            @Valid @RequestBody NotificationIdsRequest request,
+            @CurrentUser UserDetails principal) {
+        User user = resolveUser(principal);
+        
+        int affected = notificationService.deleteNotifications(request.getIds(), user);
+        return ResponseEntity.ok(new BulkOperationResponse(affected));
+    }
+
+    @DeleteMapping("/read")
+    @Operation(summary = "Delete all read notifications for the current user")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<BulkOperationResponse> deleteReadNotifications(@CurrentUser UserDetails principal) {
+        User user = resolveUser(principal);
+        
+        int affected = notificationService.deleteReadNotifications(user);
+        return ResponseEntity.ok(new BulkOperationResponse(affected));
+    }
+
     @DeleteMapping
     @Operation(summary = "Delete all notifications for the current user")
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<Void> deleteAllNotifications(@CurrentUser User user) {
-        if (user == null) {
-            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-            if (authentication != null && authentication.getPrincipal() instanceof UserDetails) {
-                String email = ((UserDetails) authentication.getPrincipal()).getUsername();
-                try {
-                    // We need to get the actual User entity from the repository
-                    user = userRepository.findByEmail(email)
-                            .orElseThrow(() -> new UnauthorizedException("User not found"));
-                } catch (Exception e) {
-                    throw new UnauthorizedException("User not found");
-                }
-            }
-            
-            if (user == null) {
-                throw new UnauthorizedException("Authentication required");
-            }
-        }
+    public ResponseEntity<Void> deleteAllNotifications(@CurrentUser UserDetails principal) {
+        User user = resolveUser(principal);
         
         notificationService.deleteAllNotifications(user);
         return ResponseEntity.noContent().build();
     }
-} 
\ No newline at end of file
+
+    /**
+     * Resolves the calling user without loading it: tokens carry the user id, so a reference
+     * is enough for the ownership checks and queries below.
+     */
+    private User resolveUser(UserDetails principal) {
+        if (principal instanceof UserPrincipal userPrincipal) {
+            return userRepository.getReferenceById(userPrincipal.getId());
+        }
+        if (principal == null) {
+            throw new UnauthorizedException("Authentication required");
+        }
+        return userRepository.findByEmail(principal.getUsername())
+                .orElseThrow(() -> new UnauthorizedException("User not found"));
+    }
+}
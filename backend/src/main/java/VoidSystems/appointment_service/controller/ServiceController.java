@@ -3,6 +3,7 @@ package VoidSystems.appointment_service.controller;
 import java.util.List;
 
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -14,6 +15,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import VoidSystems.appointment_service.dto.common.ApiResponse;
 import VoidSystems.appointment_service.dto.service.ServiceDTO;
@@ -28,17 +30,36 @@ public class ServiceController {
 
     private final ServiceService serviceService;
 
+    @GetMapping(params = "activeOnly=true")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('PROVIDER') or hasRole('CLIENT')")
+    public ResponseEntity<byte[]> getActiveServices(WebRequest request) {
+        String eTag = ETags.strong("services", serviceService.getActiveServicesVersion());
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(serviceService.getAllActiveServicesJson());
+    }
+
     @GetMapping
     @PreAuthorize("hasRole('ADMIN') or hasRole('PROVIDER') or hasRole('CLIENT')")
     public ResponseEntity<ApiResponse<List<ServiceDTO>>> getAllServices(
-            @RequestParam(required = false) Boolean activeOnly) {
+            @RequestParam(required = false) Boolean activeOnly,
+            WebRequest request) {
+        String eTag = ETags.strong("services-all", serviceService.getAllServicesVersion());
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+        
         List<ServiceDTO> services;
         if (activeOnly != null && activeOnly) {
             services = serviceService.getAllActiveServices();
         } else {
             services = serviceService.getAllServices();
         }
-        return ResponseEntity.ok(ApiResponse.success(services));
+        return ResponseEntity.ok().eTag(eTag).body(ApiResponse.success(services));
     }
 
     @GetMapping("/{id}")
@@ -48,6 +69,19 @@ public class ServiceController {
         return ResponseEntity.ok(ApiResponse.success(service));
     }
 
+    @GetMapping(value = "/provider/{providerId}", params = "activeOnly=true")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('PROVIDER') or hasRole('CLIENT')")
+    public ResponseEntity<byte[]> getActiveServicesByProviderId(@PathVariable Long providerId, WebRequest request) {
+        String eTag = ETags.strong("services", serviceService.getActiveServicesVersion());
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(serviceService.getActiveServicesByProviderIdJson(providerId));
+    }
+
     @GetMapping("/provider/{providerId}")
     @PreAuthorize("hasRole('ADMIN') or hasRole('PROVIDER') or hasRole('CLIENT')")
     public ResponseEntity<ApiResponse<List<ServiceDTO>>> getServicesByProviderId(
@@ -63,7 +97,7 @@ public class ServiceController {
     }
 
     @PostMapping("/provider/{providerId}")
-    @PreAuthorize("hasRole('ADMIN') or (hasRole('PROVIDER') and @userService.getCurrentUser().getId() == #providerId)")
+    @PreAuthorize("hasRole('ADMIN') or (hasRole('PROVIDER') and @accessDecisions.isCurrentUser(#providerId))")
     public ResponseEntity<ApiResponse<ServiceDTO>> createService(
             @PathVariable Long providerId,
             @Valid @RequestBody ServiceDTO serviceDTO) {
@@ -72,7 +106,7 @@ public class ServiceController {
     }
 
     @PutMapping("/{id}")
-    @PreAuthorize("hasRole('ADMIN') or (hasRole('PROVIDER') and @serviceService.getServiceById(#id).providerId == @userService.getCurrentUser().getId())")
+    @PreAuthorize("hasRole('ADMIN') or (hasRole('PROVIDER') and @accessDecisions.isServiceOwner(#id))")
     public ResponseEntity<ApiResponse<ServiceDTO>> updateService(
             @PathVariable Long id,
             @Valid @RequestBody ServiceDTO serviceDTO) {
@@ -81,21 +115,21 @@ public class ServiceController {
     }
 
     @DeleteMapping("/{id}")
-    @PreAuthorize("hasRole('ADMIN') or (hasRole('PROVIDER') and @serviceService.getServiceById(#id).providerId == @userService.getCurrentUser().getId())")
+    @PreAuthorize("hasRole('ADMIN') or (hasRole('PROVIDER') and @accessDecisions.isServiceOwner(#id))")
     public ResponseEntity<ApiResponse<Void>> deleteService(@PathVariable Long id) {
         serviceService.deleteService(id);
         return ResponseEntity.ok(ApiResponse.success("Service deleted successfully", null));
     }
 
     @PutMapping("/{id}/activate")
-    @PreAuthorize("hasRole('ADMIN') or (hasRole('PROVIDER') and @serviceService.getServiceById(#id).providerId == @userService.getCurrentUser().getId())")
+    @PreAuthorize("hasRole('ADMIN') or (hasRole('PROVIDER') and @accessDecisions.isServiceOwner(#id))")
     public ResponseEntity<ApiResponse<Void>> activateService(@PathVariable Long id) {
         serviceService.activateService(id);
         return ResponseEntity.ok(ApiResponse.success("Service activated successfully", null));
     }
 
     @PutMapping("/{id}/deactivate")
-    @PreAuthorize("hasRole('ADMIN') or (hasRole('PROVIDER') and @serviceService.getServiceById(#id).providerId == @userService.getCurrentUser().getId())")
+    @PreAuthorize("hasRole('ADMIN') or (hasRole('PROVIDER') and @accessDecisions.isServiceOwner(#id))")
     public ResponseEntity<ApiResponse<Void>> deactivateService(@PathVariable Long id) {
         serviceService.deactivateService(id);
         return ResponseEntity.ok(ApiResponse.success("Service deactivated successfully", null));
@@ -33,7 +33,7 @@ public class UserController {
     }
 
     @GetMapping("/{id}")
-    @PreAuthorize("hasRole('ADMIN') or @userService.getCurrentUser().getId() == #id")
+    @PreAuthorize("hasRole('ADMIN') or @accessDecisions.isCurrentUser(#id)")
     public ResponseEntity<ApiResponse<UserDTO>> getUserById(@PathVariable Long id) {
         UserDTO userDTO = userService.getUserById(id);
         return ResponseEntity.ok(ApiResponse.success(userDTO));
@@ -61,7 +61,7 @@ public class UserController {
     }
 
     @PutMapping("/{id}")
-    @PreAuthorize("hasRole('ADMIN') or @userService.getCurrentUser().getId() == #id")
+    @PreAuthorize("hasRole('ADMIN') or @accessDecisions.isCurrentUser(#id)")
     public ResponseEntity<ApiResponse<UserDTO>> updateUser(@PathVariable Long id, @Valid @RequestBody UserDTO userDTO) {
         UserDTO updatedUser = userService.updateUser(id, userDTO);
         return ResponseEntity.ok(ApiResponse.success("User updated successfully", updatedUser));
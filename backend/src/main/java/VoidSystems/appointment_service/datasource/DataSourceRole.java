@@ -0,0 +1,9 @@
+package VoidSystems.appointment_service.datasource;
+
+/**
+ * Lookup keys used by {@link ReplicaRoutingDataSource} to pick a target pool.
+ */
+public enum DataSourceRole {
+    PRIMARY,
+    REPLICA
+}
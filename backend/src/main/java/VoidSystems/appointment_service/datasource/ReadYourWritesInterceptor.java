@@ -0,0 +1,52 @@
+package VoidSystems.appointment_service.datasource;
+
+import org.springframework.lang.NonNull;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Marks the current user as a recent writer whenever they issue a mutating request.
+ */
+public class ReadYourWritesInterceptor implements HandlerInterceptor {
+
+    private final ReadYourWritesTracker readYourWritesTracker;
+
+    public ReadYourWritesInterceptor(ReadYourWritesTracker readYourWritesTracker) {
+        this.readYourWritesTracker = readYourWritesTracker;
+    }
+
+    @Override
+    public boolean preHandle(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull Object handler) {
+        if (isWrite(request)) {
+            readYourWritesTracker.recordWrite(currentPrincipal());
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                @NonNull Object handler, Exception ex) {
+        // Restart the window once the write has actually committed
+        if (isWrite(request) && ex == null && response.getStatus() < 400) {
+            readYourWritesTracker.recordWrite(currentPrincipal());
+        }
+    }
+
+    private boolean isWrite(HttpServletRequest request) {
+        String method = request.getMethod();
+        return !"GET".equals(method) && !"HEAD".equals(method) && !"OPTIONS".equals(method);
+    }
+
+    private String currentPrincipal() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
@@ -0,0 +1,47 @@
+package VoidSystems.appointment_service.datasource;
+
+import java.time.Duration;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Remembers which users wrote recently so their read-only work can be kept on
+ * the primary until the replica has had time to catch up.
+ *
+ * Entries expire one window after the user's last write, and the least recently written
+ * users are dropped first once {@code maxEntries} is reached, so recording a write costs
+ * the same however many users are tracked.
+ */
+public class ReadYourWritesTracker {
+
+    private final Cache<String, Boolean> recentWriters;
+
+    public ReadYourWritesTracker(Duration window, int maxEntries) {
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(window)
+                .maximumSize(maxEntries)
+                // Maintenance runs on the calling thread, as it does for the other request-path caches
+                .executor(Runnable::run)
+                .build();
+    }
+
+    public void recordWrite(String principal) {
+        if (principal == null) {
+            return;
+        }
+        recentWriters.put(principal, Boolean.TRUE);
+    }
+
+    public boolean isSticky(String principal) {
+        if (principal == null) {
+            return false;
+        }
+        return recentWriters.getIfPresent(principal) != null;
+    }
+
+    public long size() {
+        recentWriters.cleanUp();
+        return recentWriters.estimatedSize();
+    }
+}
@@ -0,0 +1,59 @@
+package VoidSystems.appointment_service.datasource;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Routes read-only transactions to the replica pool and everything else to the primary.
+ *
+ * Must be wrapped in a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}
+ * so the physical connection is only fetched once the transaction's read-only flag is known.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    private final ReadYourWritesTracker readYourWritesTracker;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, ReadYourWritesTracker readYourWritesTracker) {
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(DataSourceRole.PRIMARY, primary);
+        targets.put(DataSourceRole.REPLICA, replica);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        this.readYourWritesTracker = readYourWritesTracker;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return resolveRole();
+    }
+
+    public DataSourceRole resolveRole() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()
+                || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return DataSourceRole.PRIMARY;
+        }
+
+        // Keep a user on the primary for a short while after their own write
+        if (readYourWritesTracker.isSticky(currentPrincipal())) {
+            return DataSourceRole.PRIMARY;
+        }
+
+        return DataSourceRole.REPLICA;
+    }
+
+    private String currentPrincipal() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
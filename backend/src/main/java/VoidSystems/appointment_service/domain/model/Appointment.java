@@ -63,4 +63,15 @@ public class Appointment {
     @UpdateTimestamp
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
+    
+    // Reminder bookkeeping is only written by the reminder scheduler's bulk updates, so saving
+    // an appointment loaded earlier can never reset it
+    @Column(name = "reminder_claim", length = 36, insertable = false, updatable = false)
+    private String reminderClaim;
+    
+    @Column(name = "reminder_claimed_at", insertable = false, updatable = false)
+    private LocalDateTime reminderClaimedAt;
+    
+    @Column(name = "reminder_sent_at", insertable = false, updatable = false)
+    private LocalDateTime reminderSentAt;
 }
\ No newline at end of file
@@ -6,6 +6,8 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import org.hibernate.annotations.UpdateTimestamp;
+
 import java.time.LocalDateTime;
 
 @Entity
@@ -16,6 +18,12 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 public class Notification {
 
+    // Data keys stored in their own columns; anything else stays in the JSON data column
+    public static final String APPOINTMENT_ID = "appointmentId";
+    public static final String SERVICE_NAME = "serviceName";
+    public static final String CLIENT_NAME = "clientName";
+    public static final String DATE_TIME = "dateTime";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -39,6 +47,23 @@ public class Notification {
     @Column(name = "created_at", nullable = false)
     private LocalDateTime createdAt;
 
+    // Any change moves this forward; delta sync reads changes after a client's cursor
+    @UpdateTimestamp
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Column(name = "appointment_id")
+    private Long appointmentId;
+
+    @Column(name = "service_name")
+    private String serviceName;
+
+    @Column(name = "client_name")
+    private String clientName;
+
+    @Column(name = "date_time", length = 100)
+    private String dateTime;
+
     // Optional JSON data for additional information
     @Column(name = "data", columnDefinition = "TEXT")
     private String data;
@@ -0,0 +1,43 @@
+package VoidSystems.appointment_service.domain.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A notification that could not be delivered on a channel, kept for inspection and replay.
+ */
+@Entity
+@Table(name = "notification_dead_letters")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationDeadLetter {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "notification_id", nullable = false)
+    private Long notificationId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(nullable = false, length = 50)
+    private String channel;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    @Column(name = "failed_at", nullable = false)
+    private LocalDateTime failedAt;
+}
@@ -0,0 +1,34 @@
+package VoidSystems.appointment_service.domain.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Record of a deleted notification, kept for a while so delta sync clients learn about it.
+ */
+@Entity
+@Table(name = "notification_tombstones")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationTombstone {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "notification_id", nullable = false)
+    private Long notificationId;
+
+    @Column(name = "deleted_at", nullable = false)
+    private LocalDateTime deletedAt;
+}
@@ -0,0 +1,68 @@
+package VoidSystems.appointment_service.domain.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Denormalized copy of an appointment for provider agenda reads. Maintained alongside
+ * every appointment write and rebuildable from the source tables.
+ */
+@Entity
+@Table(name = "provider_agenda")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProviderAgendaEntry {
+    
+    @Id
+    @Column(name = "appointment_id")
+    private Long appointmentId;
+    
+    @Column(name = "provider_id", nullable = false)
+    private Long providerId;
+    
+    @Column(name = "provider_name", nullable = false)
+    private String providerName;
+    
+    @Column(name = "client_id", nullable = false)
+    private Long clientId;
+    
+    @Column(name = "client_name", nullable = false)
+    private String clientName;
+    
+    @Column(name = "service_id", nullable = false)
+    private Long serviceId;
+    
+    @Column(name = "service_name", nullable = false)
+    private String serviceName;
+    
+    @Column(name = "duration_minutes", nullable = false)
+    private Integer durationMinutes;
+    
+    @Column(name = "start_time", nullable = false)
+    private LocalDateTime startTime;
+    
+    @Column(name = "end_time", nullable = false)
+    private LocalDateTime endTime;
+    
+    @Column(name = "status", nullable = false, length = 50)
+    private String status;
+    
+    @Column(name = "notes", columnDefinition = "TEXT")
+    private String notes;
+    
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+    
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
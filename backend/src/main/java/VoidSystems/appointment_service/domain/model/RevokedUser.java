@@ -0,0 +1,28 @@
+package VoidSystems.appointment_service.domain.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "revoked_users")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RevokedUser {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "revoked_at", nullable = false)
+    private LocalDateTime revokedAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+}
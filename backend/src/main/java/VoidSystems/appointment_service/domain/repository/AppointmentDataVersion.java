@@ -0,0 +1,28 @@
+package VoidSystems.appointment_service.domain.repository;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * {@link DataVersion} of a set of appointments that also changes when one of their clients,
+ * providers or services is modified, as appointment responses embed their names.
+ */
+public interface AppointmentDataVersion extends DataVersion {
+
+    LocalDateTime getClientsModified();
+
+    LocalDateTime getProvidersModified();
+
+    LocalDateTime getServicesModified();
+
+    @Override
+    default String toTag() {
+        LocalDateTime related = Stream.of(getClientsModified(), getProvidersModified(), getServicesModified())
+                .filter(Objects::nonNull)
+                .max(Comparator.naturalOrder())
+                .orElse(null);
+        return DataVersion.super.toTag() + "-" + DataVersion.stamp(related);
+    }
+}
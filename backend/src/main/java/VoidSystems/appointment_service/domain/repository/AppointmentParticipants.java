@@ -0,0 +1,11 @@
+package VoidSystems.appointment_service.domain.repository;
+
+/**
+ * The client and provider of an appointment, without loading the appointment itself.
+ */
+public interface AppointmentParticipants {
+
+    Long getClientId();
+
+    Long getProviderId();
+}
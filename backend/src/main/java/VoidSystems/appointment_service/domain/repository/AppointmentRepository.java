@@ -1,9 +1,13 @@
 package VoidSystems.appointment_service.domain.repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
@@ -38,4 +42,60 @@ public interface AppointmentRepository extends JpaRepository<Appointment, Long>
            "(a.startTime >= :startDateTime AND a.startTime < :endDateTime) OR " +
            "(a.endTime > :startDateTime AND a.endTime <= :endDateTime))")
     boolean existsOverlappingAppointment(Long providerId, LocalDateTime startDateTime, LocalDateTime endDateTime);
-}
\ No newline at end of file
+    
+    // Versions also cover the joined client, provider and service rows, whose names responses embed
+    
+    @Query("SELECT COUNT(a) AS count, MAX(a.updatedAt) AS lastModified, MAX(a.client.updatedAt) AS clientsModified, " +
+           "MAX(a.provider.updatedAt) AS providersModified, MAX(a.service.updatedAt) AS servicesModified " +
+           "FROM Appointment a WHERE a.client.id = :clientId")
+    AppointmentDataVersion findDataVersionByClientId(Long clientId);
+    
+    @Query("SELECT COUNT(a) AS count, MAX(a.updatedAt) AS lastModified, MAX(a.client.updatedAt) AS clientsModified, " +
+           "MAX(a.provider.updatedAt) AS providersModified, MAX(a.service.updatedAt) AS servicesModified " +
+           "FROM Appointment a WHERE a.provider.id = :providerId")
+    AppointmentDataVersion findDataVersionByProviderId(Long providerId);
+    
+    @Query("SELECT COUNT(a) AS count, MAX(a.updatedAt) AS lastModified, MAX(a.client.updatedAt) AS clientsModified, " +
+           "MAX(a.provider.updatedAt) AS providersModified, MAX(a.service.updatedAt) AS servicesModified " +
+           "FROM Appointment a WHERE a.client.id = :clientId AND a.startTime >= :startDateTime")
+    AppointmentDataVersion findUpcomingDataVersionByClientId(Long clientId, LocalDateTime startDateTime);
+    
+    @Query("SELECT COUNT(a) AS count, MAX(a.updatedAt) AS lastModified, MAX(a.client.updatedAt) AS clientsModified, " +
+           "MAX(a.provider.updatedAt) AS providersModified, MAX(a.service.updatedAt) AS servicesModified " +
+           "FROM Appointment a WHERE a.provider.id = :providerId AND a.startTime >= :startDateTime")
+    AppointmentDataVersion findUpcomingDataVersionByProviderId(Long providerId, LocalDateTime startDateTime);
+    
+    @Query("SELECT a.client.id AS clientId, a.provider.id AS providerId FROM Appointment a WHERE a.id = :id")
+    Optional<AppointmentParticipants> findParticipantsById(Long id);
+    
+    // Reminders. Bookkeeping updates assign updated_at to itself so MySQL does not bump it and
+    // invalidate the appointment data versions.
+    
+    @Query("SELECT a.id FROM Appointment a WHERE a.reminderSentAt IS NULL " +
+           "AND a.startTime >= :from AND a.startTime < :to AND a.status.name IN :statuses " +
+           "AND (a.reminderClaimedAt IS NULL OR a.reminderClaimedAt < :staleBefore) ORDER BY a.startTime ASC")
+    List<Long> findReminderCandidates(LocalDateTime from, LocalDateTime to, Collection<String> statuses,
+                                      LocalDateTime staleBefore, Pageable pageable);
+    
+    @Modifying
+    @Query("UPDATE Appointment a SET a.reminderClaim = :claim, a.reminderClaimedAt = :now, a.updatedAt = a.updatedAt " +
+           "WHERE a.id IN :ids AND a.reminderSentAt IS NULL " +
+           "AND (a.reminderClaimedAt IS NULL OR a.reminderClaimedAt < :staleBefore)")
+    int claimReminders(Collection<Long> ids, String claim, LocalDateTime now, LocalDateTime staleBefore);
+    
+    @Query("SELECT a FROM Appointment a JOIN FETCH a.client JOIN FETCH a.provider JOIN FETCH a.service " +
+           "WHERE a.id IN :ids AND a.reminderClaim = :claim AND a.reminderSentAt IS NULL AND a.status.name IN :statuses")
+    List<Appointment> findClaimedReminders(Collection<Long> ids, String claim, Collection<String> statuses);
+    
+    @Modifying
+    @Query("UPDATE Appointment a SET a.reminderSentAt = :sentAt, a.updatedAt = a.updatedAt " +
+           "WHERE a.id IN :ids AND a.reminderClaim = :claim AND a.reminderSentAt IS NULL")
+    int markReminded(Collection<Long> ids, String claim, LocalDateTime sentAt);
+    
+    // Re-arms the reminder of a rescheduled appointment. A pending claim is dropped as well, so a
+    // scheduler run still holding it cannot mark the new slot as reminded.
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Appointment a SET a.reminderClaim = NULL, a.reminderClaimedAt = NULL, a.reminderSentAt = NULL, " +
+           "a.updatedAt = a.updatedAt WHERE a.id = :id")
+    int resetReminder(Long id);
+}
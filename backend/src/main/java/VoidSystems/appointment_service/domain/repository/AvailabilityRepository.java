@@ -3,6 +3,7 @@ package VoidSystems.appointment_service.domain.repository;
 import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
@@ -26,4 +27,10 @@ public interface AvailabilityRepository extends JpaRepository<Availability, Long
            "((a.recurring = true AND a.dayOfWeek = :dayOfWeek) OR " +
            "(a.recurring = false AND a.specificDate = :date))")
     List<Availability> findByProviderIdAndDateOrDayOfWeek(Long providerId, LocalDate date, DayOfWeek dayOfWeek);
-}
\ No newline at end of file
+    
+    @Query("SELECT COUNT(a) AS count, MAX(a.updatedAt) AS lastModified FROM Availability a WHERE a.provider.id = :providerId")
+    DataVersion findDataVersionByProviderId(Long providerId);
+    
+    @Query("SELECT a.provider.id FROM Availability a WHERE a.id = :id")
+    Optional<Long> findProviderIdById(Long id);
+}
@@ -0,0 +1,30 @@
+package VoidSystems.appointment_service.domain.repository;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Row count and latest modification time of a set of rows. Any insert, update or delete
+ * within the set changes at least one of the two values.
+ */
+public interface DataVersion {
+
+    long getCount();
+
+    LocalDateTime getLastModified();
+
+    default String toTag() {
+        return getCount() + "-" + stamp(getLastModified());
+    }
+
+    /**
+     * A modification time in microseconds, in base 36; {@code 0} when there is none.
+     */
+    static String stamp(LocalDateTime modified) {
+        long micros = 0;
+        if (modified != null) {
+            micros = modified.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + modified.getNano() / 1_000;
+        }
+        return Long.toString(micros, 36);
+    }
+}
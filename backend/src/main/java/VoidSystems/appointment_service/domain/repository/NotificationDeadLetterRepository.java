@@ -0,0 +1,9 @@
+package VoidSystems.appointment_service.domain.repository;
+
+import VoidSystems.appointment_service.domain.model.NotificationDeadLetter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface NotificationDeadLetterRepository extends JpaRepository<NotificationDeadLetter, Long> {
+}
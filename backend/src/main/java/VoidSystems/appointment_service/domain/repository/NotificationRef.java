@@ -0,0 +1,11 @@
+package VoidSystems.appointment_service.domain.repository;
+
+/**
+ * Id and owner of a notification, without loading the row.
+ */
+public interface NotificationRef {
+
+    Long getId();
+
+    Long getUserId();
+}
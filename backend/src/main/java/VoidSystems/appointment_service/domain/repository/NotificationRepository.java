@@ -10,6 +10,8 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -24,11 +26,65 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
     @Query("SELECT COUNT(n) FROM Notification n WHERE n.user = :user AND n.read = false")
     long countUnreadNotifications(@Param("user") User user);
     
-    @Modifying
-    @Query("UPDATE Notification n SET n.read = true WHERE n.user = :user")
-    void markAllAsRead(@Param("user") User user);
+    @Query("SELECT COUNT(n) FROM Notification n WHERE n.user.id = :userId AND n.read = false")
+    long countUnreadByUserId(@Param("userId") Long userId);
     
-    @Modifying
+    @Query("SELECT n.user.id AS userId, COUNT(n) AS unread FROM Notification n " +
+           "WHERE n.user.id IN :userIds AND n.read = false GROUP BY n.user.id")
+    List<UnreadCount> countUnreadByUserIds(@Param("userIds") Collection<Long> userIds);
+    
+    @Query("SELECT n FROM Notification n WHERE n.user.id = :userId AND n.updatedAt > :since ORDER BY n.updatedAt ASC, n.id ASC")
+    List<Notification> findChangedSince(@Param("userId") Long userId, @Param("since") LocalDateTime since, Pageable pageable);
+    
+    @Query("SELECT n FROM Notification n WHERE n.user.id = :userId AND n.id > :afterId ORDER BY n.id ASC")
+    List<Notification> findByUserIdAfter(@Param("userId") Long userId, @Param("afterId") Long afterId, Pageable pageable);
+    
+    // Bulk changes are stamped with the application's clock, like single-row saves and the sync
+    // cursor, rather than the database's
+    
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Notification n SET n.read = true, n.updatedAt = :now WHERE n.user = :user AND n.read = false")
+    int markAllAsRead(@Param("user") User user, @Param("now") LocalDateTime now);
+    
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Notification n SET n.read = true, n.updatedAt = :now WHERE n.user.id = :userId AND n.id IN :ids AND n.read = false")
+    int markAsReadByIds(@Param("userId") Long userId, @Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+    
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Notification n SET n.read = true, n.updatedAt = :now WHERE n.user.id = :userId AND n.read = false AND n.createdAt < :before")
+    int markAsReadBefore(@Param("userId") Long userId, @Param("before") LocalDateTime before, @Param("now") LocalDateTime now);
+    
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Notification n WHERE n.user.id = :userId AND n.id IN :ids AND n.read = :read")
+    int deleteByIds(@Param("userId") Long userId, @Param("ids") Collection<Long> ids, @Param("read") boolean read);
+    
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Notification n WHERE n.user.id = :userId AND n.read = true")
+    int deleteRead(@Param("userId") Long userId);
+    
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
     @Query("DELETE FROM Notification n WHERE n.user = :user")
     void deleteAllByUser(@Param("user") User user);
+    
+    // Retention: chunks are walked in primary key order so each delete touches a short range
+    
+    @Query("SELECT n.id AS id, n.user.id AS userId FROM Notification n " +
+           "WHERE n.read = :read AND n.createdAt < :cutoff AND n.id > :afterId ORDER BY n.id ASC")
+    List<NotificationRef> findCreatedBefore(@Param("read") boolean read, @Param("cutoff") LocalDateTime cutoff,
+                                            @Param("afterId") long afterId, Pageable pageable);
+    
+    @Query("SELECT n.user.id FROM Notification n GROUP BY n.user.id HAVING COUNT(n) > :cap")
+    List<Long> findUserIdsWithMoreThan(@Param("cap") long cap);
+    
+    @Query("SELECT n.id FROM Notification n WHERE n.user.id = :userId ORDER BY n.id DESC")
+    List<Long> findIdsNewestFirst(@Param("userId") Long userId, Pageable pageable);
+    
+    @Query("SELECT n.id AS id, n.user.id AS userId FROM Notification n " +
+           "WHERE n.user.id = :userId AND n.id <= :maxId AND n.id > :afterId ORDER BY n.id ASC")
+    List<NotificationRef> findUpTo(@Param("userId") Long userId, @Param("maxId") long maxId,
+                                   @Param("afterId") long afterId, Pageable pageable);
+    
+    @Modifying
+    @Query("DELETE FROM Notification n WHERE n.id IN :ids")
+    int purgeByIds(@Param("ids") Collection<Long> ids);
 } 
\ No newline at end of file
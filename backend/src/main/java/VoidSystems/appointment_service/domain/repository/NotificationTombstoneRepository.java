@@ -0,0 +1,56 @@
+package VoidSystems.appointment_service.domain.repository;
+
+import VoidSystems.appointment_service.domain.model.NotificationTombstone;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Tombstones are recorded with INSERT ... SELECT before the matching delete, in the same
+ * transaction, so bulk deletes never load the rows they remove. They are stamped with the
+ * application's clock, which the sync cursor is compared against.
+ */
+@Repository
+public interface NotificationTombstoneRepository extends JpaRepository<NotificationTombstone, Long> {
+
+    @Query("SELECT t.notificationId FROM NotificationTombstone t WHERE t.userId = :userId AND t.deletedAt > :since ORDER BY t.deletedAt ASC")
+    List<Long> findDeletedSince(@Param("userId") Long userId, @Param("since") LocalDateTime since, Pageable pageable);
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = "INSERT INTO notification_tombstones (user_id, notification_id, deleted_at) " +
+                   "SELECT user_id, id, :now FROM notifications WHERE user_id = :userId AND id IN (:ids)",
+           nativeQuery = true)
+    int recordByIds(@Param("userId") Long userId, @Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = "INSERT INTO notification_tombstones (user_id, notification_id, deleted_at) " +
+                   "SELECT user_id, id, :now FROM notifications WHERE user_id = :userId AND `read` = true",
+           nativeQuery = true)
+    int recordRead(@Param("userId") Long userId, @Param("now") LocalDateTime now);
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = "INSERT INTO notification_tombstones (user_id, notification_id, deleted_at) " +
+                   "SELECT user_id, id, :now FROM notifications WHERE user_id = :userId",
+           nativeQuery = true)
+    int recordAll(@Param("userId") Long userId, @Param("now") LocalDateTime now);
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = "INSERT INTO notification_tombstones (user_id, notification_id, deleted_at) " +
+                   "SELECT user_id, id, :now FROM notifications WHERE id IN (:ids)",
+           nativeQuery = true)
+    int recordPurged(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    @Query("SELECT t.id FROM NotificationTombstone t WHERE t.deletedAt < :cutoff AND t.id > :afterId ORDER BY t.id ASC")
+    List<Long> findExpiredIds(@Param("cutoff") LocalDateTime cutoff, @Param("afterId") long afterId, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM NotificationTombstone t WHERE t.id IN :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,41 @@
+package VoidSystems.appointment_service.domain.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import VoidSystems.appointment_service.domain.model.ProviderAgendaEntry;
+
+@Repository
+public interface ProviderAgendaRepository extends JpaRepository<ProviderAgendaEntry, Long> {
+    
+    List<ProviderAgendaEntry> findByProviderIdOrderByStartTimeAsc(Long providerId);
+    
+    List<ProviderAgendaEntry> findByProviderIdAndStartTimeGreaterThanEqualOrderByStartTimeAsc(Long providerId, LocalDateTime startDateTime);
+    
+    List<ProviderAgendaEntry> findByProviderIdAndStartTimeBetweenOrderByStartTimeAsc(Long providerId, LocalDateTime startDateTime, LocalDateTime endDateTime);
+    
+    @Modifying
+    @Query("UPDATE ProviderAgendaEntry e SET e.serviceName = :serviceName WHERE e.serviceId = :serviceId")
+    int updateServiceName(Long serviceId, String serviceName);
+    
+    @Modifying
+    @Query("UPDATE ProviderAgendaEntry e SET e.clientName = :name WHERE e.clientId = :userId")
+    int updateClientName(Long userId, String name);
+    
+    @Modifying
+    @Query("UPDATE ProviderAgendaEntry e SET e.providerName = :name WHERE e.providerId = :userId")
+    int updateProviderName(Long userId, String name);
+    
+    @Modifying
+    @Query("INSERT INTO ProviderAgendaEntry (appointmentId, providerId, providerName, clientId, clientName, serviceId, serviceName, " +
+           "durationMinutes, startTime, endTime, status, notes, createdAt, updatedAt) " +
+           "SELECT a.id, p.id, CONCAT(p.firstName, ' ', p.lastName), c.id, CONCAT(c.firstName, ' ', c.lastName), s.id, s.name, " +
+           "CAST((a.endTime - a.startTime) BY MINUTE AS Integer), a.startTime, a.endTime, st.name, a.notes, a.createdAt, a.updatedAt " +
+           "FROM Appointment a JOIN a.provider p JOIN a.client c JOIN a.service s JOIN a.status st")
+    int insertFromAppointments();
+}
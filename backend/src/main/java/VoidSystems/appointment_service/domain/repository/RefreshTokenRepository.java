@@ -0,0 +1,33 @@
+package VoidSystems.appointment_service.domain.repository;
+
+import VoidSystems.appointment_service.domain.model.RefreshToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+
+    @Query("SELECT r FROM RefreshToken r JOIN FETCH r.user u JOIN FETCH u.role WHERE r.tokenHash = :tokenHash")
+    Optional<RefreshToken> findByTokenHash(@Param("tokenHash") String tokenHash);
+
+    /**
+     * Marks the token used unless it already was; returns 0 if another request got there first.
+     */
+    @Modifying
+    @Query("UPDATE RefreshToken r SET r.usedAt = :usedAt WHERE r.id = :id AND r.usedAt IS NULL AND r.revoked = false")
+    int markUsed(@Param("id") Long id, @Param("usedAt") LocalDateTime usedAt);
+
+    @Modifying
+    @Query("UPDATE RefreshToken r SET r.revoked = true WHERE r.familyId = :familyId")
+    int revokeFamily(@Param("familyId") String familyId);
+
+    @Modifying
+    @Query("DELETE FROM RefreshToken r WHERE r.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
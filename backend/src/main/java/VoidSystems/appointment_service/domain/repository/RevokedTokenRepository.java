@@ -0,0 +1,23 @@
+package VoidSystems.appointment_service.domain.repository;
+
+import VoidSystems.appointment_service.domain.model.RevokedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, String> {
+
+    List<RevokedToken> findByExpiresAtAfter(LocalDateTime now);
+
+    List<RevokedToken> findByRevokedAtGreaterThanEqual(LocalDateTime since);
+
+    @Modifying
+    @Query("DELETE FROM RevokedToken r WHERE r.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -0,0 +1,23 @@
+package VoidSystems.appointment_service.domain.repository;
+
+import VoidSystems.appointment_service.domain.model.RevokedUser;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface RevokedUserRepository extends JpaRepository<RevokedUser, Long> {
+
+    List<RevokedUser> findByExpiresAtAfter(LocalDateTime now);
+
+    List<RevokedUser> findByRevokedAtGreaterThanEqual(LocalDateTime since);
+
+    @Modifying
+    @Query("DELETE FROM RevokedUser r WHERE r.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -20,4 +20,10 @@ public interface ServiceRepository extends JpaRepository<Service, Long> {
     List<Service> findAllActive();
     
     Optional<Service> findByIdAndProviderId(Long id, Long providerId);
-}
\ No newline at end of file
+    
+    @Query("SELECT COUNT(s) AS count, MAX(s.updatedAt) AS lastModified FROM Service s")
+    DataVersion findDataVersion();
+    
+    @Query("SELECT s.provider.id FROM Service s WHERE s.id = :id")
+    Optional<Long> findProviderIdById(Long id);
+}
@@ -0,0 +1,11 @@
+package VoidSystems.appointment_service.domain.repository;
+
+/**
+ * Number of unread notifications of one user.
+ */
+public interface UnreadCount {
+
+    Long getUserId();
+
+    long getUnread();
+}
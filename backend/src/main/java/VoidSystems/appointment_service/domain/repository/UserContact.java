@@ -0,0 +1,13 @@
+package VoidSystems.appointment_service.domain.repository;
+
+/**
+ * Where to reach a user outside the application, without loading the row.
+ */
+public interface UserContact {
+
+    String getEmail();
+
+    String getPhoneNumber();
+
+    String getFirstName();
+}
@@ -3,6 +3,7 @@ package VoidSystems.appointment_service.domain.repository;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import VoidSystems.appointment_service.domain.model.User;
@@ -13,4 +14,10 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
     
     boolean existsByEmail(String email);
-}
\ No newline at end of file
+    
+    @Query("SELECT u.id FROM User u WHERE u.email = :email")
+    Optional<Long> findIdByEmail(String email);
+
+    @Query("SELECT u.email AS email, u.phoneNumber AS phoneNumber, u.firstName AS firstName FROM User u WHERE u.id = :id")
+    Optional<UserContact> findContactById(Long id);
+}
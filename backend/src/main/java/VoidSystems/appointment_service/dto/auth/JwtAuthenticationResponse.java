@@ -14,6 +14,8 @@ public class JwtAuthenticationResponse {
     private String accessToken;
     @Builder.Default
     private String tokenType = "Bearer";
+    private long expiresIn;
+    private String refreshToken;
     private Long userId;
     private String email;
     private String role;
@@ -0,0 +1,15 @@
+package VoidSystems.appointment_service.dto.notification;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkOperationResponse {
+
+    private int affected;
+}
@@ -0,0 +1,26 @@
+package VoidSystems.appointment_service.dto.notification;
+
+import java.util.List;
+
+import VoidSystems.appointment_service.dto.NotificationDTO;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Notifications created or changed and ids deleted since the client's cursor. When
+ * {@code resync} is set the changes could not be computed (missing or expired cursor, or too
+ * many changes) and the client should reload its notifications before using {@code cursor}.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class NotificationChangesResponse {
+
+    private List<NotificationDTO> notifications;
+    private List<Long> deletedIds;
+    private String cursor;
+    private boolean resync;
+}
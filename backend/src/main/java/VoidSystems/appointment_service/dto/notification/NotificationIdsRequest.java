@@ -0,0 +1,22 @@
+package VoidSystems.appointment_service.dto.notification;
+
+import java.util.List;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class NotificationIdsRequest {
+
+    @NotEmpty(message = "At least one notification id is required")
+    @Size(max = 500, message = "At most 500 notification ids can be processed at once")
+    private List<@NotNull Long> ids;
+}
@@ -0,0 +1,34 @@
+package VoidSystems.appointment_service.endpoint;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import VoidSystems.appointment_service.service.ProviderAgendaService;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Actuator endpoint for regenerating the provider agenda read model from the source tables.
+ * Invoke with {@code POST /api/actuator/provideragenda}.
+ */
+@Component
+@Endpoint(id = "provideragenda")
+@RequiredArgsConstructor
+public class ProviderAgendaEndpoint {
+
+    private final ProviderAgendaService providerAgendaService;
+
+    @WriteOperation
+    public Map<String, Object> rebuild() {
+        long start = System.currentTimeMillis();
+        int rows = providerAgendaService.rebuild();
+        
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("rows", rows);
+        result.put("durationMs", System.currentTimeMillis() - start);
+        return result;
+    }
+}
@@ -0,0 +1,16 @@
+package VoidSystems.appointment_service.exception;
+
+import lombok.Getter;
+
+@Getter
+public class ServiceUnavailableException extends RuntimeException {
+    
+    private static final long serialVersionUID = 1L;
+
+    private final long retryAfterSeconds;
+
+    public ServiceUnavailableException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
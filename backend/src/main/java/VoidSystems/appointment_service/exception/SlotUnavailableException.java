@@ -0,0 +1,14 @@
+package VoidSystems.appointment_service.exception;
+
+/**
+ * The requested time slot is outside the provider's availability or overlaps another
+ * appointment. Answered like any other bad request.
+ */
+public class SlotUnavailableException extends BadRequestException {
+
+    private static final long serialVersionUID = 1L;
+
+    public SlotUnavailableException() {
+        super("The selected time slot is not available");
+    }
+}
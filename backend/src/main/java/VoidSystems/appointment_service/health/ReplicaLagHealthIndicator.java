@@ -0,0 +1,81 @@
+package VoidSystems.appointment_service.health;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+/**
+ * Custom health indicator for the read replica.
+ * Reports replication lag as a detail. A replica that is reachable but lagging is still
+ * reported as UP so it does not take the whole node out of rotation.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.datasource.replica", name = "enabled", havingValue = "true")
+public class ReplicaLagHealthIndicator implements HealthIndicator {
+
+    private final JdbcTemplate replicaJdbcTemplate;
+    private final String lagQuery;
+    private final Duration maxLag;
+
+    public ReplicaLagHealthIndicator(
+            @Qualifier("replicaDataSource") DataSource replicaDataSource,
+            @Value("${app.datasource.replica.lag-query:}") String lagQuery,
+            @Value("${app.datasource.replica.max-lag:30s}") Duration maxLag) {
+        this.replicaJdbcTemplate = new JdbcTemplate(replicaDataSource);
+        this.lagQuery = lagQuery;
+        this.maxLag = maxLag;
+    }
+
+    @Override
+    public Health health() {
+        try {
+            Long lagSeconds = readLagSeconds();
+
+            if (lagSeconds == null) {
+                return Health.unknown()
+                        .withDetail("database", "replica")
+                        .withDetail("status", "Replication not running")
+                        .build();
+            }
+
+            return Health.up()
+                    .withDetail("database", "replica")
+                    .withDetail("lagSeconds", lagSeconds)
+                    .withDetail("maxLagSeconds", maxLag.toSeconds())
+                    .withDetail("lagging", lagSeconds > maxLag.toSeconds())
+                    .build();
+        } catch (Exception e) {
+            return Health.down()
+                    .withDetail("database", "replica")
+                    .withDetail("status", "Unavailable")
+                    .withDetail("error", e.getMessage())
+                    .build();
+        }
+    }
+
+    private Long readLagSeconds() {
+        // Stand-in replicas (e.g. a second H2 instance locally) can supply their own query
+        if (StringUtils.hasText(lagQuery)) {
+            return replicaJdbcTemplate.queryForObject(lagQuery, Long.class);
+        }
+
+        List<Map<String, Object>> status = replicaJdbcTemplate.queryForList("SHOW REPLICA STATUS");
+        if (status.isEmpty()) {
+            return null;
+        }
+
+        Object lag = status.get(0).get("Seconds_Behind_Source");
+        return lag instanceof Number ? ((Number) lag).longValue() : null;
+    }
+}
@@ -9,6 +9,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
+import java.util.HashMap;
 import java.util.Map;
 
 @Component
@@ -16,17 +17,25 @@ import java.util.Map;
 @Slf4j
 public class NotificationMapper {
 
+    public static final String EMPTY_DATA = "{}";
+
     private final ObjectMapper objectMapper;
 
     public NotificationDTO toDTO(Notification notification) {
         Map<String, Object> data = null;
-        if (notification.getData() != null && !notification.getData().isEmpty()) {
+        if (EMPTY_DATA.equals(notification.getData())) {
+            data = new HashMap<>(4);
+        } else if (notification.getData() != null && !notification.getData().isEmpty()) {
             try {
                 data = objectMapper.readValue(notification.getData(), new TypeReference<Map<String, Object>>() {});
             } catch (JsonProcessingException e) {
                 log.error("Error parsing notification data JSON", e);
             }
         }
+        data = putIfPresent(data, Notification.APPOINTMENT_ID, notification.getAppointmentId());
+        data = putIfPresent(data, Notification.SERVICE_NAME, notification.getServiceName());
+        data = putIfPresent(data, Notification.CLIENT_NAME, notification.getClientName());
+        data = putIfPresent(data, Notification.DATE_TIME, notification.getDateTime());
 
         return NotificationDTO.builder()
                 .id(notification.getId())
@@ -38,4 +47,13 @@ public class NotificationMapper {
                 .data(data)
                 .build();
     }
-} 
\ No newline at end of file
+
+    private static Map<String, Object> putIfPresent(Map<String, Object> data, String key, Object value) {
+        if (value == null) {
+            return data;
+        }
+        Map<String, Object> result = data != null ? data : new HashMap<>(4);
+        result.put(key, value);
+        return result;
+    }
+}
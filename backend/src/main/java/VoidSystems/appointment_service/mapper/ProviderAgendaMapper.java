@@ -0,0 +1,52 @@
+package VoidSystems.appointment_service.mapper;
+
+import java.time.Duration;
+
+import org.springframework.stereotype.Component;
+
+import VoidSystems.appointment_service.domain.model.Appointment;
+import VoidSystems.appointment_service.domain.model.ProviderAgendaEntry;
+import VoidSystems.appointment_service.dto.appointment.AppointmentDTO;
+
+@Component
+public class ProviderAgendaMapper {
+    
+    public AppointmentDTO toAppointmentDTO(ProviderAgendaEntry entry) {
+        if (entry == null) {
+            return null;
+        }
+        
+        return AppointmentDTO.builder()
+                .id(entry.getAppointmentId())
+                .clientId(entry.getClientId())
+                .clientName(entry.getClientName())
+                .providerId(entry.getProviderId())
+                .providerName(entry.getProviderName())
+                .serviceId(entry.getServiceId())
+                .serviceName(entry.getServiceName())
+                .startTime(entry.getStartTime())
+                .endTime(entry.getEndTime())
+                .status(entry.getStatus())
+                .notes(entry.getNotes())
+                .createdAt(entry.getCreatedAt())
+                .updatedAt(entry.getUpdatedAt())
+                .build();
+    }
+    
+    public void updateEntryFromAppointment(ProviderAgendaEntry entry, Appointment appointment) {
+        entry.setAppointmentId(appointment.getId());
+        entry.setProviderId(appointment.getProvider().getId());
+        entry.setProviderName(appointment.getProvider().getFirstName() + " " + appointment.getProvider().getLastName());
+        entry.setClientId(appointment.getClient().getId());
+        entry.setClientName(appointment.getClient().getFirstName() + " " + appointment.getClient().getLastName());
+        entry.setServiceId(appointment.getService().getId());
+        entry.setServiceName(appointment.getService().getName());
+        entry.setDurationMinutes((int) Duration.between(appointment.getStartTime(), appointment.getEndTime()).toMinutes());
+        entry.setStartTime(appointment.getStartTime());
+        entry.setEndTime(appointment.getEndTime());
+        entry.setStatus(appointment.getStatus().getName());
+        entry.setNotes(appointment.getNotes());
+        entry.setCreatedAt(appointment.getCreatedAt());
+        entry.setUpdatedAt(appointment.getUpdatedAt());
+    }
+}
@@ -0,0 +1,100 @@
+package VoidSystems.appointment_service.metrics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.servlet.DispatcherServlet;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import VoidSystems.appointment_service.exception.BadRequestException;
+import VoidSystems.appointment_service.exception.ForbiddenException;
+import VoidSystems.appointment_service.exception.ResourceNotFoundException;
+import VoidSystems.appointment_service.exception.SlotUnavailableException;
+import VoidSystems.appointment_service.exception.UnauthorizedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Counts booking requests (appointment creates, updates, status changes and deletes) by
+ * outcome and tracks how many are in flight, both tagged by endpoint. The outcome is taken
+ * from the exception the request ended with, as handled by the global exception handler,
+ * falling back to the response status.
+ */
+public class BookingMetricsInterceptor implements HandlerInterceptor {
+
+    private static final String ENDPOINT_ATTRIBUTE = BookingMetricsInterceptor.class.getName() + ".endpoint";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, AtomicInteger> inFlight = new ConcurrentHashMap<>();
+
+    public BookingMetricsInterceptor(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if ("GET".equals(request.getMethod()) || "HEAD".equals(request.getMethod()) || "OPTIONS".equals(request.getMethod())) {
+            return true;
+        }
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String endpoint = request.getMethod() + " " + (pattern != null ? pattern : "unmatched");
+        request.setAttribute(ENDPOINT_ATTRIBUTE, endpoint);
+        inFlight(endpoint).incrementAndGet();
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        String endpoint = (String) request.getAttribute(ENDPOINT_ATTRIBUTE);
+        if (endpoint == null) {
+            return;
+        }
+        inFlight(endpoint).decrementAndGet();
+        Object handled = request.getAttribute(DispatcherServlet.EXCEPTION_ATTRIBUTE);
+        Throwable failure = ex != null ? ex : handled instanceof Throwable throwable ? throwable : null;
+        Counter.builder("bookings.outcomes")
+                .description("Booking requests by outcome")
+                .tag("endpoint", endpoint)
+                .tag("outcome", outcome(failure, response.getStatus()))
+                .register(meterRegistry)
+                .increment();
+    }
+
+    static String outcome(Throwable failure, int status) {
+        if (failure instanceof SlotUnavailableException || status == HttpStatus.CONFLICT.value()) {
+            return "conflict";
+        }
+        if (failure instanceof ForbiddenException || failure instanceof UnauthorizedException
+                || failure instanceof AccessDeniedException
+                || status == HttpStatus.FORBIDDEN.value() || status == HttpStatus.UNAUTHORIZED.value()) {
+            return "forbidden";
+        }
+        if (failure instanceof BadRequestException || failure instanceof MethodArgumentNotValidException
+                || status == HttpStatus.BAD_REQUEST.value()) {
+            return "validation";
+        }
+        if (failure instanceof ResourceNotFoundException || status == HttpStatus.NOT_FOUND.value()) {
+            return "not_found";
+        }
+        return failure == null && status < 400 ? "success" : "error";
+    }
+
+    private AtomicInteger inFlight(String endpoint) {
+        return inFlight.computeIfAbsent(endpoint, key -> {
+            AtomicInteger count = new AtomicInteger();
+            Gauge.builder("bookings.in_flight", count, AtomicInteger::get)
+                    .description("Booking requests currently being handled")
+                    .tag("endpoint", key)
+                    .register(meterRegistry);
+            return count;
+        });
+    }
+}
@@ -0,0 +1,21 @@
+package VoidSystems.appointment_service.metrics;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Overrides the default per-request statement budget for a controller method or class.
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface QueryBudget {
+
+    /**
+     * Maximum number of JDBC statements a single request may execute.
+     */
+    int maxStatements();
+}
@@ -0,0 +1,69 @@
+package VoidSystems.appointment_service.metrics;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.lang.NonNull;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import VoidSystems.appointment_service.exception.QueryBudgetExceededException;
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Fails requests over their query budget when {@code app.query-budget.fail-on-exceed} is set.
+ * Checks just before the response body is written, while the response can still be replaced
+ * by an error; statements run while writing the body are only reported by
+ * {@link QueryStatsFilter}.
+ */
+@ControllerAdvice
+public class QueryBudgetAdvice implements ResponseBodyAdvice<Object> {
+
+    // Set once checked, so the error response for an overrun is not failed again
+    private static final String CHECKED_ATTRIBUTE = QueryBudgetAdvice.class.getName() + ".checked";
+
+    private final QueryBudgetChecker checker;
+    private final boolean failOnExceed;
+
+    public QueryBudgetAdvice(QueryBudgetChecker checker,
+            @Value("${app.query-budget.fail-on-exceed:false}") boolean failOnExceed) {
+        this.checker = checker;
+        this.failOnExceed = failOnExceed;
+    }
+
+    @Override
+    public boolean supports(@NonNull MethodParameter returnType, @NonNull Class<? extends HttpMessageConverter<?>> converterType) {
+        return failOnExceed;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, @NonNull MethodParameter returnType, @NonNull MediaType selectedContentType,
+            @NonNull Class<? extends HttpMessageConverter<?>> selectedConverterType,
+            @NonNull ServerHttpRequest request, @NonNull ServerHttpResponse response) {
+        QueryStats stats = QueryStatsHolder.current();
+        if (stats == null || !(request instanceof ServletServerHttpRequest servletRequest)) {
+            return body;
+        }
+        HttpServletRequest httpRequest = servletRequest.getServletRequest();
+        if (httpRequest.getAttribute(CHECKED_ATTRIBUTE) != null) {
+            return body;
+        }
+        httpRequest.setAttribute(CHECKED_ATTRIBUTE, Boolean.TRUE);
+
+        Object pattern = httpRequest.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String endpoint = httpRequest.getMethod() + " " + (pattern != null ? pattern : "UNKNOWN");
+        int maxStatements = checker.budgetFor(returnType.getMethod(), returnType.getContainingClass());
+        List<QueryBudgetChecker.Violation> violations = checker.check(endpoint, stats, maxStatements);
+        if (!violations.isEmpty()) {
+            throw new QueryBudgetExceededException(violations.get(0).message());
+        }
+        return body;
+    }
+}
@@ -0,0 +1,63 @@
+package VoidSystems.appointment_service.metrics;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.stereotype.Component;
+
+/**
+ * Query budget rules shared by {@link QueryStatsFilter}, which reports overruns once a request
+ * has completed, and {@link QueryBudgetAdvice}, which fails requests while their response can
+ * still be replaced.
+ */
+@Component
+public class QueryBudgetChecker {
+
+    public static final String REASON_STATEMENTS = "statements";
+    public static final String REASON_REPEATED = "repeated";
+
+    private final int defaultMaxStatements;
+    private final int repeatedStatementThreshold;
+
+    public QueryBudgetChecker(
+            @Value("${app.query-budget.default-max-statements:100}") int defaultMaxStatements,
+            @Value("${app.query-budget.repeated-statement-threshold:10}") int repeatedStatementThreshold) {
+        this.defaultMaxStatements = defaultMaxStatements;
+        this.repeatedStatementThreshold = repeatedStatementThreshold;
+    }
+
+    /**
+     * The statement budget of a controller method, from {@link QueryBudget} on the method or its
+     * class; the default budget if neither is annotated or the handler is unknown.
+     */
+    public int budgetFor(Method method, Class<?> beanType) {
+        QueryBudget budget = method != null ? AnnotatedElementUtils.findMergedAnnotation(method, QueryBudget.class) : null;
+        if (budget == null && beanType != null) {
+            budget = AnnotatedElementUtils.findMergedAnnotation(beanType, QueryBudget.class);
+        }
+        return budget != null ? budget.maxStatements() : defaultMaxStatements;
+    }
+
+    public List<Violation> check(String endpoint, QueryStats stats, int maxStatements) {
+        List<Violation> violations = new ArrayList<>(2);
+        if (stats.getStatementCount() > maxStatements) {
+            violations.add(new Violation(REASON_STATEMENTS, String.format("%s executed %d statements (budget %d)",
+                    endpoint, stats.getStatementCount(), maxStatements)));
+        }
+
+        Map.Entry<String, Integer> repeated = stats.getMostRepeatedStatement();
+        if (repeated != null && repeated.getValue() > repeatedStatementThreshold) {
+            violations.add(new Violation(REASON_REPEATED, String.format(
+                    "%s executed the same statement %d times, likely an N+1 lazy load: %s",
+                    endpoint, repeated.getValue(), repeated.getKey())));
+        }
+        return violations;
+    }
+
+    public record Violation(String reason, String message) {
+    }
+}
@@ -0,0 +1,159 @@
+package VoidSystems.appointment_service.metrics;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * Wraps a {@link DataSource} so that every statement, fetched row and the time spent in
+ * the driver are recorded against the current {@link QueryStats}, if one is bound.
+ */
+public class QueryCountingDataSource extends DelegatingDataSource implements AutoCloseable {
+
+    public QueryCountingDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return proxy(Connection.class, new ConnectionHandler(super.getConnection()));
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return proxy(Connection.class, new ConnectionHandler(super.getConnection(username, password)));
+    }
+
+    /**
+     * Closes the underlying pool on shutdown, since this wrapper replaces it as the bean instance.
+     */
+    @Override
+    public void close() throws Exception {
+        if (getTargetDataSource() instanceof AutoCloseable) {
+            ((AutoCloseable) getTargetDataSource()).close();
+        }
+    }
+
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(QueryCountingDataSource.class.getClassLoader(), new Class<?>[]{type}, handler));
+    }
+
+    private abstract static class DelegatingHandler implements InvocationHandler {
+
+        protected final Object target;
+
+        DelegatingHandler(Object target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    return handle(method, args);
+            }
+        }
+
+        protected abstract Object handle(Method method, Object[] args) throws Throwable;
+
+        protected Object delegate(Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        }
+    }
+
+    private static class ConnectionHandler extends DelegatingHandler {
+
+        ConnectionHandler(Connection target) {
+            super(target);
+        }
+
+        @Override
+        protected Object handle(Method method, Object[] args) throws Throwable {
+            Object result = delegate(method, args);
+            switch (method.getName()) {
+                case "createStatement":
+                    return proxy(Statement.class, new StatementHandler(result, null));
+                case "prepareStatement":
+                    return proxy(PreparedStatement.class, new StatementHandler(result, (String) args[0]));
+                case "prepareCall":
+                    return proxy(CallableStatement.class, new StatementHandler(result, (String) args[0]));
+                default:
+                    return result;
+            }
+        }
+    }
+
+    private static class StatementHandler extends DelegatingHandler {
+
+        private final String preparedSql;
+
+        StatementHandler(Object target, String preparedSql) {
+            super(target);
+            this.preparedSql = preparedSql;
+        }
+
+        @Override
+        protected Object handle(Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (!name.startsWith("execute")) {
+                Object result = delegate(method, args);
+                return "getResultSet".equals(name) ? wrapResultSet(result) : result;
+            }
+
+            long start = System.nanoTime();
+            try {
+                Object result = delegate(method, args);
+                return "executeQuery".equals(name) ? wrapResultSet(result) : result;
+            } finally {
+                QueryStats stats = QueryStatsHolder.current();
+                if (stats != null) {
+                    String sql = preparedSql != null ? preparedSql
+                            : (args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : null);
+                    stats.recordStatement(sql, System.nanoTime() - start);
+                }
+            }
+        }
+
+        private Object wrapResultSet(Object resultSet) {
+            return resultSet == null ? null : proxy(ResultSet.class, new ResultSetHandler(resultSet));
+        }
+    }
+
+    private static class ResultSetHandler extends DelegatingHandler {
+
+        ResultSetHandler(Object target) {
+            super(target);
+        }
+
+        @Override
+        protected Object handle(Method method, Object[] args) throws Throwable {
+            Object result = delegate(method, args);
+            if ("next".equals(method.getName()) && Boolean.TRUE.equals(result)) {
+                QueryStats stats = QueryStatsHolder.current();
+                if (stats != null) {
+                    stats.recordRow();
+                }
+            }
+            return result;
+        }
+    }
+}
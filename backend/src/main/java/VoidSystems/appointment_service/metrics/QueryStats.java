@@ -0,0 +1,50 @@
+package VoidSystems.appointment_service.metrics;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * JDBC activity collected for a single unit of work (normally one HTTP request).
+ * Instances are confined to the thread that created them.
+ */
+public class QueryStats {
+
+    private int statementCount;
+    private long rowCount;
+    private long jdbcNanos;
+    private final Map<String, Integer> executionsBySql = new HashMap<>();
+
+    void recordStatement(String sql, long elapsedNanos) {
+        statementCount++;
+        jdbcNanos += elapsedNanos;
+        if (sql != null) {
+            executionsBySql.merge(sql, 1, Integer::sum);
+        }
+    }
+
+    void recordRow() {
+        rowCount++;
+    }
+
+    public int getStatementCount() {
+        return statementCount;
+    }
+
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    public long getJdbcNanos() {
+        return jdbcNanos;
+    }
+
+    /**
+     * The statement executed most often, or {@code null} if nothing ran.
+     * Many executions of the same SQL in one request is the signature of an N+1 lazy load.
+     */
+    public Map.Entry<String, Integer> getMostRepeatedStatement() {
+        return executionsBySql.entrySet().stream()
+                .max(Map.Entry.comparingByValue())
+                .orElse(null);
+    }
+}
@@ -0,0 +1,114 @@
+package VoidSystems.appointment_service.metrics;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Collects JDBC statistics for each HTTP request, publishes them tagged by endpoint and
+ * checks them against the request's query budget.
+ *
+ * Runs ahead of the security filter chain so that user lookups during authentication are
+ * counted as well. By the time the chain returns the response is usually committed, so
+ * overruns are only logged and counted here; {@link QueryBudgetAdvice} fails them earlier
+ * when that is configured.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@Slf4j
+public class QueryStatsFilter extends OncePerRequestFilter {
+
+    private final MeterRegistry meterRegistry;
+    private final QueryBudgetChecker checker;
+
+    public QueryStatsFilter(MeterRegistry meterRegistry, QueryBudgetChecker checker) {
+        this.meterRegistry = meterRegistry;
+        this.checker = checker;
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull FilterChain filterChain)
+            throws ServletException, IOException {
+        QueryStats stats = QueryStatsHolder.begin();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            QueryStatsHolder.clear();
+            publish(request, stats);
+        }
+
+        checkBudget(request, stats);
+    }
+
+    private void publish(HttpServletRequest request, QueryStats stats) {
+        String uri = resolveEndpoint(request);
+        String method = request.getMethod();
+
+        DistributionSummary.builder("jdbc.request.statements")
+                .description("JDBC statements executed per HTTP request")
+                .tag("uri", uri)
+                .tag("method", method)
+                .register(meterRegistry)
+                .record(stats.getStatementCount());
+
+        DistributionSummary.builder("jdbc.request.rows")
+                .description("Rows fetched per HTTP request")
+                .tag("uri", uri)
+                .tag("method", method)
+                .register(meterRegistry)
+                .record(stats.getRowCount());
+
+        Timer.builder("jdbc.request.time")
+                .description("Time spent in the JDBC driver per HTTP request")
+                .tag("uri", uri)
+                .tag("method", method)
+                .register(meterRegistry)
+                .record(Duration.ofNanos(stats.getJdbcNanos()));
+    }
+
+    private void checkBudget(HttpServletRequest request, QueryStats stats) {
+        String uri = resolveEndpoint(request);
+        String endpoint = request.getMethod() + " " + uri;
+
+        for (QueryBudgetChecker.Violation violation : checker.check(endpoint, stats, resolveBudget(request))) {
+            log.warn("Query budget exceeded: {}", violation.message());
+            Counter.builder("jdbc.request.budget.exceeded")
+                    .description("HTTP requests that exceeded their query budget")
+                    .tag("uri", uri)
+                    .tag("method", request.getMethod())
+                    .tag("reason", violation.reason())
+                    .register(meterRegistry)
+                    .increment();
+        }
+    }
+
+    private int resolveBudget(HttpServletRequest request) {
+        Object handler = request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+        if (handler instanceof HandlerMethod handlerMethod) {
+            return checker.budgetFor(handlerMethod.getMethod(), handlerMethod.getBeanType());
+        }
+        return checker.budgetFor(null, null);
+    }
+
+    private String resolveEndpoint(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : "UNKNOWN";
+    }
+}
@@ -0,0 +1,26 @@
+package VoidSystems.appointment_service.metrics;
+
+/**
+ * Thread-bound access to the {@link QueryStats} of the work currently in progress.
+ */
+public final class QueryStatsHolder {
+
+    private static final ThreadLocal<QueryStats> CURRENT = new ThreadLocal<>();
+
+    private QueryStatsHolder() {
+    }
+
+    public static QueryStats begin() {
+        QueryStats stats = new QueryStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    public static QueryStats current() {
+        return CURRENT.get();
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+}
@@ -0,0 +1,60 @@
+package VoidSystems.appointment_service.metrics;
+
+import java.time.Duration;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Attributes JDBC activity to individual service methods. Counts are inclusive of any
+ * nested service calls.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class QueryStatsServiceAspect {
+
+    private final MeterRegistry meterRegistry;
+
+    @Around("within(VoidSystems.appointment_service.service.impl..*)")
+    public Object recordServiceQueries(ProceedingJoinPoint joinPoint) throws Throwable {
+        QueryStats stats = QueryStatsHolder.current();
+        if (stats == null) {
+            return joinPoint.proceed();
+        }
+
+        int statementsBefore = stats.getStatementCount();
+        long rowsBefore = stats.getRowCount();
+        long nanosBefore = stats.getJdbcNanos();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            String method = joinPoint.getSignature().getDeclaringType().getSimpleName() + "." + joinPoint.getSignature().getName();
+
+            DistributionSummary.builder("jdbc.service.statements")
+                    .description("JDBC statements executed per service method call")
+                    .tag("method", method)
+                    .register(meterRegistry)
+                    .record(stats.getStatementCount() - statementsBefore);
+
+            DistributionSummary.builder("jdbc.service.rows")
+                    .description("Rows fetched per service method call")
+                    .tag("method", method)
+                    .register(meterRegistry)
+                    .record(stats.getRowCount() - rowsBefore);
+
+            Timer.builder("jdbc.service.time")
+                    .description("Time spent in the JDBC driver per service method call")
+                    .tag("method", method)
+                    .register(meterRegistry)
+                    .record(Duration.ofNanos(stats.getJdbcNanos() - nanosBefore));
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package VoidSystems.appointment_service.metrics;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Times every call through the booking and availability service interfaces. Histogram
+ * buckets and SLO boundaries for {@code service.method} come from
+ * {@code management.metrics.distribution}.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class ServiceTimingAspect {
+
+    private final MeterRegistry meterRegistry;
+
+    @Around("execution(* VoidSystems.appointment_service.service.AppointmentService.*(..))"
+            + " || execution(* VoidSystems.appointment_service.service.AvailabilityService.*(..))")
+    public Object timeServiceCall(ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String exception = "none";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable ex) {
+            exception = ex.getClass().getSimpleName();
+            throw ex;
+        } finally {
+            sample.stop(Timer.builder("service.method")
+                    .description("Duration of booking and availability service calls")
+                    .tag("service", joinPoint.getSignature().getDeclaringType().getSimpleName())
+                    .tag("method", joinPoint.getSignature().getName())
+                    .tag("exception", exception)
+                    .register(meterRegistry));
+        }
+    }
+}
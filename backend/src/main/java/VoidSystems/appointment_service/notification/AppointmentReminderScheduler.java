@@ -0,0 +1,129 @@
+package VoidSystems.appointment_service.notification;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import VoidSystems.appointment_service.domain.model.Appointment;
+import VoidSystems.appointment_service.domain.repository.AppointmentRepository;
+import VoidSystems.appointment_service.service.NotificationService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Reminds both participants of appointments starting within the reminder window (by default
+ * 23 to 24 hours from now).
+ *
+ * Each pass walks the window through the (reminder_sent_at, start_time) index in batches.
+ * A batch is first claimed with a conditional update under a random token, so nodes running
+ * the same pass split the work instead of duplicating it; a claim left behind by a node that
+ * died is taken over once it is older than the claim timeout. The reminders and the "sent"
+ * mark are then written in one transaction, so a rerun never reminds twice.
+ */
+@Component
+@Slf4j
+public class AppointmentReminderScheduler {
+
+    private static final List<String> REMINDABLE_STATUSES = List.of("PENDING", "CONFIRMED");
+
+    private final AppointmentRepository appointmentRepository;
+    private final NotificationService notificationService;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final Duration lead;
+    private final Duration window;
+    private final Duration claimTimeout;
+    private final int batchSize;
+
+    private final Counter remindedCounter;
+    private final Counter contendedCounter;
+    private final Timer passTimer;
+
+    public AppointmentReminderScheduler(AppointmentRepository appointmentRepository,
+            NotificationService notificationService,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${app.notifications.reminders.enabled:true}") boolean enabled,
+            @Value("${app.notifications.reminders.lead:24h}") Duration lead,
+            @Value("${app.notifications.reminders.window:1h}") Duration window,
+            @Value("${app.notifications.reminders.claim-timeout:5m}") Duration claimTimeout,
+            @Value("${app.notifications.reminders.batch-size:200}") int batchSize) {
+        this.appointmentRepository = appointmentRepository;
+        this.notificationService = notificationService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.lead = lead;
+        this.window = window;
+        this.claimTimeout = claimTimeout;
+        this.batchSize = batchSize;
+
+        this.remindedCounter = Counter.builder("appointments.reminders.sent")
+                .description("Appointments whose participants were reminded")
+                .register(meterRegistry);
+        this.contendedCounter = Counter.builder("appointments.reminders.contended")
+                .description("Due appointments claimed by another node first")
+                .register(meterRegistry);
+        this.passTimer = Timer.builder("appointments.reminders.pass")
+                .description("Duration of a reminder pass")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(initialDelayString = "${app.notifications.reminders.initial-delay:PT1M}",
+               fixedDelayString = "${app.notifications.reminders.interval:PT5M}")
+    public void sendDueReminders() {
+        if (!enabled) {
+            return;
+        }
+        passTimer.record(() -> {
+            LocalDateTime now = LocalDateTime.now();
+            LocalDateTime to = now.plus(lead);
+            int reminded = 0;
+            while (!Thread.currentThread().isInterrupted()) {
+                List<Long> candidates = transactionTemplate.execute(status -> appointmentRepository.findReminderCandidates(
+                        to.minus(window), to, REMINDABLE_STATUSES, now.minus(claimTimeout), PageRequest.of(0, batchSize)));
+                if (candidates == null || candidates.isEmpty()) {
+                    break;
+                }
+                reminded += remindBatch(candidates, now);
+                if (candidates.size() < batchSize) {
+                    break;
+                }
+            }
+            if (reminded > 0) {
+                log.info("Sent reminders for {} appointments starting before {}", reminded, to);
+            }
+        });
+    }
+
+    private int remindBatch(List<Long> candidates, LocalDateTime now) {
+        String claim = UUID.randomUUID().toString();
+        Integer claimed = transactionTemplate.execute(status ->
+                appointmentRepository.claimReminders(candidates, claim, now, now.minus(claimTimeout)));
+        if (claimed == null || claimed == 0) {
+            contendedCounter.increment(candidates.size());
+            return 0;
+        }
+        contendedCounter.increment(candidates.size() - claimed);
+
+        Integer reminded = transactionTemplate.execute(status -> {
+            // Re-checks the status, so an appointment cancelled since the scan is skipped
+            List<Appointment> appointments = appointmentRepository.findClaimedReminders(candidates, claim, REMINDABLE_STATUSES);
+            notificationService.createAppointmentReminderNotifications(appointments);
+            appointmentRepository.markReminded(candidates, claim, LocalDateTime.now());
+            return appointments.size();
+        });
+        int count = reminded != null ? reminded : 0;
+        remindedCounter.increment(count);
+        return count;
+    }
+}
@@ -0,0 +1,102 @@
+package VoidSystems.appointment_service.notification;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import VoidSystems.appointment_service.domain.model.Notification;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Holds appointment notifications for a short window before they are written, so a burst of
+ * changes to one appointment (confirmed, rescheduled, cancelled, ...) reaches each participant
+ * as a single notification carrying the final state.
+ *
+ * The first notification for a (user, appointment) pair opens the window; any later one for
+ * the same pair within it replaces the held notification. When the window closes the held
+ * notification goes to the {@link NotificationWriter}. Notifications without an appointment,
+ * or all of them when the window is zero, are passed through right away.
+ */
+@Component
+public class NotificationCoalescer {
+
+    private final NotificationWriter notificationWriter;
+    private final long windowMs;
+    private final Map<Key, Notification> pending = new ConcurrentHashMap<>();
+    private final ScheduledThreadPoolExecutor scheduler;
+    private final Counter coalescedCounter;
+
+    public NotificationCoalescer(NotificationWriter notificationWriter,
+            MeterRegistry meterRegistry,
+            @Value("${app.notifications.coalescing.window:5s}") Duration window) {
+        this.notificationWriter = notificationWriter;
+        this.windowMs = window.toMillis();
+        this.scheduler = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "notification-coalescer");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        this.coalescedCounter = Counter.builder("notifications.coalesced")
+                .description("Notifications replaced by a later one for the same appointment before being written")
+                .register(meterRegistry);
+        Gauge.builder("notifications.coalescer.pending", pending, Map::size)
+                .description("Notifications held until their coalescing window closes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Takes a new, unsaved notification. Must be called after the transaction that caused it
+     * has committed.
+     */
+    public void submit(Notification notification) {
+        if (windowMs <= 0 || notification.getAppointmentId() == null) {
+            notificationWriter.enqueue(notification);
+            return;
+        }
+        Key key = new Key(notification.getUser().getId(), notification.getAppointmentId());
+        boolean[] opened = new boolean[1];
+        pending.compute(key, (k, held) -> {
+            if (held == null) {
+                opened[0] = true;
+            } else {
+                coalescedCounter.increment();
+            }
+            return notification;
+        });
+        if (opened[0]) {
+            try {
+                scheduler.schedule(() -> flush(key), windowMs, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException ex) {
+                // Shutting down
+                flush(key);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // Destroyed before the writer it depends on, so held notifications still reach its queue
+        scheduler.shutdownNow();
+        pending.keySet().forEach(this::flush);
+    }
+
+    private void flush(Key key) {
+        Notification notification = pending.remove(key);
+        if (notification != null) {
+            notificationWriter.enqueue(notification);
+        }
+    }
+
+    private record Key(Long userId, Long appointmentId) {
+    }
+}
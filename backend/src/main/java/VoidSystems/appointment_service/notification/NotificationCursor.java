@@ -0,0 +1,36 @@
+package VoidSystems.appointment_service.notification;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Opaque delta sync cursor: a change timestamp with microsecond precision, in base 36.
+ */
+public final class NotificationCursor {
+
+    private NotificationCursor() {
+    }
+
+    public static String encode(LocalDateTime time) {
+        Instant instant = time.toInstant(ZoneOffset.UTC);
+        long micros = ChronoUnit.MICROS.between(Instant.EPOCH, instant);
+        return Long.toString(micros, 36);
+    }
+
+    /**
+     * @return the cursor's timestamp, or {@code null} if it is missing or malformed
+     */
+    public static LocalDateTime decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            long micros = Long.parseLong(cursor, 36);
+            return LocalDateTime.ofInstant(Instant.EPOCH.plus(micros, ChronoUnit.MICROS), ZoneOffset.UTC);
+        } catch (NumberFormatException | ArithmeticException | java.time.DateTimeException e) {
+            return null;
+        }
+    }
+}
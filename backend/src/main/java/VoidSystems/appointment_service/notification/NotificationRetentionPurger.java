@@ -0,0 +1,215 @@
+package VoidSystems.appointment_service.notification;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.LongFunction;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import VoidSystems.appointment_service.domain.repository.NotificationRef;
+import VoidSystems.appointment_service.domain.repository.NotificationRepository;
+import VoidSystems.appointment_service.domain.repository.NotificationTombstoneRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Deletes notifications past their retention: read ones after {@code read-after}, all after
+ * {@code all-after}, and optionally everything beyond the newest {@code max-per-user} of each
+ * user. Delta sync tombstones are recorded for every purged row and dropped themselves after
+ * {@code tombstones-after}.
+ *
+ * Rows are removed in small chunks walked in primary key order, each in its own short
+ * transaction, with a pause in between, so the purge never holds locks for long or competes
+ * with foreground writes.
+ */
+@Component
+@Slf4j
+public class NotificationRetentionPurger {
+
+    private final NotificationRepository notificationRepository;
+    private final NotificationTombstoneRepository notificationTombstoneRepository;
+    private final UnreadCountTracker unreadCountTracker;
+    private final RecentNotificationCache recentNotificationCache;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final Duration readAfter;
+    private final Duration allAfter;
+    private final Duration tombstonesAfter;
+    private final int maxPerUser;
+    private final int chunkSize;
+    private final long pauseMs;
+
+    private final Counter readPurged;
+    private final Counter expiredPurged;
+    private final Counter cappedPurged;
+    private final DistributionSummary runPurged;
+    private final Timer runTimer;
+
+    public NotificationRetentionPurger(NotificationRepository notificationRepository,
+            NotificationTombstoneRepository notificationTombstoneRepository,
+            UnreadCountTracker unreadCountTracker,
+            RecentNotificationCache recentNotificationCache,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${app.notifications.retention.enabled:true}") boolean enabled,
+            @Value("${app.notifications.retention.read-after:30d}") Duration readAfter,
+            @Value("${app.notifications.retention.all-after:180d}") Duration allAfter,
+            @Value("${app.notifications.retention.tombstones-after:7d}") Duration tombstonesAfter,
+            @Value("${app.notifications.retention.max-per-user:0}") int maxPerUser,
+            @Value("${app.notifications.retention.chunk-size:500}") int chunkSize,
+            @Value("${app.notifications.retention.pause:100ms}") Duration pause) {
+        this.notificationRepository = notificationRepository;
+        this.notificationTombstoneRepository = notificationTombstoneRepository;
+        this.unreadCountTracker = unreadCountTracker;
+        this.recentNotificationCache = recentNotificationCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.readAfter = readAfter.compareTo(allAfter) < 0 ? readAfter : allAfter;
+        this.allAfter = allAfter;
+        this.tombstonesAfter = tombstonesAfter;
+        this.maxPerUser = maxPerUser;
+        this.chunkSize = chunkSize;
+        this.pauseMs = pause.toMillis();
+
+        this.readPurged = purgedCounter(meterRegistry, "read");
+        this.expiredPurged = purgedCounter(meterRegistry, "expired");
+        this.cappedPurged = purgedCounter(meterRegistry, "per_user_cap");
+        this.runPurged = DistributionSummary.builder("notifications.retention.run_purged")
+                .description("Notifications deleted per retention run")
+                .register(meterRegistry);
+        this.runTimer = Timer.builder("notifications.retention.run")
+                .description("Duration of a retention run")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(initialDelayString = "${app.notifications.retention.initial-delay:PT5M}",
+               fixedDelayString = "${app.notifications.retention.interval:PT1H}")
+    public void purge() {
+        if (!enabled) {
+            return;
+        }
+        long started = System.nanoTime();
+        LocalDateTime now = LocalDateTime.now();
+
+        // Read rows never affect unread counts; unread rows past the hard limit do
+        long read = purgeChunks(afterId -> notificationRepository.findCreatedBefore(
+                true, now.minus(readAfter), afterId, PageRequest.of(0, chunkSize)), false);
+        readPurged.increment(read);
+        long expired = purgeChunks(afterId -> notificationRepository.findCreatedBefore(
+                false, now.minus(allAfter), afterId, PageRequest.of(0, chunkSize)), true);
+        expiredPurged.increment(expired);
+        long capped = maxPerUser > 0 ? purgeOverCap() : 0;
+        cappedPurged.increment(capped);
+        long tombstones = purgeTombstones(now.minus(tombstonesAfter));
+
+        runPurged.record(read + expired + capped);
+        runTimer.record(Duration.ofNanos(System.nanoTime() - started));
+        log.info("Notification retention purged {} read, {} expired and {} over the per-user cap, and {} tombstones",
+                read, expired, capped, tombstones);
+    }
+
+    private long purgeOverCap() {
+        long purged = 0;
+        for (Long userId : notificationRepository.findUserIdsWithMoreThan(maxPerUser)) {
+            // Newest id beyond the cap; it and everything older goes
+            List<Long> boundary = notificationRepository.findIdsNewestFirst(userId, PageRequest.of(maxPerUser, 1));
+            if (boundary.isEmpty()) {
+                continue;
+            }
+            long maxId = boundary.get(0);
+            purged += purgeChunks(afterId -> notificationRepository.findUpTo(
+                    userId, maxId, afterId, PageRequest.of(0, chunkSize)), true);
+            if (Thread.currentThread().isInterrupted()) {
+                break;
+            }
+        }
+        return purged;
+    }
+
+    private long purgeChunks(LongFunction<List<NotificationRef>> nextChunk, boolean mayIncludeUnread) {
+        long purged = 0;
+        long afterId = 0;
+        while (!Thread.currentThread().isInterrupted()) {
+            long from = afterId;
+            List<NotificationRef> chunk = transactionTemplate.execute(status -> {
+                List<NotificationRef> refs = nextChunk.apply(from);
+                if (!refs.isEmpty()) {
+                    List<Long> ids = refs.stream().map(NotificationRef::getId).toList();
+                    notificationTombstoneRepository.recordPurged(ids, LocalDateTime.now());
+                    notificationRepository.purgeByIds(ids);
+                }
+                return refs;
+            });
+            if (chunk == null || chunk.isEmpty()) {
+                break;
+            }
+            purged += chunk.size();
+            afterId = chunk.get(chunk.size() - 1).getId();
+            Set<Long> users = new LinkedHashSet<>();
+            chunk.forEach(ref -> users.add(ref.getUserId()));
+            recentNotificationCache.forgetAll(users);
+            if (mayIncludeUnread) {
+                users.forEach(unreadCountTracker::forget);
+            }
+            if (chunk.size() < chunkSize) {
+                break;
+            }
+            pause();
+        }
+        return purged;
+    }
+
+    private long purgeTombstones(LocalDateTime cutoff) {
+        long purged = 0;
+        long afterId = 0;
+        while (!Thread.currentThread().isInterrupted()) {
+            long from = afterId;
+            List<Long> chunk = transactionTemplate.execute(status -> {
+                List<Long> ids = notificationTombstoneRepository.findExpiredIds(cutoff, from, PageRequest.of(0, chunkSize));
+                if (!ids.isEmpty()) {
+                    notificationTombstoneRepository.deleteByIds(ids);
+                }
+                return ids;
+            });
+            if (chunk == null || chunk.isEmpty()) {
+                break;
+            }
+            purged += chunk.size();
+            afterId = chunk.get(chunk.size() - 1);
+            if (chunk.size() < chunkSize) {
+                break;
+            }
+            pause();
+        }
+        return purged;
+    }
+
+    private void pause() {
+        if (pauseMs <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(pauseMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static Counter purgedCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("notifications.retention.purged")
+                .description("Notifications deleted by retention")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,37 @@
+package VoidSystems.appointment_service.notification;
+
+import java.util.Map;
+
+import VoidSystems.appointment_service.dto.NotificationDTO;
+
+/**
+ * An event pushed to notification stream subscribers. Only notification events carry an id,
+ * so a reconnecting client's {@code Last-Event-ID} is always the last notification it saw.
+ */
+public record NotificationStreamEvent(String name, Long id, Object data) {
+
+    public static final String NOTIFICATION = "notification";
+    public static final String UNREAD_COUNT = "unread-count";
+    public static final String RESYNC = "resync";
+
+    static final NotificationStreamEvent HEARTBEAT = new NotificationStreamEvent(null, null, null);
+
+    public static NotificationStreamEvent notification(NotificationDTO notification) {
+        return new NotificationStreamEvent(NOTIFICATION, notification.getId(), notification);
+    }
+
+    public static NotificationStreamEvent unreadCount(long count) {
+        return new NotificationStreamEvent(UNREAD_COUNT, null, Map.of("count", count));
+    }
+
+    /**
+     * Tells the client that more was missed than can be replayed and it should reload.
+     */
+    public static NotificationStreamEvent resync() {
+        return new NotificationStreamEvent(RESYNC, null, Map.of());
+    }
+
+    boolean isHeartbeat() {
+        return name == null;
+    }
+}
@@ -0,0 +1,128 @@
+package VoidSystems.appointment_service.notification;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import VoidSystems.appointment_service.dto.NotificationDTO;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Open notification streams by user. Publishing only touches users with an open stream and
+ * never blocks: events go into each subscription's bounded buffer and are written by a small
+ * dispatcher pool.
+ */
+@Component
+@Slf4j
+public class NotificationStreamRegistry {
+
+    private final Map<Long, Set<NotificationSubscription>> subscriptions = new ConcurrentHashMap<>();
+    private final AtomicInteger openStreams = new AtomicInteger();
+    private final ExecutorService dispatcher;
+    private final long timeoutMs;
+    private final int bufferSize;
+
+    public NotificationStreamRegistry(
+            MeterRegistry meterRegistry,
+            @Value("${app.notifications.stream.timeout:30m}") Duration timeout,
+            @Value("${app.notifications.stream.buffer-size:64}") int bufferSize,
+            @Value("${app.notifications.stream.dispatcher-threads:2}") int dispatcherThreads) {
+        this.timeoutMs = timeout.toMillis();
+        this.bufferSize = bufferSize;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.dispatcher = Executors.newFixedThreadPool(dispatcherThreads, runnable -> {
+            Thread thread = new Thread(runnable, "notification-stream-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        Gauge.builder("notifications.stream.open", openStreams, AtomicInteger::get)
+                .description("Open notification streams")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Opens a stream for the user. The subscription is registered before the initial events
+     * are computed, so nothing published in between is lost.
+     */
+    public SseEmitter subscribe(Long userId, Supplier<List<NotificationStreamEvent>> initialEvents) {
+        SseEmitter emitter = newEmitter();
+        NotificationSubscription subscription = new NotificationSubscription(userId, emitter, bufferSize, dispatcher);
+
+        subscriptions.computeIfAbsent(userId, id -> ConcurrentHashMap.newKeySet()).add(subscription);
+        openStreams.incrementAndGet();
+        emitter.onCompletion(() -> remove(subscription));
+        emitter.onTimeout(() -> subscription.close(null));
+        emitter.onError(ex -> subscription.close(ex));
+
+        try {
+            subscription.start(initialEvents.get());
+        } catch (RuntimeException ex) {
+            remove(subscription);
+            throw ex;
+        }
+        log.debug("Opened notification stream for user {}", userId);
+        return emitter;
+    }
+
+    public boolean hasSubscribers(Long userId) {
+        return subscriptions.containsKey(userId);
+    }
+
+    public void publishNotification(Long userId, NotificationDTO notification) {
+        publish(userId, NotificationStreamEvent.notification(notification));
+    }
+
+    public void publishUnreadCount(Long userId, long count) {
+        publish(userId, NotificationStreamEvent.unreadCount(count));
+    }
+
+    /**
+     * Keeps idle connections alive through proxies and detects clients that went away.
+     */
+    @Scheduled(fixedRateString = "${app.notifications.stream.heartbeat-interval:PT15S}")
+    public void sendHeartbeats() {
+        subscriptions.values().forEach(userSubscriptions ->
+                userSubscriptions.forEach(subscription -> subscription.offer(NotificationStreamEvent.HEARTBEAT)));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscriptions.values().forEach(userSubscriptions -> userSubscriptions.forEach(subscription -> subscription.close(null)));
+        dispatcher.shutdown();
+    }
+
+    SseEmitter newEmitter() {
+        return new SseEmitter(timeoutMs);
+    }
+
+    private void publish(Long userId, NotificationStreamEvent event) {
+        Set<NotificationSubscription> userSubscriptions = subscriptions.get(userId);
+        if (userSubscriptions == null) {
+            return;
+        }
+        userSubscriptions.forEach(subscription -> subscription.offer(event));
+    }
+
+    private void remove(NotificationSubscription subscription) {
+        subscriptions.computeIfPresent(subscription.getUserId(), (userId, userSubscriptions) -> {
+            if (userSubscriptions.remove(subscription)) {
+                openStreams.decrementAndGet();
+            }
+            return userSubscriptions.isEmpty() ? null : userSubscriptions;
+        });
+    }
+}
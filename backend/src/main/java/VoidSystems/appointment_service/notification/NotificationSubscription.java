@@ -0,0 +1,144 @@
+package VoidSystems.appointment_service.notification;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * One open stream. Events are queued in a bounded buffer and written by the shared
+ * dispatcher, one drain at a time, so publishers never block on a slow client. A client that
+ * falls a full buffer behind is disconnected; it reconnects with {@code Last-Event-ID} and
+ * catches up from the database.
+ */
+@Slf4j
+final class NotificationSubscription {
+
+    private final Long userId;
+    private final SseEmitter emitter;
+    private final BlockingQueue<NotificationStreamEvent> buffer;
+    private final Executor dispatcher;
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private volatile boolean started;
+    private long lastSentId;
+
+    NotificationSubscription(Long userId, SseEmitter emitter, int bufferSize, Executor dispatcher) {
+        this.userId = userId;
+        this.emitter = emitter;
+        this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        this.dispatcher = dispatcher;
+    }
+
+    Long getUserId() {
+        return userId;
+    }
+
+    SseEmitter getEmitter() {
+        return emitter;
+    }
+
+    boolean isClosed() {
+        return closed.get();
+    }
+
+    /**
+     * Sends the initial events on the caller's thread, then starts delivering buffered live
+     * events. Live notifications already covered by the initial events are skipped.
+     */
+    void start(List<NotificationStreamEvent> initialEvents) {
+        try {
+            for (NotificationStreamEvent event : initialEvents) {
+                send(event);
+            }
+        } catch (IOException | IllegalStateException ex) {
+            close(ex);
+            return;
+        }
+        started = true;
+        scheduleDrain();
+    }
+
+    /**
+     * @return false if the buffer was full and the subscription has been closed
+     */
+    boolean offer(NotificationStreamEvent event) {
+        if (closed.get()) {
+            return false;
+        }
+        if (!buffer.offer(event)) {
+            if (event.isHeartbeat()) {
+                return true;
+            }
+            log.debug("Notification stream buffer full for user {}, closing", userId);
+            close(null);
+            return false;
+        }
+        scheduleDrain();
+        return true;
+    }
+
+    void close(Throwable cause) {
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+        buffer.clear();
+        try {
+            if (cause == null) {
+                emitter.complete();
+            } else {
+                emitter.completeWithError(cause);
+            }
+        } catch (IllegalStateException ex) {
+            // Already completed by the container
+        }
+    }
+
+    private void scheduleDrain() {
+        if (started && !closed.get() && draining.compareAndSet(false, true)) {
+            dispatcher.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        try {
+            NotificationStreamEvent event;
+            while (!closed.get() && (event = buffer.poll()) != null) {
+                send(event);
+            }
+        } catch (IOException | IllegalStateException ex) {
+            log.debug("Notification stream for user {} closed: {}", userId, ex.getMessage());
+            close(ex);
+        } finally {
+            draining.set(false);
+        }
+        if (!buffer.isEmpty()) {
+            scheduleDrain();
+        }
+    }
+
+    // Only ever called by one thread at a time: the starting request, then a single drain
+    private void send(NotificationStreamEvent event) throws IOException {
+        if (event.isHeartbeat()) {
+            emitter.send(SseEmitter.event().comment("heartbeat"));
+            return;
+        }
+        if (event.id() != null) {
+            if (event.id() <= lastSentId) {
+                return;
+            }
+            lastSentId = event.id();
+        }
+        SseEmitter.SseEventBuilder builder = SseEmitter.event().name(event.name()).data(event.data());
+        if (event.id() != null) {
+            builder.id(event.id().toString());
+        }
+        emitter.send(builder);
+    }
+}
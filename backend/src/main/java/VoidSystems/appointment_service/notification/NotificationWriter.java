@@ -0,0 +1,298 @@
+package VoidSystems.appointment_service.notification;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import VoidSystems.appointment_service.domain.model.Notification;
+import VoidSystems.appointment_service.mapper.NotificationMapper;
+import VoidSystems.appointment_service.notification.delivery.NotificationDeliveryDispatcher;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Write-behind for notifications that nobody waits on. Queued notifications are inserted by a
+ * single background thread in JDBC batches, flushed when a batch is full or the oldest queued
+ * notification has waited for the flush interval.
+ *
+ * When the queue is full, callers wait up to the enqueue timeout and then insert their
+ * notification themselves, so bursts slow producers down instead of losing notifications.
+ * On shutdown the queue is drained before the thread stops.
+ *
+ * Once written, notifications are handed to the delivery channels (email, SMS), which send
+ * them from their own threads.
+ */
+@Component
+@Slf4j
+public class NotificationWriter {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO notifications (user_id, type, title, message, `read`, created_at, updated_at, "
+            + "appointment_id, service_name, client_name, date_time, data) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final UnreadCountTracker unreadCountTracker;
+    private final NotificationStreamRegistry notificationStreamRegistry;
+    private final NotificationMapper notificationMapper;
+    private final NotificationDeliveryDispatcher deliveryDispatcher;
+    private final RecentNotificationCache recentNotificationCache;
+    private final BlockingQueue<Notification> queue;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final long enqueueTimeoutMs;
+    private final Duration shutdownTimeout;
+    private final Thread writerThread;
+    private volatile boolean running = true;
+
+    private final Counter writtenCounter;
+    private final Counter failedCounter;
+    private final Counter callerWritesCounter;
+    private final DistributionSummary batchSizes;
+    private final Timer flushTimer;
+
+    public NotificationWriter(DataSource dataSource,
+            PlatformTransactionManager transactionManager,
+            UnreadCountTracker unreadCountTracker,
+            NotificationStreamRegistry notificationStreamRegistry,
+            NotificationMapper notificationMapper,
+            NotificationDeliveryDispatcher deliveryDispatcher,
+            RecentNotificationCache recentNotificationCache,
+            MeterRegistry meterRegistry,
+            @Value("${app.notifications.writer.queue-capacity:10000}") int queueCapacity,
+            @Value("${app.notifications.writer.batch-size:200}") int batchSize,
+            @Value("${app.notifications.writer.flush-interval:50ms}") Duration flushInterval,
+            @Value("${app.notifications.writer.enqueue-timeout:100ms}") Duration enqueueTimeout,
+            @Value("${app.notifications.writer.shutdown-timeout:10s}") Duration shutdownTimeout) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.unreadCountTracker = unreadCountTracker;
+        this.notificationStreamRegistry = notificationStreamRegistry;
+        this.notificationMapper = notificationMapper;
+        this.deliveryDispatcher = deliveryDispatcher;
+        this.recentNotificationCache = recentNotificationCache;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = flushInterval.toNanos();
+        this.enqueueTimeoutMs = enqueueTimeout.toMillis();
+        this.shutdownTimeout = shutdownTimeout;
+
+        this.writtenCounter = Counter.builder("notifications.writer.written")
+                .description("Notifications inserted by the write-behind writer")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("notifications.writer.failed")
+                .description("Notifications that could not be inserted and were dropped")
+                .register(meterRegistry);
+        this.callerWritesCounter = Counter.builder("notifications.writer.caller_writes")
+                .description("Notifications inserted by the caller because the queue stayed full")
+                .register(meterRegistry);
+        this.batchSizes = DistributionSummary.builder("notifications.writer.batch_size")
+                .description("Notifications per batch insert")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("notifications.writer.flush")
+                .description("Time spent inserting one batch")
+                .register(meterRegistry);
+        Gauge.builder("notifications.writer.queue", queue, BlockingQueue::size)
+                .description("Notifications waiting to be inserted")
+                .register(meterRegistry);
+
+        this.writerThread = new Thread(this::run, "notification-writer");
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+    }
+
+    /**
+     * Queues a new, unsaved notification. Must be called after the transaction that caused it
+     * has committed.
+     */
+    public void enqueue(Notification notification) {
+        if (running) {
+            try {
+                if (queue.offer(notification, enqueueTimeoutMs, TimeUnit.MILLISECONDS)) {
+                    return;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        callerWritesCounter.increment();
+        flush(List.of(notification));
+    }
+
+    /**
+     * Inserts notifications right away as one batch, joining the caller's transaction if there
+     * is one. Counters and streams are updated once that transaction commits.
+     */
+    public void write(List<Notification> notifications) {
+        flushTimer.record(() -> transactionTemplate.executeWithoutResult(status -> insert(notifications)));
+        batchSizes.record(notifications.size());
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    written(notifications);
+                }
+            });
+        } else {
+            written(notifications);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // The writer notices within one flush interval, drains the queue and exits
+        running = false;
+        try {
+            writerThread.join(shutdownTimeout.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!queue.isEmpty()) {
+            log.warn("Notification writer stopped with {} notifications still queued", queue.size());
+        }
+    }
+
+    private void run() {
+        List<Notification> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                collect(batch);
+            } catch (InterruptedException e) {
+                running = false;
+                queue.drainTo(batch, batchSize - batch.size());
+            }
+            if (!batch.isEmpty()) {
+                flush(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private void collect(List<Notification> batch) throws InterruptedException {
+        Notification first = queue.poll(flushIntervalNanos, TimeUnit.NANOSECONDS);
+        if (first == null) {
+            return;
+        }
+        batch.add(first);
+        long deadline = System.nanoTime() + flushIntervalNanos;
+        while (batch.size() < batchSize) {
+            queue.drainTo(batch, batchSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= batchSize || remaining <= 0) {
+                return;
+            }
+            Notification next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    private void flush(List<Notification> batch) {
+        try {
+            flushTimer.record(() -> transactionTemplate.executeWithoutResult(status -> insert(batch)));
+            batchSizes.record(batch.size());
+            written(batch);
+        } catch (RuntimeException ex) {
+            if (batch.size() == 1) {
+                failedCounter.increment();
+                log.error("Dropping notification for user {}", batch.get(0).getUser().getId(), ex);
+                return;
+            }
+            // One bad row (e.g. its user was deleted meanwhile) must not sink the rest
+            log.warn("Batch insert of {} notifications failed, retrying one by one", batch.size(), ex);
+            batch.forEach(notification -> {
+                notification.setId(null);
+                flush(List.of(notification));
+            });
+        }
+    }
+
+    private void insert(List<Notification> batch) {
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            // Stamped now rather than at creation: a notification may have been held by the
+            // coalescer and queued here for longer than delta sync's settle window
+            LocalDateTime insertedAt = LocalDateTime.now();
+            Timestamp updatedAt = Timestamp.valueOf(insertedAt);
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+                for (Notification notification : batch) {
+                    statement.setLong(1, notification.getUser().getId());
+                    statement.setString(2, notification.getType());
+                    statement.setString(3, notification.getTitle());
+                    statement.setString(4, notification.getMessage());
+                    statement.setBoolean(5, notification.isRead());
+                    statement.setTimestamp(6, Timestamp.valueOf(notification.getCreatedAt()));
+                    statement.setTimestamp(7, updatedAt);
+                    statement.setObject(8, notification.getAppointmentId(), Types.BIGINT);
+                    statement.setString(9, notification.getServiceName());
+                    statement.setString(10, notification.getClientName());
+                    statement.setString(11, notification.getDateTime());
+                    statement.setString(12, notification.getData());
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+                try (ResultSet keys = statement.getGeneratedKeys()) {
+                    int index = 0;
+                    while (keys.next() && index < batch.size()) {
+                        Notification notification = batch.get(index++);
+                        notification.setId(keys.getLong(1));
+                        notification.setUpdatedAt(insertedAt);
+                    }
+                }
+            }
+            return null;
+        });
+    }
+
+    private void written(List<Notification> batch) {
+        writtenCounter.increment(batch.size());
+        Map<Long, Integer> unreadByUser = new HashMap<>();
+        for (Notification notification : batch) {
+            Long userId = notification.getUser().getId();
+            if (!notification.isRead()) {
+                unreadByUser.merge(userId, 1, Integer::sum);
+            }
+            if (notification.getId() != null && notificationStreamRegistry.hasSubscribers(userId)) {
+                notificationStreamRegistry.publishNotification(userId, notificationMapper.toDTO(notification));
+            }
+            if (notification.getId() != null) {
+                recentNotificationCache.added(userId, () -> notificationMapper.toDTO(notification));
+            }
+            deliveryDispatcher.dispatch(notification);
+        }
+        unreadByUser.forEach((userId, added) -> {
+            unreadCountTracker.adjust(userId, added);
+            if (notificationStreamRegistry.hasSubscribers(userId)) {
+                notificationStreamRegistry.publishUnreadCount(userId, unreadCountTracker.get(userId));
+            }
+        });
+    }
+}
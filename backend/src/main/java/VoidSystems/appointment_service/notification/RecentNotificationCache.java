@@ -0,0 +1,258 @@
+package VoidSystems.appointment_service.notification;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import VoidSystems.appointment_service.domain.model.User;
+import VoidSystems.appointment_service.domain.repository.NotificationRepository;
+import VoidSystems.appointment_service.dto.NotificationDTO;
+import VoidSystems.appointment_service.mapper.NotificationMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * The newest notifications of recently active users, so the notification bell and widget
+ * pages are served from memory. Each user's list is loaded on first read and then kept up to
+ * date by the notification service: new notifications are pushed onto the front (dropping the
+ * oldest beyond the capacity) and reads are applied in place. Deletes drop the user's list,
+ * which is reloaded on the next read. Users are evicted by size and idle time.
+ *
+ * As in {@link UnreadCountTracker}, a load is only kept if no change for that user was
+ * reported while it ran: the check and the insert are one atomic map operation, and changes
+ * are applied to a held list under the same per-user lock.
+ *
+ * Only changes made through this instance are applied. Notifications written or read on other
+ * instances show up when the list is reloaded, which happens at the latest once it is older
+ * than the maximum staleness.
+ */
+@Component
+public class RecentNotificationCache {
+
+    private static final int STRIPES = 64;
+    private static final Comparator<NotificationDTO> NEWEST_FIRST = Comparator
+            .comparing(NotificationDTO::getCreatedAt, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(NotificationDTO::getId, Comparator.nullsLast(Comparator.reverseOrder()));
+
+    private final NotificationRepository notificationRepository;
+    private final NotificationMapper notificationMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final int capacity;
+    private final long maxStalenessNanos;
+    private final Cache<Long, RecentNotifications> recent;
+    // Bumped on every reported change, so a load can tell whether it may be stale
+    private final AtomicLongArray generations = new AtomicLongArray(STRIPES);
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter loads;
+
+    public RecentNotificationCache(NotificationRepository notificationRepository,
+            NotificationMapper notificationMapper,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${app.notifications.recent.capacity:20}") int capacity,
+            @Value("${app.notifications.recent.max-users:10000}") long maxUsers,
+            @Value("${app.notifications.recent.expire-after-access:30m}") Duration expireAfterAccess,
+            @Value("${app.notifications.recent.max-staleness:60s}") Duration maxStaleness) {
+        this.notificationRepository = notificationRepository;
+        this.notificationMapper = notificationMapper;
+        // Read-write, so loads go to the primary rather than a lagging replica
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.capacity = capacity;
+        this.maxStalenessNanos = maxStaleness.toNanos();
+        this.recent = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfterAccess(expireAfterAccess)
+                .build();
+        this.hits = Counter.builder("notifications.recent.hits")
+                .description("Notification pages served from memory")
+                .register(meterRegistry);
+        this.misses = Counter.builder("notifications.recent.misses")
+                .description("Notification pages beyond the recent window, read from the database")
+                .register(meterRegistry);
+        this.loads = Counter.builder("notifications.recent.loads")
+                .description("Recent notification lists loaded from the database")
+                .register(meterRegistry);
+        Gauge.builder("notifications.recent.users", recent, Cache::estimatedSize)
+                .description("Users with recent notifications held in memory")
+                .register(meterRegistry);
+    }
+
+    /**
+     * A page of the user's notifications, newest first, or {@code null} if the page reaches
+     * beyond what is kept in memory or asks for a different order.
+     */
+    public Page<NotificationDTO> page(User user, Pageable pageable) {
+        if (!coverable(pageable)) {
+            misses.increment();
+            return null;
+        }
+        RecentNotifications notifications = recent.getIfPresent(user.getId());
+        if (notifications != null && System.nanoTime() - notifications.loadedAt > maxStalenessNanos) {
+            recent.asMap().remove(user.getId(), notifications);
+            notifications = null;
+        }
+        if (notifications == null) {
+            notifications = load(user);
+        }
+        Page<NotificationDTO> page = notifications.page(pageable);
+        if (page == null) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return page;
+    }
+
+    /**
+     * Adds a newly stored notification to the user's list, if one is held.
+     */
+    public void added(Long userId, Supplier<NotificationDTO> notification) {
+        changed(userId, notifications -> notifications.add(notification.get()));
+    }
+
+    /**
+     * Marks the user's held notifications matching the filter as read.
+     */
+    public void markedRead(Long userId, Predicate<NotificationDTO> filter) {
+        changed(userId, notifications -> notifications.markRead(filter));
+    }
+
+    /**
+     * Drops the user's list, e.g. after deletes; it is reloaded on the next read.
+     */
+    public void forget(Long userId) {
+        recent.asMap().compute(userId, (id, notifications) -> {
+            generations.incrementAndGet(stripe(id));
+            return null;
+        });
+    }
+
+    public void forgetAll(Collection<Long> userIds) {
+        userIds.forEach(this::forget);
+    }
+
+    private RecentNotifications load(User user) {
+        long generation = generations.get(stripe(user.getId()));
+        Page<NotificationDTO> newest = transactionTemplate.execute(status -> notificationRepository
+                .findByUserOrderByCreatedAtDesc(user, PageRequest.of(0, capacity))
+                .map(notificationMapper::toDTO));
+        loads.increment();
+        RecentNotifications loaded = new RecentNotifications(newest.getContent(), newest.getTotalElements());
+        RecentNotifications held = recent.asMap().computeIfAbsent(user.getId(),
+                id -> generations.get(stripe(id)) == generation ? loaded : null);
+        return held != null ? held : loaded;
+    }
+
+    private boolean coverable(Pageable pageable) {
+        if (pageable.isUnpaged() || pageable.getOffset() + pageable.getPageSize() > capacity) {
+            return false;
+        }
+        Sort sort = pageable.getSort();
+        return sort.isUnsorted() || sort.equals(Sort.by(Sort.Direction.DESC, "createdAt"));
+    }
+
+    /**
+     * Reports a change and applies it to the held list, if any, under the user's map lock, so
+     * it cannot fall between a concurrent load's generation check and its insert.
+     */
+    private void changed(Long userId, Consumer<RecentNotifications> change) {
+        recent.asMap().compute(userId, (id, notifications) -> {
+            generations.incrementAndGet(stripe(id));
+            if (notifications != null) {
+                change.accept(notifications);
+            }
+            return notifications;
+        });
+    }
+
+    private static int stripe(Long userId) {
+        return (int) (userId & (STRIPES - 1));
+    }
+
+    /**
+     * Ring of the newest notifications, newest first. Entries are never changed in place, so
+     * a page handed out stays consistent while it is serialized.
+     */
+    private final class RecentNotifications {
+
+        private final List<NotificationDTO> entries;
+        private final long loadedAt = System.nanoTime();
+        private long total;
+
+        private RecentNotifications(List<NotificationDTO> newest, long total) {
+            this.entries = new ArrayList<>(newest);
+            this.entries.sort(NEWEST_FIRST);
+            this.total = total;
+        }
+
+        private synchronized Page<NotificationDTO> page(Pageable pageable) {
+            int from = (int) pageable.getOffset();
+            int to = from + pageable.getPageSize();
+            // Held entries are exactly the newest ones; past them only a complete list answers
+            if (to > entries.size() && entries.size() < total) {
+                return null;
+            }
+            List<NotificationDTO> content = from < entries.size()
+                    ? List.copyOf(entries.subList(from, Math.min(to, entries.size())))
+                    : List.of();
+            return new PageImpl<>(content, pageable, total);
+        }
+
+        private synchronized void add(NotificationDTO notification) {
+            for (NotificationDTO entry : entries) {
+                if (entry.getId().equals(notification.getId())) {
+                    return;
+                }
+            }
+            int index = 0;
+            while (index < entries.size() && NEWEST_FIRST.compare(entries.get(index), notification) < 0) {
+                index++;
+            }
+            total++;
+            if (index >= capacity) {
+                return;
+            }
+            entries.add(index, notification);
+            if (entries.size() > capacity) {
+                entries.remove(entries.size() - 1);
+            }
+        }
+
+        private synchronized void markRead(Predicate<NotificationDTO> filter) {
+            entries.replaceAll(entry -> !entry.isRead() && filter.test(entry) ? read(entry) : entry);
+        }
+
+        private NotificationDTO read(NotificationDTO entry) {
+            return NotificationDTO.builder()
+                    .id(entry.getId())
+                    .type(entry.getType())
+                    .title(entry.getTitle())
+                    .message(entry.getMessage())
+                    .read(true)
+                    .createdAt(entry.getCreatedAt())
+                    .data(entry.getData())
+                    .build();
+        }
+    }
+}
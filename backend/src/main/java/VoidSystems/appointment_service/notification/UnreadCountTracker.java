@@ -0,0 +1,181 @@
+package VoidSystems.appointment_service.notification;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import VoidSystems.appointment_service.domain.repository.NotificationRepository;
+import VoidSystems.appointment_service.domain.repository.UnreadCount;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Unread notification counts by user, kept in memory so badge refreshes do not query the
+ * database. A user's count is loaded on first read and then moved by the deltas the
+ * notification service reports after each commit.
+ *
+ * Seeding races with concurrent changes: a load is only cached if no change for that user
+ * was reported while it ran. The remaining window (a change committed before the load but
+ * reported after it) is closed by the periodic reconciliation, which also forgets users
+ * that have not asked for their count since the previous pass.
+ */
+@Component
+@Slf4j
+public class UnreadCountTracker {
+
+    private static final int STRIPES = 64;
+
+    private final NotificationRepository notificationRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int reconcileBatchSize;
+    private final Map<Long, UnreadCounter> counters = new ConcurrentHashMap<>();
+    // Bumped on every reported change, so a load can tell whether it may be stale
+    private final AtomicLongArray generations = new AtomicLongArray(STRIPES);
+    private final Counter seeds;
+    private final Counter corrections;
+
+    public UnreadCountTracker(NotificationRepository notificationRepository,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${app.notifications.unread-count.reconcile-batch-size:500}") int reconcileBatchSize) {
+        this.notificationRepository = notificationRepository;
+        // Read-write, so loads go to the primary rather than a lagging replica
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.reconcileBatchSize = reconcileBatchSize;
+        this.seeds = Counter.builder("notifications.unread.seeds")
+                .description("Unread counts loaded from the database")
+                .register(meterRegistry);
+        this.corrections = Counter.builder("notifications.unread.corrections")
+                .description("Unread counts corrected by reconciliation")
+                .register(meterRegistry);
+        Gauge.builder("notifications.unread.tracked", counters, Map::size)
+                .description("Users with an unread count held in memory")
+                .register(meterRegistry);
+    }
+
+    public long get(Long userId) {
+        UnreadCounter counter = counters.get(userId);
+        if (counter != null) {
+            counter.accessed = true;
+            return counter.value.get();
+        }
+        long generation = generations.get(stripe(userId));
+        long count = load(userId);
+        seeds.increment();
+        UnreadCounter seeded = counters.computeIfAbsent(userId,
+                id -> generations.get(stripe(id)) == generation ? new UnreadCounter(count) : null);
+        return seeded != null ? seeded.value.get() : count;
+    }
+
+    /**
+     * Applies a committed change. Users whose count is not held are left alone; their next
+     * read loads it.
+     */
+    public void adjust(Long userId, long delta) {
+        if (delta == 0) {
+            return;
+        }
+        counters.compute(userId, (id, counter) -> {
+            generations.incrementAndGet(stripe(id));
+            if (counter != null) {
+                counter.value.updateAndGet(value -> Math.max(0, value + delta));
+            }
+            return counter;
+        });
+    }
+
+    public void reset(Long userId) {
+        counters.compute(userId, (id, counter) -> {
+            generations.incrementAndGet(stripe(id));
+            if (counter != null) {
+                counter.value.set(0);
+            }
+            return counter;
+        });
+    }
+
+    /**
+     * Drops the held count after a change whose size is not known, so the next read reloads it.
+     */
+    public void forget(Long userId) {
+        counters.compute(userId, (id, counter) -> {
+            generations.incrementAndGet(stripe(id));
+            return null;
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${app.notifications.unread-count.reconcile-interval:PT5M}")
+    public void reconcile() {
+        List<Long> batch = new ArrayList<>(reconcileBatchSize);
+        int evicted = 0;
+        for (Map.Entry<Long, UnreadCounter> entry : counters.entrySet()) {
+            if (!entry.getValue().accessed) {
+                if (counters.remove(entry.getKey(), entry.getValue())) {
+                    evicted++;
+                }
+                continue;
+            }
+            entry.getValue().accessed = false;
+            batch.add(entry.getKey());
+            if (batch.size() == reconcileBatchSize) {
+                reconcileBatch(batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            reconcileBatch(batch);
+        }
+        log.debug("Reconciled unread counts: {} tracked, {} evicted", counters.size(), evicted);
+    }
+
+    private void reconcileBatch(List<Long> userIds) {
+        Map<Long, Long> before = new HashMap<>();
+        userIds.forEach(userId -> before.put(userId, generations.get(stripe(userId))));
+        Map<Long, Long> actual = new HashMap<>();
+        List<UnreadCount> rows = transactionTemplate.execute(status -> notificationRepository.countUnreadByUserIds(userIds));
+        rows.forEach(row -> actual.put(row.getUserId(), row.getUnread()));
+
+        for (Long userId : userIds) {
+            long count = actual.getOrDefault(userId, 0L);
+            counters.computeIfPresent(userId, (id, counter) -> {
+                if (generations.get(stripe(id)) == before.get(id) && counter.value.get() != count) {
+                    log.debug("Unread count for user {} drifted from {} to {}", id, counter.value.get(), count);
+                    counter.value.set(count);
+                    corrections.increment();
+                }
+                return counter;
+            });
+        }
+    }
+
+    private long load(Long userId) {
+        Long count = transactionTemplate.execute(status -> notificationRepository.countUnreadByUserId(userId));
+        return count != null ? count : 0;
+    }
+
+    private static int stripe(Long userId) {
+        return (int) (userId & (STRIPES - 1));
+    }
+
+    private static final class UnreadCounter {
+
+        private final AtomicLong value;
+        private volatile boolean accessed = true;
+
+        private UnreadCounter(long value) {
+            this.value = new AtomicLong(value);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package VoidSystems.appointment_service.notification.delivery;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import lombok.Data;
+
+/**
+ * Delivery settings bound from {@code app.notifications.delivery}, with one entry per channel
+ * name. Channels without an entry use the defaults below.
+ */
+@Data
+public class DeliveryProperties {
+
+    private boolean enabled = true;
+
+    /** How long a recipient's email and phone number are reused before being looked up again. */
+    private Duration contactCacheTtl = Duration.ofMinutes(5);
+
+    private long contactCacheSize = 10_000;
+
+    /** How long shutdown waits for queued deliveries to finish. */
+    private Duration shutdownTimeout = Duration.ofSeconds(10);
+
+    private Map<String, Channel> channels = new HashMap<>();
+
+    @Data
+    public static class Channel {
+
+        /** Registers the channel's bean; read by the channel itself. */
+        private boolean enabled;
+
+        /** Notification types sent on this channel; empty means all. */
+        private Set<String> types = new HashSet<>();
+
+        private int threads = 2;
+
+        /** Deliveries waiting for a thread; beyond this they are dead-lettered right away. */
+        private int queueCapacity = 1000;
+
+        private int maxAttempts = 5;
+
+        private Duration initialBackoff = Duration.ofSeconds(1);
+
+        private Duration maxBackoff = Duration.ofMinutes(5);
+
+        /** Sustained sends per second. */
+        private double ratePerSecond = 10;
+
+        private long burst = 20;
+    }
+}
@@ -0,0 +1,47 @@
+package VoidSystems.appointment_service.notification.delivery;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.stereotype.Component;
+
+import VoidSystems.appointment_service.domain.repository.UserContact;
+
+/**
+ * Sends notifications as plain text email through the SMTP server configured under
+ * {@code spring.mail}. Locally, any SMTP sink (e.g. Mailpit on port 1025) will do.
+ */
+@Component
+@ConditionalOnProperty("app.notifications.delivery.channels.email.enabled")
+public class EmailNotificationChannel implements NotificationChannel {
+
+    private final JavaMailSender mailSender;
+    private final String from;
+
+    public EmailNotificationChannel(JavaMailSender mailSender,
+            @Value("${app.notifications.delivery.channels.email.from:no-reply@appointments.local}") String from) {
+        this.mailSender = mailSender;
+        this.from = from;
+    }
+
+    @Override
+    public String name() {
+        return "email";
+    }
+
+    @Override
+    public boolean canReach(UserContact recipient) {
+        return recipient.getEmail() != null && !recipient.getEmail().isBlank();
+    }
+
+    @Override
+    public void send(NotificationMessage message, UserContact recipient) {
+        SimpleMailMessage mail = new SimpleMailMessage();
+        mail.setFrom(from);
+        mail.setTo(recipient.getEmail());
+        mail.setSubject(message.title());
+        mail.setText("Hello " + recipient.getFirstName() + ",\n\n" + message.message());
+        mailSender.send(mail);
+    }
+}
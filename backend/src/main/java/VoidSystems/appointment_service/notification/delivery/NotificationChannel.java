@@ -0,0 +1,26 @@
+package VoidSystems.appointment_service.notification.delivery;
+
+import VoidSystems.appointment_service.domain.repository.UserContact;
+
+/**
+ * A way of delivering notifications outside the application, such as email or SMS.
+ *
+ * Implementations are Spring beans and are picked up by {@link NotificationDeliveryDispatcher},
+ * which calls them from the channel's own worker threads. {@link #send} may block and should
+ * throw on any failure; retries, rate limiting and dead-lettering are handled by the dispatcher.
+ */
+public interface NotificationChannel {
+
+    /**
+     * Name used in configuration ({@code app.notifications.delivery.channels.<name>}), metrics
+     * and dead letters.
+     */
+    String name();
+
+    /**
+     * Whether the recipient has an address on this channel at all.
+     */
+    boolean canReach(UserContact recipient);
+
+    void send(NotificationMessage message, UserContact recipient) throws Exception;
+}
@@ -0,0 +1,273 @@
+package VoidSystems.appointment_service.notification.delivery;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import VoidSystems.appointment_service.domain.model.Notification;
+import VoidSystems.appointment_service.domain.model.NotificationDeadLetter;
+import VoidSystems.appointment_service.domain.repository.NotificationDeadLetterRepository;
+import VoidSystems.appointment_service.domain.repository.UserContact;
+import VoidSystems.appointment_service.domain.repository.UserRepository;
+import VoidSystems.appointment_service.ratelimit.TokenBucket;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Hands stored notifications to every {@link NotificationChannel} that takes their type.
+ *
+ * Each channel has its own small pool with a bounded queue and its own token bucket, so a
+ * slow or throttled channel only backs up itself. {@link #dispatch} never blocks: a delivery
+ * that does not fit in the channel's queue is dead-lettered. Failed sends are retried after an
+ * exponential backoff with jitter and dead-lettered once the channel's attempts are used up.
+ */
+@Component
+@Slf4j
+public class NotificationDeliveryDispatcher {
+
+    private final List<Lane> lanes = new ArrayList<>();
+    private final UserRepository userRepository;
+    private final NotificationDeadLetterRepository deadLetterRepository;
+    private final ScheduledThreadPoolExecutor retryScheduler;
+    private final Cache<Long, UserContact> contacts;
+    private final boolean enabled;
+    private final Duration shutdownTimeout;
+
+    public NotificationDeliveryDispatcher(List<NotificationChannel> channels,
+            DeliveryProperties properties,
+            UserRepository userRepository,
+            NotificationDeadLetterRepository deadLetterRepository,
+            MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.deadLetterRepository = deadLetterRepository;
+        this.enabled = properties.isEnabled();
+        this.shutdownTimeout = properties.getShutdownTimeout();
+        this.contacts = Caffeine.newBuilder()
+                .expireAfterWrite(properties.getContactCacheTtl())
+                .maximumSize(properties.getContactCacheSize())
+                .build();
+        this.retryScheduler = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "notification-delivery-retry");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.retryScheduler.setRemoveOnCancelPolicy(true);
+        Gauge.builder("notifications.delivery.retries_pending", retryScheduler, pool -> pool.getQueue().size())
+                .description("Deliveries waiting for their next attempt")
+                .register(meterRegistry);
+
+        for (NotificationChannel channel : channels) {
+            DeliveryProperties.Channel settings = properties.getChannels()
+                    .getOrDefault(channel.name(), new DeliveryProperties.Channel());
+            lanes.add(new Lane(channel, settings, meterRegistry));
+            log.info("Delivering notifications by {} with {} threads, a queue of {} and {} sends per second",
+                    channel.name(), settings.getThreads(), settings.getQueueCapacity(), settings.getRatePerSecond());
+        }
+    }
+
+    /**
+     * Queues a committed notification on every channel that takes its type.
+     */
+    public void dispatch(Notification notification) {
+        if (!enabled || lanes.isEmpty() || notification.getId() == null) {
+            return;
+        }
+        NotificationMessage message = NotificationMessage.of(notification);
+        for (Lane lane : lanes) {
+            if (lane.accepts(message.type())) {
+                submit(lane, message, 1);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        int pendingRetries = retryScheduler.shutdownNow().size();
+        if (pendingRetries > 0) {
+            log.warn("Notification delivery stopped with {} retries pending", pendingRetries);
+        }
+        lanes.forEach(lane -> lane.executor.shutdown());
+        long deadline = System.nanoTime() + shutdownTimeout.toNanos();
+        for (Lane lane : lanes) {
+            try {
+                if (!lane.executor.awaitTermination(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS)) {
+                    log.warn("Notification delivery by {} stopped with {} deliveries queued",
+                            lane.channel.name(), lane.executor.shutdownNow().size());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                lane.executor.shutdownNow();
+            }
+        }
+    }
+
+    private void submit(Lane lane, NotificationMessage message, int attempt) {
+        try {
+            lane.executor.execute(() -> deliver(lane, message, attempt));
+        } catch (RejectedExecutionException ex) {
+            lane.rejected.increment();
+            deadLetter(lane, message, attempt - 1, "Delivery queue full");
+        }
+    }
+
+    private void deliver(Lane lane, NotificationMessage message, int attempt) {
+        try {
+            UserContact recipient = contacts.get(message.userId(), id -> userRepository.findContactById(id).orElse(null));
+            if (recipient == null || !lane.channel.canReach(recipient)) {
+                lane.skipped.increment();
+                return;
+            }
+            lane.throttle();
+            lane.sendTimer.recordCallable(() -> {
+                lane.channel.send(message, recipient);
+                return null;
+            });
+            lane.sent.increment();
+            lane.lag.record(Duration.between(message.createdAt(), LocalDateTime.now()));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            deadLetter(lane, message, attempt - 1, "Interrupted during shutdown");
+        } catch (Exception ex) {
+            lane.failed.increment();
+            if (attempt >= lane.settings.getMaxAttempts()) {
+                log.warn("Giving up delivering notification {} by {} after {} attempts",
+                        message.notificationId(), lane.channel.name(), attempt, ex);
+                deadLetter(lane, message, attempt, ex.toString());
+                return;
+            }
+            retry(lane, message, attempt + 1);
+        }
+    }
+
+    private void retry(Lane lane, NotificationMessage message, int attempt) {
+        long delay = lane.backoffMillis(attempt - 1);
+        try {
+            retryScheduler.schedule(() -> submit(lane, message, attempt), delay, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException ex) {
+            deadLetter(lane, message, attempt - 1, "Retry not scheduled during shutdown");
+        }
+    }
+
+    private void deadLetter(Lane lane, NotificationMessage message, int attempts, String error) {
+        lane.deadLettered.increment();
+        try {
+            deadLetterRepository.save(NotificationDeadLetter.builder()
+                    .notificationId(message.notificationId())
+                    .userId(message.userId())
+                    .channel(lane.channel.name())
+                    .attempts(attempts)
+                    .lastError(error.length() > 1000 ? error.substring(0, 1000) : error)
+                    .failedAt(LocalDateTime.now())
+                    .build());
+        } catch (RuntimeException ex) {
+            log.error("Could not dead-letter notification {} for {}", message.notificationId(), lane.channel.name(), ex);
+        }
+    }
+
+    private static final class Lane {
+
+        private final NotificationChannel channel;
+        private final DeliveryProperties.Channel settings;
+        private final ThreadPoolExecutor executor;
+        private final TokenBucket bucket;
+
+        private final Counter sent;
+        private final Counter failed;
+        private final Counter skipped;
+        private final Counter rejected;
+        private final Counter deadLettered;
+        private final Timer sendTimer;
+        private final Timer lag;
+
+        private Lane(NotificationChannel channel, DeliveryProperties.Channel settings, MeterRegistry meterRegistry) {
+            this.channel = channel;
+            this.settings = settings;
+            AtomicInteger threadNumber = new AtomicInteger();
+            this.executor = new ThreadPoolExecutor(settings.getThreads(), settings.getThreads(), 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(settings.getQueueCapacity()),
+                    runnable -> {
+                        Thread thread = new Thread(runnable, "notification-" + channel.name() + "-" + threadNumber.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    },
+                    new ThreadPoolExecutor.AbortPolicy());
+            this.bucket = new TokenBucket(settings.getBurst(), settings.getRatePerSecond(), System.nanoTime());
+
+            String name = channel.name();
+            this.sent = counter(meterRegistry, "notifications.delivery.sent", "Notifications delivered", name);
+            this.failed = counter(meterRegistry, "notifications.delivery.failed", "Failed delivery attempts", name);
+            this.skipped = counter(meterRegistry, "notifications.delivery.skipped",
+                    "Notifications not sent because the recipient has no address on the channel", name);
+            this.rejected = counter(meterRegistry, "notifications.delivery.rejected",
+                    "Deliveries turned away because the channel's queue was full", name);
+            this.deadLettered = counter(meterRegistry, "notifications.delivery.dead_lettered",
+                    "Deliveries given up on and dead-lettered", name);
+            this.sendTimer = Timer.builder("notifications.delivery.send")
+                    .description("Time spent in one send attempt")
+                    .tag("channel", name)
+                    .register(meterRegistry);
+            this.lag = Timer.builder("notifications.delivery.lag")
+                    .description("Time from creating a notification to delivering it")
+                    .tag("channel", name)
+                    .register(meterRegistry);
+            Gauge.builder("notifications.delivery.queue", executor, pool -> pool.getQueue().size())
+                    .description("Deliveries waiting for a channel thread")
+                    .tag("channel", name)
+                    .register(meterRegistry);
+            Gauge.builder("notifications.delivery.active", executor, ThreadPoolExecutor::getActiveCount)
+                    .description("Deliveries currently being sent")
+                    .tag("channel", name)
+                    .register(meterRegistry);
+        }
+
+        private boolean accepts(String type) {
+            return settings.getTypes().isEmpty() || settings.getTypes().contains(type);
+        }
+
+        /**
+         * Waits for a token; with every thread of a lane waiting, its queue fills up and new
+         * deliveries are turned away instead of piling up.
+         */
+        private void throttle() throws InterruptedException {
+            while (bucket.tryAcquire(System.nanoTime()) < 0) {
+                TimeUnit.NANOSECONDS.sleep(Math.max(1, bucket.nanosUntilAvailable(System.nanoTime())));
+            }
+        }
+
+        /**
+         * Exponential backoff capped at the maximum, with "equal jitter": somewhere between half
+         * and all of it, so retries after a shared outage do not arrive together.
+         */
+        private long backoffMillis(int retry) {
+            long initial = settings.getInitialBackoff().toMillis();
+            long max = settings.getMaxBackoff().toMillis();
+            long backoff = retry >= 31 ? max : Math.min(max, initial << Math.max(0, retry - 1));
+            long half = backoff / 2;
+            return half + ThreadLocalRandom.current().nextLong(backoff - half + 1);
+        }
+
+        private static Counter counter(MeterRegistry meterRegistry, String name, String description, String channel) {
+            return Counter.builder(name)
+                    .description(description)
+                    .tag("channel", channel)
+                    .register(meterRegistry);
+        }
+    }
+}
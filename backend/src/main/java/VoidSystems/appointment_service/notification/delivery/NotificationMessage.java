@@ -0,0 +1,18 @@
+package VoidSystems.appointment_service.notification.delivery;
+
+import java.time.LocalDateTime;
+
+import VoidSystems.appointment_service.domain.model.Notification;
+
+/**
+ * The parts of a stored notification that channels deliver, detached from the entity so it
+ * can be handed between threads.
+ */
+public record NotificationMessage(Long notificationId, Long userId, String type, String title, String message,
+        LocalDateTime createdAt) {
+
+    public static NotificationMessage of(Notification notification) {
+        return new NotificationMessage(notification.getId(), notification.getUser().getId(), notification.getType(),
+                notification.getTitle(), notification.getMessage(), notification.getCreatedAt());
+    }
+}
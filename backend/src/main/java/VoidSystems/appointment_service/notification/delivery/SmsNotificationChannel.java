@@ -0,0 +1,60 @@
+package VoidSystems.appointment_service.notification.delivery;
+
+import java.time.Duration;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import VoidSystems.appointment_service.domain.repository.UserContact;
+
+/**
+ * Sends notifications as text messages by posting {@code {"to", "body"}} to an SMS gateway.
+ * Any non-2xx answer counts as a failure and is retried. Locally the gateway URL can point at
+ * any HTTP stub that accepts the post.
+ */
+@Component
+@ConditionalOnProperty("app.notifications.delivery.channels.sms.enabled")
+public class SmsNotificationChannel implements NotificationChannel {
+
+    private final RestClient restClient;
+
+    public SmsNotificationChannel(
+            @Value("${app.notifications.delivery.channels.sms.gateway-url}") String gatewayUrl,
+            @Value("${app.notifications.delivery.channels.sms.api-key:}") String apiKey,
+            @Value("${app.notifications.delivery.channels.sms.timeout:5s}") Duration timeout) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(timeout);
+        requestFactory.setReadTimeout(timeout);
+        RestClient.Builder builder = RestClient.builder()
+                .baseUrl(gatewayUrl)
+                .requestFactory(requestFactory);
+        if (!apiKey.isBlank()) {
+            builder.defaultHeader("Authorization", "Bearer " + apiKey);
+        }
+        this.restClient = builder.build();
+    }
+
+    @Override
+    public String name() {
+        return "sms";
+    }
+
+    @Override
+    public boolean canReach(UserContact recipient) {
+        return recipient.getPhoneNumber() != null && !recipient.getPhoneNumber().isBlank();
+    }
+
+    @Override
+    public void send(NotificationMessage message, UserContact recipient) {
+        restClient.post()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Map.of("to", recipient.getPhoneNumber(), "body", message.title() + ": " + message.message()))
+                .retrieve()
+                .toBodilessEntity();
+    }
+}
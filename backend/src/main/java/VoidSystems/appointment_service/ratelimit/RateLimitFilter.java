@@ -0,0 +1,174 @@
+package VoidSystems.appointment_service.ratelimit;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import VoidSystems.appointment_service.dto.common.ApiResponse;
+import VoidSystems.appointment_service.security.JwtTokenProvider;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Applies per-client token buckets to the configured endpoint groups and answers 429 once a
+ * client's bucket is empty. Runs ahead of authentication: every request is limited by remote
+ * address before its token is looked at, so floods of junk tokens never reach token
+ * validation, and requests with a valid token are also limited by user id.
+ */
+@Component
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    public static final String LIMIT_HEADER = "X-RateLimit-Limit";
+    public static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+
+    private final boolean enabled;
+    private final List<LimitedGroup> groups;
+    private final JwtTokenProvider tokenProvider;
+    private final ObjectMapper objectMapper;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    public RateLimitFilter(RateLimitProperties properties, JwtTokenProvider tokenProvider,
+            ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.enabled = properties.isEnabled();
+        this.tokenProvider = tokenProvider;
+        this.objectMapper = objectMapper;
+        this.groups = properties.getGroups().stream()
+                .map(group -> new LimitedGroup(group, properties.getMaxClients(), meterRegistry))
+                .toList();
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull FilterChain filterChain)
+            throws ServletException, IOException {
+        LimitedGroup group = enabled ? findGroup(request) : null;
+        if (group == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long now = System.nanoTime();
+        TokenBucket ipBucket = group.bucket("ip:" + request.getRemoteAddr(), now);
+        long remaining = ipBucket.tryAcquire(now);
+
+        response.setHeader(LIMIT_HEADER, group.limitHeader);
+        if (remaining < 0) {
+            reject(response, group, ipBucket.nanosUntilAvailable(now));
+            return;
+        }
+
+        String userKey = userKey(request);
+        if (userKey != null) {
+            TokenBucket userBucket = group.bucket(userKey, now);
+            long userRemaining = userBucket.tryAcquire(now);
+            if (userRemaining < 0) {
+                reject(response, group, userBucket.nanosUntilAvailable(now));
+                return;
+            }
+            remaining = Math.min(remaining, userRemaining);
+        }
+        response.setHeader(REMAINING_HEADER, Long.toString(remaining));
+        filterChain.doFilter(request, response);
+    }
+
+    private LimitedGroup findGroup(HttpServletRequest request) {
+        if (HttpMethod.OPTIONS.matches(request.getMethod())) {
+            return null;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (LimitedGroup group : groups) {
+            for (String pattern : group.patterns) {
+                if (pathMatcher.match(pattern, path)) {
+                    return group;
+                }
+            }
+        }
+        return null;
+    }
+
+    private String userKey(HttpServletRequest request) {
+        String bearerToken = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
+            // Verified tokens are cached, so this does not re-check the signature per request
+            Claims claims = tokenProvider.validateToken(bearerToken.substring(7));
+            if (claims != null) {
+                Object userId = claims.get(JwtTokenProvider.CLAIM_USER_ID);
+                return userId != null ? "user:" + userId : "user:" + claims.getSubject();
+            }
+        }
+        return null;
+    }
+
+    private void reject(HttpServletResponse response, LimitedGroup group, long waitNanos) throws IOException {
+        group.rejected.increment();
+        long retryAfterSeconds = Math.max(1L, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+        log.debug("Rate limit exceeded for group {}", group.name);
+
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(REMAINING_HEADER, "0");
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), ApiResponse.error("Too many requests, please retry later"));
+    }
+
+    private static final class LimitedGroup {
+
+        private final String name;
+        private final List<String> patterns;
+        private final long capacity;
+        private final double refillPerSecond;
+        private final String limitHeader;
+        private final Cache<String, TokenBucket> buckets;
+        private final Counter rejected;
+
+        private LimitedGroup(RateLimitProperties.Group group, long maxClients, MeterRegistry meterRegistry) {
+            this.name = group.getName();
+            this.patterns = List.copyOf(group.getPatterns());
+            this.capacity = group.getCapacity();
+            this.refillPerSecond = group.getRefillPerSecond();
+            this.limitHeader = Long.toString(capacity);
+            // An idle bucket is full again after capacity / rate, so forgetting it then is lossless
+            long refillSeconds = (long) Math.ceil(capacity / refillPerSecond);
+            this.buckets = Caffeine.newBuilder()
+                    // Maintenance on the request thread; handing it to another thread cost more than doing it
+                    .executor(Runnable::run)
+                    .maximumSize(maxClients)
+                    .expireAfterAccess(Duration.ofSeconds(Math.max(60L, refillSeconds)))
+                    .build();
+            this.rejected = Counter.builder("http.rate_limit.rejected")
+                    .description("Requests refused by the rate limiter")
+                    .tag("group", name)
+                    .register(meterRegistry);
+        }
+
+        private TokenBucket bucket(String clientKey, long nowNanos) {
+            // Plain read first; the computing get allocates its mapping function on every call
+            TokenBucket bucket = buckets.getIfPresent(clientKey);
+            if (bucket == null) {
+                bucket = buckets.get(clientKey, key -> new TokenBucket(capacity, refillPerSecond, nowNanos));
+            }
+            return bucket;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package VoidSystems.appointment_service.ratelimit;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.Data;
+
+/**
+ * Rate limit settings bound from {@code app.rate-limit}. Each group applies its own bucket
+ * per client to the paths it matches; the first matching group wins.
+ */
+@Data
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    /** Upper bound on tracked clients per group; the least recently used are dropped first. */
+    private long maxClients = 100_000;
+
+    private List<Group> groups = new ArrayList<>();
+
+    @Data
+    public static class Group {
+
+        private String name;
+
+        /** Ant-style paths, relative to the context path. */
+        private List<String> patterns = new ArrayList<>();
+
+        private long capacity;
+
+        private double refillPerSecond;
+    }
+}
@@ -0,0 +1,50 @@
+package VoidSystems.appointment_service.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket. The whole state is a single "theoretical arrival time": the
+ * instant at which the bucket would be full again. Taking a token pushes it forward by one
+ * refill interval, and a request is refused when that would put it more than a full bucket
+ * ahead of now. This gives the same behaviour as a counter plus refill timestamp, but can be
+ * updated with one compare-and-set.
+ */
+public final class TokenBucket {
+
+    private final long refillIntervalNanos;
+    private final long capacityNanos;
+    private final AtomicLong fullAt;
+
+    public TokenBucket(long capacity, double refillPerSecond, long nowNanos) {
+        this.refillIntervalNanos = Math.max(1L, (long) (1_000_000_000L / refillPerSecond));
+        this.capacityNanos = refillIntervalNanos * capacity;
+        this.fullAt = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * Takes one token.
+     *
+     * @return the tokens left afterwards, or -1 if the bucket is empty
+     */
+    public long tryAcquire(long nowNanos) {
+        while (true) {
+            long current = fullAt.get();
+            long next = Math.max(current, nowNanos) + refillIntervalNanos;
+            long used = next - nowNanos;
+            if (used > capacityNanos) {
+                return -1;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return (capacityNanos - used) / refillIntervalNanos;
+            }
+        }
+    }
+
+    /**
+     * Time until the next token becomes available; zero if one is available now.
+     */
+    public long nanosUntilAvailable(long nowNanos) {
+        long next = Math.max(fullAt.get(), nowNanos) + refillIntervalNanos;
+        return Math.max(0L, next - nowNanos - capacityNanos);
+    }
+}
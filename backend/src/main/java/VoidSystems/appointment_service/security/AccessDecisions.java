@@ -0,0 +1,174 @@
+package VoidSystems.appointment_service.security;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import VoidSystems.appointment_service.domain.repository.AppointmentRepository;
+import VoidSystems.appointment_service.domain.repository.AvailabilityRepository;
+import VoidSystems.appointment_service.domain.repository.ServiceRepository;
+import VoidSystems.appointment_service.domain.repository.UserRepository;
+import VoidSystems.appointment_service.exception.ResourceNotFoundException;
+
+/**
+ * Ownership rules shared by {@code @PreAuthorize} expressions and the service layer.
+ *
+ * The caller's id and role come from the authenticated principal. Resource owners are looked
+ * up with id-only queries, remembered for the rest of the request and cached briefly across
+ * requests, so an authorization check followed by the method body does not load the same
+ * rows twice.
+ */
+@Component
+public class AccessDecisions {
+
+    public enum ResourceType {
+        SERVICE, AVAILABILITY, APPOINTMENT
+    }
+
+    private static final String MEMO_ATTRIBUTE = AccessDecisions.class.getName() + ".memo";
+    private static final Object CURRENT_USER_KEY = new Object();
+
+    private final ServiceRepository serviceRepository;
+    private final AvailabilityRepository availabilityRepository;
+    private final AppointmentRepository appointmentRepository;
+    private final UserRepository userRepository;
+    private final Cache<ResourceKey, Owners> owners;
+
+    public AccessDecisions(
+            ServiceRepository serviceRepository,
+            AvailabilityRepository availabilityRepository,
+            AppointmentRepository appointmentRepository,
+            UserRepository userRepository,
+            @Value("${app.security.ownership-cache.ttl:30s}") Duration ttl,
+            @Value("${app.security.ownership-cache.max-size:10000}") long maxSize) {
+        this.serviceRepository = serviceRepository;
+        this.availabilityRepository = availabilityRepository;
+        this.appointmentRepository = appointmentRepository;
+        this.userRepository = userRepository;
+        this.owners = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxSize)
+                .build();
+    }
+
+    /**
+     * Id of the authenticated user, or {@code null} for anonymous requests.
+     */
+    public Long currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        if (authentication.getPrincipal() instanceof UserPrincipal principal) {
+            return principal.getId();
+        }
+        String email = authentication.getName();
+        return memoized(CURRENT_USER_KEY, () -> userRepository.findIdByEmail(email).orElse(null));
+    }
+
+    public boolean isAdmin() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null) {
+            return false;
+        }
+        for (GrantedAuthority authority : authentication.getAuthorities()) {
+            if ("ROLE_ADMIN".equals(authority.getAuthority())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public boolean isCurrentUser(Long userId) {
+        return userId != null && userId.equals(currentUserId());
+    }
+
+    public boolean isServiceOwner(Long serviceId) {
+        return isCurrentUser(ownersOf(ResourceType.SERVICE, serviceId).providerId());
+    }
+
+    public boolean isAvailabilityOwner(Long availabilityId) {
+        return isCurrentUser(ownersOf(ResourceType.AVAILABILITY, availabilityId).providerId());
+    }
+
+    public boolean isAppointmentParticipant(Long appointmentId) {
+        Owners participants = ownersOf(ResourceType.APPOINTMENT, appointmentId);
+        return isCurrentUser(participants.clientId()) || isCurrentUser(participants.providerId());
+    }
+
+    public void evict(ResourceType type, Long id) {
+        ResourceKey key = new ResourceKey(type, id);
+        owners.invalidate(key);
+        Map<Object, Object> memo = memo();
+        if (memo != null) {
+            memo.remove(key);
+        }
+    }
+
+    private Owners ownersOf(ResourceType type, Long id) {
+        ResourceKey key = new ResourceKey(type, id);
+        return memoized(key, () -> owners.get(key, this::loadOwners));
+    }
+
+    private Owners loadOwners(ResourceKey key) {
+        return switch (key.type()) {
+            case SERVICE -> serviceRepository.findProviderIdById(key.id())
+                    .map(providerId -> new Owners(providerId, null))
+                    .orElseThrow(() -> new ResourceNotFoundException("Service", "id", key.id()));
+            case AVAILABILITY -> availabilityRepository.findProviderIdById(key.id())
+                    .map(providerId -> new Owners(providerId, null))
+                    .orElseThrow(() -> new ResourceNotFoundException("Availability", "id", key.id()));
+            case APPOINTMENT -> appointmentRepository.findParticipantsById(key.id())
+                    .map(participants -> new Owners(participants.getProviderId(), participants.getClientId()))
+                    .orElseThrow(() -> new ResourceNotFoundException("Appointment", "id", key.id()));
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T memoized(Object key, Supplier<T> loader) {
+        Map<Object, Object> memo = memo();
+        if (memo == null) {
+            return loader.get();
+        }
+        if (memo.containsKey(key)) {
+            return (T) memo.get(key);
+        }
+        T value = loader.get();
+        memo.put(key, value);
+        return value;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<Object, Object> memo() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return null;
+        }
+        Map<Object, Object> memo = (Map<Object, Object>) attributes.getAttribute(MEMO_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (memo == null) {
+            memo = new HashMap<>();
+            attributes.setAttribute(MEMO_ATTRIBUTE, memo, RequestAttributes.SCOPE_REQUEST);
+        }
+        return memo;
+    }
+
+    private record ResourceKey(ResourceType type, Long id) {
+    }
+
+    private record Owners(Long providerId, Long clientId) {
+    }
+}
@@ -0,0 +1,76 @@
+package VoidSystems.appointment_service.security;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size, thread-safe Bloom filter over strings. {@link #mightContain} never returns a
+ * false negative; false positives occur at roughly the configured rate while no more than
+ * the expected number of values has been added.
+ */
+final class BloomFilter {
+
+    private static final double LN2 = Math.log(2);
+
+    private final AtomicLongArray words;
+    private final long bitCount;
+    private final int hashCount;
+
+    BloomFilter(long expectedInsertions, double falsePositiveRate) {
+        long n = Math.max(1L, expectedInsertions);
+        long bits = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (LN2 * LN2));
+        int wordCount = (int) Math.min(Integer.MAX_VALUE, Math.max(1L, (bits + 63) / 64));
+        this.words = new AtomicLongArray(wordCount);
+        this.bitCount = wordCount * 64L;
+        this.hashCount = (int) Math.max(1L, Math.round((double) bitCount / n * LN2));
+    }
+
+    void put(String value) {
+        long hash = hash(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashCount; i++) {
+            long bit = index(h1 + i * h2);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current;
+            do {
+                current = words.get(word);
+                if ((current & mask) != 0) {
+                    break;
+                }
+            } while (!words.compareAndSet(word, current, current | mask));
+        }
+    }
+
+    boolean mightContain(String value) {
+        long hash = hash(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashCount; i++) {
+            long bit = index(h1 + i * h2);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private long index(int combinedHash) {
+        return (combinedHash & 0x7fffffffL) % bitCount;
+    }
+
+    // FNV-1a over the chars followed by the MurmurHash3 finalizer
+    private static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,148 @@
+package VoidSystems.appointment_service.security;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import VoidSystems.appointment_service.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Runs password hashing and verification on a small dedicated pool with a bounded queue, so
+ * a burst of logins cannot occupy every core. Work that does not fit in the queue is
+ * rejected with a {@link ServiceUnavailableException} instead of waiting.
+ */
+@Slf4j
+public class BoundedPasswordEncoder implements PasswordEncoder, DisposableBean {
+
+    private static final ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final long retryAfterSeconds;
+    private final Timer encodeCpuTimer;
+    private final Timer matchesCpuTimer;
+    private final Timer queueWaitTimer;
+    private final Counter rejectedCounter;
+
+    /**
+     * @param poolSize number of hashing threads; 0 or less uses half of the available processors
+     */
+    public BoundedPasswordEncoder(PasswordEncoder delegate, MeterRegistry meterRegistry,
+            int poolSize, int queueCapacity, Duration retryAfter) {
+        int threads = poolSize > 0 ? poolSize : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.delegate = delegate;
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.retryAfterSeconds = Math.max(1, retryAfter.toSeconds());
+
+        this.encodeCpuTimer = Timer.builder("auth.password.hash.cpu")
+                .description("CPU time spent hashing or verifying passwords")
+                .tag("operation", "encode")
+                .register(meterRegistry);
+        this.matchesCpuTimer = Timer.builder("auth.password.hash.cpu")
+                .description("CPU time spent hashing or verifying passwords")
+                .tag("operation", "matches")
+                .register(meterRegistry);
+        this.queueWaitTimer = Timer.builder("auth.password.hash.wait")
+                .description("Time password work spent queued before running")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("auth.password.hash.rejected")
+                .description("Password operations rejected because the hashing queue was full")
+                .register(meterRegistry);
+        Gauge.builder("auth.password.hash.queue", executor, pool -> pool.getQueue().size())
+                .description("Password operations waiting for a hashing thread")
+                .register(meterRegistry);
+        Gauge.builder("auth.password.hash.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Password operations currently running")
+                .register(meterRegistry);
+
+        log.info("Password hashing limited to {} threads with a queue of {}", threads, queueCapacity);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return execute(() -> delegate.encode(rawPassword), encodeCpuTimer);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return execute(() -> delegate.matches(rawPassword, encodedPassword), matchesCpuTimer);
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+
+    private <T> T execute(Callable<T> task, Timer cpuTimer) {
+        long submittedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                queueWaitTimer.record(System.nanoTime() - submittedAt, TimeUnit.NANOSECONDS);
+                long start = currentThreadCpuTime();
+                try {
+                    return task.call();
+                } finally {
+                    cpuTimer.record(currentThreadCpuTime() - start, TimeUnit.NANOSECONDS);
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            rejectedCounter.increment();
+            throw unavailable();
+        }
+
+        try {
+            return future.get();
+        } catch (InterruptedException ex) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw unavailable();
+        } catch (ExecutionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException("Password operation failed", cause);
+        }
+    }
+
+    private ServiceUnavailableException unavailable() {
+        return new ServiceUnavailableException("Too many authentication requests, please retry shortly", retryAfterSeconds);
+    }
+
+    private static long currentThreadCpuTime() {
+        return THREAD_MX_BEAN.isCurrentThreadCpuTimeSupported() ? THREAD_MX_BEAN.getCurrentThreadCpuTime() : System.nanoTime();
+    }
+}
@@ -1,9 +1,11 @@
 package VoidSystems.appointment_service.security;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -11,24 +13,50 @@ import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 
 import VoidSystems.appointment_service.domain.model.User;
 import VoidSystems.appointment_service.domain.repository.UserRepository;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 
 @Service
-@RequiredArgsConstructor
 public class CustomUserDetailsService implements UserDetailsService {
 
     private final UserRepository userRepository;
 
+    // UserDetails by email, so authenticated requests don't have to load the user on every call
+    private final Cache<String, UserDetails> userDetailsCache;
+
+    public CustomUserDetailsService(
+            UserRepository userRepository,
+            MeterRegistry meterRegistry,
+            @Value("${app.security.user-details-cache.ttl:5m}") Duration ttl,
+            @Value("${app.security.user-details-cache.max-size:10000}") long maxSize) {
+        this.userRepository = userRepository;
+        this.userDetailsCache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, userDetailsCache, "userDetails");
+    }
+
     @Override
-    @Transactional(readOnly = true)
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        User user = userRepository.findByEmail(username)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + username));
+        // The role is fetched eagerly with the user, so no surrounding transaction is needed
+        UserDetails cached = userDetailsCache.get(username, email -> {
+            User user = userRepository.findByEmail(email)
+                    .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
+            return buildUserDetails(user);
+        });
 
-        return buildUserDetails(user);
+        // Hand out a copy: the authentication manager erases credentials on the instance it receives
+        return org.springframework.security.core.userdetails.User.withUserDetails(cached).build();
     }
 
     @Transactional(readOnly = true)
@@ -39,6 +67,29 @@ public class CustomUserDetailsService implements UserDetailsService {
         return buildUserDetails(user);
     }
 
+    /**
+     * Drops the cached details for the user. Called when a user's profile, role or account
+     * changes; repeated after commit so a concurrent load cannot re-cache the old state.
+     */
+    public void evictUser(String email) {
+        userDetailsCache.invalidate(email);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    userDetailsCache.invalidate(email);
+                }
+            });
+        }
+    }
+
+    /**
+     * Drops all cached details, e.g. after role definitions change.
+     */
+    public void evictAll() {
+        userDetailsCache.invalidateAll();
+    }
+
     private UserDetails buildUserDetails(User user) {
         return new org.springframework.security.core.userdetails.User(
                 user.getEmail(),
@@ -59,4 +110,4 @@ public class CustomUserDetailsService implements UserDetailsService {
         
         return authorities;
     }
-}
\ No newline at end of file
+}
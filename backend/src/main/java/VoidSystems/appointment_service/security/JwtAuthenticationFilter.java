@@ -7,11 +7,13 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -24,8 +26,14 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    // Browsers' EventSource cannot send headers, so the notification stream also takes the token as a parameter
+    static final String STREAM_PATH = "/api/notifications/stream";
+    static final String TOKEN_PARAMETER = "access_token";
+
     private final JwtTokenProvider tokenProvider;
     private final UserDetailsService userDetailsService;
+    private final RevokedTokenStore revokedTokenStore;
+    private final WebAuthenticationDetailsSource authenticationDetailsSource = new WebAuthenticationDetailsSource();
 
     @Override
     protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull FilterChain filterChain)
@@ -34,20 +42,29 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             String jwt = getJwtFromRequest(request);
 
             if (StringUtils.hasText(jwt)) {
-                String username = tokenProvider.getUsernameFromToken(jwt);
-
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+                // Signature and expiry are verified once here; invalid tokens simply stay anonymous
+                Claims claims = tokenProvider.validateToken(jwt);
                 
-                if (tokenProvider.validateToken(jwt, userDetails)) {
+                if (claims != null) {
+                    String username = claims.getSubject();
+                    UserDetails userDetails = resolvePrincipal(claims);
+                    if (userDetails == null) {
+                        log.debug("Rejected revoked token for user: {}", username);
+                        filterChain.doFilter(request, response);
+                        return;
+                    }
+                    
                     UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
                             userDetails, null, userDetails.getAuthorities());
                     
-                    authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                    authentication.setDetails(authenticationDetailsSource.buildDetails(request));
                     
                     SecurityContextHolder.getContext().setAuthentication(authentication);
                     log.debug("Set authentication for user: {}", username);
                 }
             }
+        } catch (UsernameNotFoundException ex) {
+            log.debug("Token subject no longer exists: {}", ex.getMessage());
         } catch (Exception ex) {
             log.error("Could not set user authentication in security context", ex);
         }
@@ -55,11 +72,32 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    /**
+     * Builds the principal straight from the token claims. Tokens issued without the user
+     * claims fall back to loading the user. Returns {@code null} for revoked tokens.
+     */
+    private UserDetails resolvePrincipal(Claims claims) {
+        if (revokedTokenStore.isRevoked(claims.getId())) {
+            return null;
+        }
+        UserPrincipal principal = UserPrincipal.fromClaims(claims);
+        if (principal == null) {
+            return userDetailsService.loadUserByUsername(claims.getSubject());
+        }
+        if (revokedTokenStore.isRevoked(principal.getId(), claims.getIssuedAt())) {
+            return null;
+        }
+        return principal;
+    }
+
     private String getJwtFromRequest(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
         if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
             return bearerToken.substring(7);
         }
+        if (STREAM_PATH.equals(request.getRequestURI()) && "GET".equals(request.getMethod())) {
+            return request.getParameter(TOKEN_PARAMETER);
+        }
         return null;
     }
 }
\ No newline at end of file
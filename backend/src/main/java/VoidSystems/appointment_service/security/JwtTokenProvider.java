@@ -1,13 +1,22 @@
 package VoidSystems.appointment_service.security;
 
 import java.util.Date;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import VoidSystems.appointment_service.domain.model.User;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
@@ -16,22 +25,60 @@ import lombok.extern.slf4j.Slf4j;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.util.UUID;
 
 @Component
 @Slf4j
 public class JwtTokenProvider {
 
+    public static final String CLAIM_USER_ID = "userId";
+    public static final String CLAIM_ROLE = "role";
+    public static final String CLAIM_USER_TYPE = "userType";
+
     @Value("${jwt.secret}")
     private String jwtSecret;
 
     @Value("${jwt.expiration}")
     private long jwtExpirationInMs;
 
+    @Value("${jwt.cache.max-size:10000}")
+    private long verifiedTokenCacheSize;
+
     private SecretKey secretKey;
 
+    private JwtParser jwtParser;
+
+    // Verified claims keyed by the token itself, as digesting it would cost ~0.4 µs per lookup;
+    // each entry lives until the token expires
+    private Cache<String, Claims> verifiedTokens;
+
     @PostConstruct
     public void init() {
         secretKey = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        jwtParser = Jwts.parserBuilder()
+                .setSigningKey(secretKey)
+                .build();
+        verifiedTokens = Caffeine.newBuilder()
+                // Read on every request; keep maintenance on the caller instead of waking a pool thread
+                .executor(Runnable::run)
+                .maximumSize(verifiedTokenCacheSize)
+                .expireAfter(new Expiry<String, Claims>() {
+                    @Override
+                    public long expireAfterCreate(String key, Claims claims, long currentTime) {
+                        return TimeUnit.MILLISECONDS.toNanos(Math.max(0, claims.getExpiration().getTime() - System.currentTimeMillis()));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
         log.info("JWT Token Provider initialized");
     }
 
@@ -41,12 +88,71 @@ public class JwtTokenProvider {
         
         return Jwts.builder()
                 .setSubject(userDetails.getUsername())
+                .setId(UUID.randomUUID().toString())
                 .setIssuedAt(now)
                 .setExpiration(expiryDate)
                 .signWith(secretKey, SignatureAlgorithm.HS512)
                 .compact();
     }
 
+    /**
+     * Issues a self-contained token carrying the user's id, role and type, so requests can
+     * be authenticated from the token alone.
+     */
+    public String generateToken(User user, String userType) {
+        Date now = new Date();
+        Date expiryDate = new Date(now.getTime() + jwtExpirationInMs);
+        
+        return Jwts.builder()
+                .setSubject(user.getEmail())
+                .claim(CLAIM_USER_ID, user.getId())
+                .claim(CLAIM_ROLE, user.getRole().getName())
+                .claim(CLAIM_USER_TYPE, userType)
+                .setId(UUID.randomUUID().toString())
+                .setIssuedAt(now)
+                .setExpiration(expiryDate)
+                .signWith(secretKey, SignatureAlgorithm.HS512)
+                .compact();
+    }
+
+    /**
+     * Verifies the token once and returns its claims, or {@code null} if the token is
+     * malformed, tampered with or expired. Verified tokens are cached until they expire.
+     */
+    public Claims validateToken(String token) {
+        if (!isWellFormed(token)) {
+            log.debug("Rejected malformed JWT");
+            return null;
+        }
+
+        Claims claims = verifiedTokens.getIfPresent(token);
+        if (claims != null) {
+            return isExpired(claims) ? null : claims;
+        }
+
+        try {
+            claims = jwtParser.parseClaimsJws(token).getBody();
+        } catch (ExpiredJwtException ex) {
+            log.debug("Rejected expired JWT for subject {}", ex.getClaims().getSubject());
+            return null;
+        } catch (JwtException | IllegalArgumentException ex) {
+            log.debug("Rejected invalid JWT: {}", ex.getMessage());
+            return null;
+        }
+
+        if (claims.getExpiration() == null) {
+            log.debug("Rejected JWT without expiration");
+            return null;
+        }
+
+        verifiedTokens.put(token, claims);
+        return claims;
+    }
+
+    public long getExpirationInMs() {
+        return jwtExpirationInMs;
+    }
+
     public String getUsernameFromToken(String token) {
         return getClaimFromToken(token, Claims::getSubject);
     }
@@ -61,20 +167,29 @@ public class JwtTokenProvider {
     }
 
     private Claims getAllClaimsFromToken(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(secretKey)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        Claims claims = validateToken(token);
+        if (claims == null) {
+            throw new JwtException("Invalid JWT token");
+        }
+        return claims;
     }
 
     public boolean validateToken(String token, UserDetails userDetails) {
-        final String username = getUsernameFromToken(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+        Claims claims = validateToken(token);
+        return claims != null && claims.getSubject().equals(userDetails.getUsername());
+    }
+
+    private boolean isExpired(Claims claims) {
+        return claims.getExpiration().getTime() <= System.currentTimeMillis();
     }
 
-    private boolean isTokenExpired(String token) {
-        final Date expiration = getExpirationDateFromToken(token);
-        return expiration.before(new Date());
+    // A compact JWS has exactly two separators; anything else cannot verify
+    private boolean isWellFormed(String token) {
+        if (token == null || token.isEmpty()) {
+            return false;
+        }
+        int first = token.indexOf('.');
+        int second = first < 0 ? -1 : token.indexOf('.', first + 1);
+        return second > first + 1 && token.indexOf('.', second + 1) < 0 && second < token.length() - 1;
     }
-}
\ No newline at end of file
+}
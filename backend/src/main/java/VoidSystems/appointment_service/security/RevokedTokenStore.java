@@ -0,0 +1,218 @@
+package VoidSystems.appointment_service.security;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import VoidSystems.appointment_service.domain.model.RevokedToken;
+import VoidSystems.appointment_service.domain.model.RevokedUser;
+import VoidSystems.appointment_service.domain.repository.RevokedTokenRepository;
+import VoidSystems.appointment_service.domain.repository.RevokedUserRepository;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Access tokens that must no longer be accepted before their natural expiry: single tokens by
+ * token id (e.g. on logout), or every token of a user issued up to the revocation (e.g. when
+ * the user is deleted). Token id lookups go through a Bloom filter first, so the common case
+ * (token not revoked) costs a few bit tests; the exact map behind it rules out false positives.
+ * Entries are dropped once the tokens they cover would have expired anyway.
+ *
+ * Revocations are persisted and loaded on first use. After that each instance polls for
+ * revocations recorded since its last refresh, so one made on another instance is honoured
+ * here within the refresh interval. Each poll reaches back a further minute to cover clock
+ * differences between instances and revocations committed late.
+ */
+@Component
+@Slf4j
+public class RevokedTokenStore {
+
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+    private static final Duration REFRESH_OVERLAP = Duration.ofMinutes(1);
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final RevokedUserRepository revokedUserRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final long expectedRevocations;
+    private final boolean userRevocationEnabled;
+    private final long tokenLifetimeMs;
+    private final Object loadLock = new Object();
+
+    // Token id -> expiry in epoch millis
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+    // User id -> revocation time in epoch millis
+    private final Map<Long, Long> revokedUsers = new ConcurrentHashMap<>();
+    private volatile BloomFilter bloomFilter;
+    private volatile boolean loaded;
+    private volatile LocalDateTime refreshedAt;
+
+    public RevokedTokenStore(RevokedTokenRepository revokedTokenRepository,
+            RevokedUserRepository revokedUserRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.security.revocation.expected-revocations:100000}") long expectedRevocations,
+            @Value("${app.security.revocation.users-enabled:true}") boolean userRevocationEnabled,
+            @Value("${jwt.expiration}") long tokenLifetimeMs) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.revokedUserRepository = revokedUserRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.expectedRevocations = expectedRevocations;
+        this.userRevocationEnabled = userRevocationEnabled;
+        this.tokenLifetimeMs = tokenLifetimeMs;
+        this.bloomFilter = new BloomFilter(expectedRevocations, FALSE_POSITIVE_RATE);
+    }
+
+    public boolean isRevoked(String tokenId) {
+        if (tokenId == null) {
+            return false;
+        }
+        ensureLoaded();
+        return bloomFilter.mightContain(tokenId) && revoked.containsKey(tokenId);
+    }
+
+    public boolean isRevoked(Long userId, Date issuedAt) {
+        if (!userRevocationEnabled || userId == null) {
+            return false;
+        }
+        ensureLoaded();
+        if (revokedUsers.isEmpty()) {
+            return false;
+        }
+        Long revokedAt = revokedUsers.get(userId);
+        // iat has second precision, so a token from the same second as the revocation is rejected too
+        return revokedAt != null && (issuedAt == null || issuedAt.getTime() <= revokedAt);
+    }
+
+    public void revoke(String tokenId, Date expiresAt) {
+        if (tokenId == null || expiresAt == null || expiresAt.getTime() <= System.currentTimeMillis()) {
+            return;
+        }
+        ensureLoaded();
+        transactionTemplate.executeWithoutResult(status -> revokedTokenRepository.save(RevokedToken.builder()
+                .jti(tokenId)
+                .expiresAt(toLocalDateTime(expiresAt.getTime()))
+                .revokedAt(LocalDateTime.now())
+                .build()));
+        add(tokenId, expiresAt.getTime());
+        log.debug("Revoked access token {}", tokenId);
+    }
+
+    /**
+     * Rejects every token issued to the user up to now.
+     */
+    public void revokeUser(Long userId) {
+        if (!userRevocationEnabled || userId == null) {
+            return;
+        }
+        ensureLoaded();
+        long now = System.currentTimeMillis();
+        transactionTemplate.executeWithoutResult(status -> revokedUserRepository.save(RevokedUser.builder()
+                .userId(userId)
+                .revokedAt(toLocalDateTime(now))
+                .expiresAt(toLocalDateTime(now + tokenLifetimeMs))
+                .build()));
+        revokedUsers.merge(userId, now, Math::max);
+        log.debug("Revoked tokens for user {}", userId);
+    }
+
+    /**
+     * Picks up revocations recorded on other instances since the last refresh.
+     */
+    @Scheduled(fixedDelayString = "${app.security.revocation.refresh-interval:PT30S}")
+    public void refresh() {
+        if (!loaded) {
+            return;
+        }
+        LocalDateTime started = LocalDateTime.now();
+        LocalDateTime since = refreshedAt.minus(REFRESH_OVERLAP);
+        long now = System.currentTimeMillis();
+        transactionTemplate.executeWithoutResult(status -> {
+            revokedTokenRepository.findByRevokedAtGreaterThanEqual(since).forEach(token -> {
+                long expiresAt = toMillis(token.getExpiresAt());
+                if (expiresAt > now) {
+                    add(token.getJti(), expiresAt);
+                }
+            });
+            if (userRevocationEnabled) {
+                revokedUserRepository.findByRevokedAtGreaterThanEqual(since).forEach(user ->
+                        revokedUsers.merge(user.getUserId(), toMillis(user.getRevokedAt()), Math::max));
+            }
+        });
+        refreshedAt = started;
+    }
+
+    /**
+     * Forgets expired revocations and rebuilds the Bloom filter, which cannot remove entries.
+     */
+    @Scheduled(fixedDelayString = "${app.security.revocation.purge-interval:PT10M}")
+    public void purgeExpired() {
+        if (!loaded) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        Integer deleted = transactionTemplate.execute(status -> {
+            LocalDateTime cutoff = LocalDateTime.now();
+            return revokedTokenRepository.deleteExpired(cutoff) + revokedUserRepository.deleteExpired(cutoff);
+        });
+        revokedUsers.values().removeIf(revokedAt -> revokedAt + tokenLifetimeMs <= now);
+        synchronized (loadLock) {
+            revoked.values().removeIf(expiresAt -> expiresAt <= now);
+            rebuildFilter();
+        }
+        log.debug("Purged {} expired token revocations, {} remain", deleted, revoked.size() + revokedUsers.size());
+    }
+
+    private void add(String tokenId, long expiresAtMillis) {
+        // Exact entry first, so a concurrent lookup that passes the filter always finds it
+        revoked.put(tokenId, expiresAtMillis);
+        bloomFilter.put(tokenId);
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        synchronized (loadLock) {
+            if (loaded) {
+                return;
+            }
+            LocalDateTime started = LocalDateTime.now();
+            transactionTemplate.executeWithoutResult(status -> {
+                revokedTokenRepository.findByExpiresAtAfter(started)
+                        .forEach(token -> revoked.put(token.getJti(), toMillis(token.getExpiresAt())));
+                if (userRevocationEnabled) {
+                    revokedUserRepository.findByExpiresAtAfter(started)
+                            .forEach(user -> revokedUsers.merge(user.getUserId(), toMillis(user.getRevokedAt()), Math::max));
+                }
+            });
+            rebuildFilter();
+            refreshedAt = started;
+            loaded = true;
+            log.info("Loaded {} token and {} user revocations", revoked.size(), revokedUsers.size());
+        }
+    }
+
+    private void rebuildFilter() {
+        BloomFilter rebuilt = new BloomFilter(Math.max(expectedRevocations, 2L * revoked.size()), FALSE_POSITIVE_RATE);
+        revoked.keySet().forEach(rebuilt::put);
+        bloomFilter = rebuilt;
+        // Entries added while rebuilding may have gone into the old filter only
+        revoked.keySet().forEach(rebuilt::put);
+    }
+
+    private static long toMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static LocalDateTime toLocalDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+}
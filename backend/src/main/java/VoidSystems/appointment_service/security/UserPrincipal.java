@@ -0,0 +1,68 @@
+package VoidSystems.appointment_service.security;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import io.jsonwebtoken.Claims;
+import lombok.Getter;
+
+/**
+ * Authenticated user built from verified JWT claims. Carries everything request handling
+ * needs about the caller, so no user lookup is required.
+ */
+@Getter
+public class UserPrincipal implements UserDetails {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Long id;
+    private final String email;
+    private final String role;
+    private final String userType;
+    private final List<GrantedAuthority> authorities;
+
+    public UserPrincipal(Long id, String email, String role, String userType) {
+        this.id = id;
+        this.email = email;
+        this.role = role;
+        this.userType = userType;
+        this.authorities = List.of(new SimpleGrantedAuthority(role));
+    }
+
+    /**
+     * Returns the principal described by the claims, or {@code null} if the token was issued
+     * without the user claims.
+     */
+    public static UserPrincipal fromClaims(Claims claims) {
+        Long userId = claims.get(JwtTokenProvider.CLAIM_USER_ID, Long.class);
+        String role = claims.get(JwtTokenProvider.CLAIM_ROLE, String.class);
+        String userType = claims.get(JwtTokenProvider.CLAIM_USER_TYPE, String.class);
+        if (userId == null || role == null || userType == null) {
+            return null;
+        }
+        return new UserPrincipal(userId, claims.getSubject(), role, userType);
+    }
+
+    public boolean isAdmin() {
+        return "ROLE_ADMIN".equals(role);
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    @Override
+    public String getPassword() {
+        return null;
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+}
@@ -22,6 +22,10 @@ public interface AppointmentService {
     
     List<AppointmentDTO> getUpcomingAppointmentsByProviderId(Long providerId);
     
+    String getAppointmentVersionByClientId(Long clientId, boolean upcoming);
+    
+    String getAppointmentVersionByProviderId(Long providerId, boolean upcoming);
+    
     List<AppointmentDTO> getAppointmentsByProviderIdAndDateRange(Long providerId, LocalDateTime startDateTime, LocalDateTime endDateTime);
     
     List<AppointmentDTO> getAppointmentsByClientIdAndDateRange(Long clientId, LocalDateTime startDateTime, LocalDateTime endDateTime);
@@ -2,6 +2,7 @@ package VoidSystems.appointment_service.service;
 
 import VoidSystems.appointment_service.dto.auth.JwtAuthenticationResponse;
 import VoidSystems.appointment_service.dto.auth.LoginRequest;
+import VoidSystems.appointment_service.dto.auth.RefreshTokenRequest;
 import VoidSystems.appointment_service.dto.auth.RegisterRequest;
 
 public interface AuthService {
@@ -9,4 +10,8 @@ public interface AuthService {
     JwtAuthenticationResponse login(LoginRequest loginRequest);
     
     JwtAuthenticationResponse register(RegisterRequest registerRequest);
+    
+    JwtAuthenticationResponse refresh(RefreshTokenRequest refreshTokenRequest);
+    
+    void logout(String accessToken, String refreshToken);
 }
\ No newline at end of file
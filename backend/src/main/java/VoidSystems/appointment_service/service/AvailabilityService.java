@@ -12,6 +12,8 @@ public interface AvailabilityService {
     
     List<AvailabilityDTO> getAvailabilitiesByProviderId(Long providerId);
     
+    String getAvailabilityVersionByProviderId(Long providerId);
+    
     List<AvailabilityDTO> getRecurringAvailabilitiesByProviderId(Long providerId);
     
     List<AvailabilityDTO> getNonRecurringAvailabilitiesByProviderId(Long providerId);
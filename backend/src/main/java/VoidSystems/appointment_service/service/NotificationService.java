@@ -1,10 +1,16 @@
 package VoidSystems.appointment_service.service;
 
+import VoidSystems.appointment_service.domain.model.Appointment;
 import VoidSystems.appointment_service.domain.model.Notification;
 import VoidSystems.appointment_service.domain.model.User;
+import VoidSystems.appointment_service.dto.NotificationDTO;
+import VoidSystems.appointment_service.dto.notification.NotificationChangesResponse;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 
@@ -25,6 +31,11 @@ public interface NotificationService {
      */
     Page<Notification> getUserNotifications(User user, Pageable pageable);
     
+    /**
+     * Get a page of notifications for a user, newest first; recent pages come from memory
+     */
+    Page<NotificationDTO> getNotificationPage(User user, Pageable pageable);
+    
     /**
      * Get unread notifications for a user
      */
@@ -35,6 +46,18 @@ public interface NotificationService {
      */
     long getUnreadNotificationCount(User user);
     
+    /**
+     * Open a live stream of new notifications and unread count changes, replaying anything
+     * after {@code lastEventId} first
+     */
+    SseEmitter streamNotifications(User user, Long lastEventId);
+    
+    /**
+     * Notifications created or changed and ids deleted since the given cursor, with the cursor
+     * to use next time
+     */
+    NotificationChangesResponse getChangesSince(User user, String cursor);
+    
     /**
      * Mark a notification as read
      */
@@ -45,33 +68,63 @@ public interface NotificationService {
      */
     void markAllAsRead(User user);
     
+    /**
+     * Mark the given notifications of a user as read. Ids of other users' notifications are ignored.
+     * @return number of notifications that were unread
+     */
+    int markAsRead(Collection<Long> notificationIds, User user);
+    
+    /**
+     * Mark all notifications of a user created before the given time as read
+     * @return number of notifications that were unread
+     */
+    int markAsReadBefore(LocalDateTime before, User user);
+    
     /**
      * Delete a notification
      */
     void deleteNotification(Long notificationId, User user);
     
+    /**
+     * Delete the given notifications of a user. Ids of other users' notifications are ignored.
+     * @return number of notifications deleted
+     */
+    int deleteNotifications(Collection<Long> notificationIds, User user);
+    
+    /**
+     * Delete all read notifications of a user
+     * @return number of notifications deleted
+     */
+    int deleteReadNotifications(User user);
+    
     /**
      * Delete all notifications for a user
      */
     void deleteAllNotifications(User user);
     
     /**
-     * Create an appointment confirmation notification
+     * Create an appointment confirmation notification, written in the background once the current transaction commits
+     */
+    void createAppointmentConfirmationNotification(User user, Long appointmentId, String serviceName, String dateTime);
+    
+    /**
+     * Create an appointment cancellation notification, written in the background once the current transaction commits
      */
-    Notification createAppointmentConfirmationNotification(User user, Long appointmentId, String serviceName, String dateTime);
+    void createAppointmentCancellationNotification(User user, Long appointmentId, String serviceName, String dateTime);
     
     /**
-     * Create an appointment cancellation notification
+     * Create an appointment reminder notification, written in the background once the current transaction commits
      */
-    Notification createAppointmentCancellationNotification(User user, Long appointmentId, String serviceName, String dateTime);
+    void createAppointmentReminderNotification(User user, Long appointmentId, String serviceName, String dateTime);
     
     /**
-     * Create an appointment reminder notification
+     * Create reminders for both participants of each appointment. Unlike the methods above,
+     * they are written in the caller's transaction and commit or roll back with it.
      */
-    Notification createAppointmentReminderNotification(User user, Long appointmentId, String serviceName, String dateTime);
+    void createAppointmentReminderNotifications(List<Appointment> appointments);
     
     /**
-     * Create a new appointment notification for providers
+     * Create a new appointment notification for providers, written in the background once the current transaction commits
      */
-    Notification createNewAppointmentNotification(User provider, Long appointmentId, String clientName, String serviceName, String dateTime);
+    void createNewAppointmentNotification(User provider, Long appointmentId, String clientName, String serviceName, String dateTime);
 } 
\ No newline at end of file
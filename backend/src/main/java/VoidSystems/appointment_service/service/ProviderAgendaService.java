@@ -0,0 +1,31 @@
+package VoidSystems.appointment_service.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import VoidSystems.appointment_service.domain.model.Appointment;
+import VoidSystems.appointment_service.dto.appointment.AppointmentDTO;
+
+public interface ProviderAgendaService {
+    
+    List<AppointmentDTO> getAgenda(Long providerId);
+    
+    List<AppointmentDTO> getUpcomingAgenda(Long providerId);
+    
+    List<AppointmentDTO> getAgenda(Long providerId, LocalDateTime startDateTime, LocalDateTime endDateTime);
+    
+    void appointmentSaved(Appointment appointment);
+    
+    void appointmentDeleted(Long appointmentId);
+    
+    void serviceRenamed(Long serviceId, String serviceName);
+    
+    void userRenamed(Long userId, String fullName);
+    
+    /**
+     * Regenerates the whole agenda from the appointment tables.
+     *
+     * @return the number of rows written
+     */
+    int rebuild();
+}
@@ -10,10 +10,24 @@ public interface ServiceService {
     
     List<ServiceDTO> getAllActiveServices();
     
+    /**
+     * Returns the serialized {@code ApiResponse} body for all active services.
+     */
+    byte[] getAllActiveServicesJson();
+    
+    String getActiveServicesVersion();
+    
+    String getAllServicesVersion();
+    
     List<ServiceDTO> getServicesByProviderId(Long providerId);
     
     List<ServiceDTO> getActiveServicesByProviderId(Long providerId);
     
+    /**
+     * Returns the serialized {@code ApiResponse} body for the provider's active services.
+     */
+    byte[] getActiveServicesByProviderIdJson(Long providerId);
+    
     ServiceDTO getServiceById(Long id);
     
     ServiceDTO getServiceByIdAndProviderId(Long id, Long providerId);
@@ -7,8 +7,6 @@ import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.stream.Collectors;
 
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -16,21 +14,23 @@ import VoidSystems.appointment_service.domain.model.Appointment;
 import VoidSystems.appointment_service.domain.model.AppointmentStatus;
 import VoidSystems.appointment_service.domain.model.Client;
 import VoidSystems.appointment_service.domain.model.Provider;
-import VoidSystems.appointment_service.domain.model.User;
 import VoidSystems.appointment_service.domain.repository.AppointmentRepository;
 import VoidSystems.appointment_service.domain.repository.AppointmentStatusRepository;
 import VoidSystems.appointment_service.domain.repository.ClientRepository;
+import VoidSystems.appointment_service.domain.repository.DataVersion;
 import VoidSystems.appointment_service.domain.repository.ProviderRepository;
 import VoidSystems.appointment_service.domain.repository.ServiceRepository;
-import VoidSystems.appointment_service.domain.repository.UserRepository;
 import VoidSystems.appointment_service.dto.appointment.AppointmentDTO;
 import VoidSystems.appointment_service.exception.BadRequestException;
 import VoidSystems.appointment_service.exception.ForbiddenException;
 import VoidSystems.appointment_service.exception.ResourceNotFoundException;
+import VoidSystems.appointment_service.exception.SlotUnavailableException;
 import VoidSystems.appointment_service.mapper.AppointmentMapper;
+import VoidSystems.appointment_service.security.AccessDecisions;
 import VoidSystems.appointment_service.service.AppointmentService;
 import VoidSystems.appointment_service.service.AvailabilityService;
 import VoidSystems.appointment_service.service.NotificationService;
+import VoidSystems.appointment_service.service.ProviderAgendaService;
 import lombok.RequiredArgsConstructor;
 
 @Service
@@ -42,14 +42,16 @@ public class AppointmentServiceImpl implements AppointmentService {
     private final ProviderRepository providerRepository;
     private final ServiceRepository serviceRepository;
     private final AppointmentStatusRepository appointmentStatusRepository;
-    private final UserRepository userRepository;
     private final AppointmentMapper appointmentMapper;
     private final AvailabilityService availabilityService;
     private final NotificationService notificationService;
+    private final ProviderAgendaService providerAgendaService;
+    private final AccessDecisions accessDecisions;
     
     private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("EEEE, MMMM d, yyyy 'at' h:mm a");
 
     @Override
+    @Transactional(readOnly = true)
     public List<AppointmentDTO> getAllAppointments() {
         return appointmentRepository.findAll().stream()
                 .map(appointmentMapper::toDTO)
@@ -57,6 +59,7 @@ public class AppointmentServiceImpl implements AppointmentService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<AppointmentDTO> getAppointmentsByClientId(Long clientId) {
         return appointmentRepository.findByClientId(clientId).stream()
                 .map(appointmentMapper::toDTO)
@@ -64,13 +67,13 @@ public class AppointmentServiceImpl implements AppointmentService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<AppointmentDTO> getAppointmentsByProviderId(Long providerId) {
-        return appointmentRepository.findByProviderId(providerId).stream()
-                .map(appointmentMapper::toDTO)
-                .collect(Collectors.toList());
+        return providerAgendaService.getAgenda(providerId);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<AppointmentDTO> getAppointmentsByServiceId(Long serviceId) {
         return appointmentRepository.findByServiceId(serviceId).stream()
                 .map(appointmentMapper::toDTO)
@@ -78,6 +81,7 @@ public class AppointmentServiceImpl implements AppointmentService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<AppointmentDTO> getAppointmentsByStatus(String status) {
         AppointmentStatus appointmentStatus = appointmentStatusRepository.findByName(status)
                 .orElseThrow(() -> new ResourceNotFoundException("AppointmentStatus", "name", status));
@@ -88,6 +92,7 @@ public class AppointmentServiceImpl implements AppointmentService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<AppointmentDTO> getUpcomingAppointmentsByClientId(Long clientId) {
         return appointmentRepository.findUpcomingAppointmentsByClientId(clientId, LocalDateTime.now()).stream()
                 .map(appointmentMapper::toDTO)
@@ -95,20 +100,37 @@ public class AppointmentServiceImpl implements AppointmentService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<AppointmentDTO> getUpcomingAppointmentsByProviderId(Long providerId) {
-        return appointmentRepository.findUpcomingAppointmentsByProviderId(providerId, LocalDateTime.now()).stream()
-                .map(appointmentMapper::toDTO)
-                .collect(Collectors.toList());
+        return providerAgendaService.getUpcomingAgenda(providerId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public String getAppointmentVersionByClientId(Long clientId, boolean upcoming) {
+        DataVersion version = upcoming
+                ? appointmentRepository.findUpcomingDataVersionByClientId(clientId, LocalDateTime.now())
+                : appointmentRepository.findDataVersionByClientId(clientId);
+        return version.toTag();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public String getAppointmentVersionByProviderId(Long providerId, boolean upcoming) {
+        DataVersion version = upcoming
+                ? appointmentRepository.findUpcomingDataVersionByProviderId(providerId, LocalDateTime.now())
+                : appointmentRepository.findDataVersionByProviderId(providerId);
+        return version.toTag();
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<AppointmentDTO> getAppointmentsByProviderIdAndDateRange(Long providerId, LocalDateTime startDateTime, LocalDateTime endDateTime) {
-        return appointmentRepository.findAppointmentsByProviderIdAndTimeRange(providerId, startDateTime, endDateTime).stream()
-                .map(appointmentMapper::toDTO)
-                .collect(Collectors.toList());
+        return providerAgendaService.getAgenda(providerId, startDateTime, endDateTime);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<AppointmentDTO> getAppointmentsByClientIdAndDateRange(Long clientId, LocalDateTime startDateTime, LocalDateTime endDateTime) {
         return appointmentRepository.findAppointmentsByClientIdAndTimeRange(clientId, startDateTime, endDateTime).stream()
                 .map(appointmentMapper::toDTO)
@@ -116,6 +138,7 @@ public class AppointmentServiceImpl implements AppointmentService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<AppointmentDTO> getAppointmentsByProviderIdAndDate(Long providerId, LocalDate date) {
         LocalDateTime startOfDay = date.atStartOfDay();
         LocalDateTime endOfDay = date.atTime(LocalTime.MAX);
@@ -124,6 +147,7 @@ public class AppointmentServiceImpl implements AppointmentService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<AppointmentDTO> getAppointmentsByClientIdAndDate(Long clientId, LocalDate date) {
         LocalDateTime startOfDay = date.atStartOfDay();
         LocalDateTime endOfDay = date.atTime(LocalTime.MAX);
@@ -132,6 +156,7 @@ public class AppointmentServiceImpl implements AppointmentService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public AppointmentDTO getAppointmentById(Long id) {
         Appointment appointment = appointmentRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Appointment", "id", id));
@@ -175,13 +200,8 @@ public class AppointmentServiceImpl implements AppointmentService {
         }
         
         // Check if the current user is the client or an admin
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String currentUserEmail = authentication.getName();
-        User currentUser = userRepository.findByEmail(currentUserEmail)
-                .orElseThrow(() -> new ResourceNotFoundException("User", "email", currentUserEmail));
-        
-        boolean isAdmin = currentUser.getRole().getName().equals("ROLE_ADMIN");
-        boolean isClient = currentUser.getId().equals(client.getId());
+        boolean isAdmin = accessDecisions.isAdmin();
+        boolean isClient = accessDecisions.isCurrentUser(client.getId());
         
         if (!isAdmin && !isClient) {
             throw new ForbiddenException("You are not authorized to create an appointment for this client");
@@ -193,7 +213,7 @@ public class AppointmentServiceImpl implements AppointmentService {
         
         // Check if the time slot is available
         if (!isTimeSlotAvailable(provider.getId(), startTime, endTime)) {
-            throw new BadRequestException("The selected time slot is not available");
+            throw new SlotUnavailableException();
         }
         
         // Get pending status
@@ -205,6 +225,7 @@ public class AppointmentServiceImpl implements AppointmentService {
         appointment.setEndTime(endTime);
         
         Appointment savedAppointment = appointmentRepository.save(appointment);
+        providerAgendaService.appointmentSaved(savedAppointment);
         
         // Create notifications
         String formattedDateTime = startTime.format(DATE_TIME_FORMATTER);
@@ -224,22 +245,13 @@ public class AppointmentServiceImpl implements AppointmentService {
     @Override
     @Transactional
     public AppointmentDTO updateAppointment(Long id, AppointmentDTO appointmentDTO) {
-        Appointment appointment = appointmentRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Appointment", "id", id));
-        
-        // Check if the current user is the client, provider, or an admin
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String currentUserEmail = authentication.getName();
-        User currentUser = userRepository.findByEmail(currentUserEmail)
-                .orElseThrow(() -> new ResourceNotFoundException("User", "email", currentUserEmail));
-        
-        boolean isAdmin = currentUser.getRole().getName().equals("ROLE_ADMIN");
-        boolean isClient = currentUser.getId().equals(appointment.getClient().getId());
-        boolean isProvider = currentUser.getId().equals(appointment.getProvider().getId());
-        
-        if (!isAdmin && !isClient && !isProvider) {
+        // Check if the current user is the client, provider, or an admin before loading the appointment
+        if (!accessDecisions.isAdmin() && !accessDecisions.isAppointmentParticipant(id)) {
             throw new ForbiddenException("You are not authorized to update this appointment");
         }
+
+        Appointment appointment = appointmentRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Appointment", "id", id));
         
         // Update service if provided
         VoidSystems.appointment_service.domain.model.Service service = null;
@@ -270,13 +282,21 @@ public class AppointmentServiceImpl implements AppointmentService {
             
             // Check if the new time slot is available (excluding the current appointment)
             if (!isTimeSlotAvailableExcludingAppointment(appointment.getProvider().getId(), startTime, endTime, id)) {
-                throw new BadRequestException("The selected time slot is not available");
+                throw new SlotUnavailableException();
             }
         }
         
+        boolean rescheduled = appointmentDTO.getStartTime() != null
+                && !appointmentDTO.getStartTime().equals(appointment.getStartTime());
+        
         // Update appointment
         appointmentMapper.updateEntityFromDTO(appointment, appointmentDTO, service, status);
         Appointment updatedAppointment = appointmentRepository.save(appointment);
+        if (rescheduled) {
+            // A reminder sent or claimed for the old start time does not cover the new one
+            appointmentRepository.resetReminder(id);
+        }
+        providerAgendaService.appointmentSaved(updatedAppointment);
         
         return appointmentMapper.toDTO(updatedAppointment);
     }
@@ -288,14 +308,9 @@ public class AppointmentServiceImpl implements AppointmentService {
                 .orElseThrow(() -> new ResourceNotFoundException("Appointment", "id", id));
         
         // Check if the current user is the client, provider, or an admin
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String currentUserEmail = authentication.getName();
-        User currentUser = userRepository.findByEmail(currentUserEmail)
-                .orElseThrow(() -> new ResourceNotFoundException("User", "email", currentUserEmail));
-        
-        boolean isAdmin = currentUser.getRole().getName().equals("ROLE_ADMIN");
-        boolean isClient = currentUser.getId().equals(appointment.getClient().getId());
-        boolean isProvider = currentUser.getId().equals(appointment.getProvider().getId());
+        boolean isAdmin = accessDecisions.isAdmin();
+        boolean isClient = accessDecisions.isCurrentUser(appointment.getClient().getId());
+        boolean isProvider = accessDecisions.isCurrentUser(appointment.getProvider().getId());
         
         if (!isAdmin && !isClient && !isProvider) {
             throw new ForbiddenException("You are not authorized to update this appointment");
@@ -311,6 +326,7 @@ public class AppointmentServiceImpl implements AppointmentService {
         
         appointment.setStatus(newStatus);
         Appointment updatedAppointment = appointmentRepository.save(appointment);
+        providerAgendaService.appointmentSaved(updatedAppointment);
         
         // Create notifications based on status change
         String formattedDateTime = appointment.getStartTime().format(DATE_TIME_FORMATTER);
@@ -347,22 +363,13 @@ public class AppointmentServiceImpl implements AppointmentService {
     @Override
     @Transactional
     public void deleteAppointment(Long id) {
-        Appointment appointment = appointmentRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Appointment", "id", id));
-        
-        // Check if the current user is the client, provider, or an admin
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String currentUserEmail = authentication.getName();
-        User currentUser = userRepository.findByEmail(currentUserEmail)
-                .orElseThrow(() -> new ResourceNotFoundException("User", "email", currentUserEmail));
-        
-        boolean isAdmin = currentUser.getRole().getName().equals("ROLE_ADMIN");
-        boolean isClient = currentUser.getId().equals(appointment.getClient().getId());
-        boolean isProvider = currentUser.getId().equals(appointment.getProvider().getId());
-        
-        if (!isAdmin && !isClient && !isProvider) {
+        // Check if the current user is the client, provider, or an admin before loading the appointment
+        if (!accessDecisions.isAdmin() && !accessDecisions.isAppointmentParticipant(id)) {
             throw new ForbiddenException("You are not authorized to delete this appointment");
         }
+
+        Appointment appointment = appointmentRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Appointment", "id", id));
         
         // Only allow deletion of pending or cancelled appointments
         String status = appointment.getStatus().getName();
@@ -370,10 +377,13 @@ public class AppointmentServiceImpl implements AppointmentService {
             throw new BadRequestException("Only pending or cancelled appointments can be deleted");
         }
         
+        providerAgendaService.appointmentDeleted(appointment.getId());
         appointmentRepository.delete(appointment);
+        accessDecisions.evict(AccessDecisions.ResourceType.APPOINTMENT, id);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public boolean isTimeSlotAvailable(Long providerId, LocalDateTime startDateTime, LocalDateTime endDateTime) {
         // Check if the provider has availability for this time slot
         LocalDate date = startDateTime.toLocalDate();
@@ -1,5 +1,18 @@
 package VoidSystems.appointment_service.service.impl;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
@@ -12,22 +25,30 @@ import org.springframework.transaction.annotation.Transactional;
 import VoidSystems.appointment_service.domain.model.Admin;
 import VoidSystems.appointment_service.domain.model.Client;
 import VoidSystems.appointment_service.domain.model.Provider;
+import VoidSystems.appointment_service.domain.model.RefreshToken;
 import VoidSystems.appointment_service.domain.model.Role;
 import VoidSystems.appointment_service.domain.model.User;
 import VoidSystems.appointment_service.domain.repository.AdminRepository;
 import VoidSystems.appointment_service.domain.repository.ClientRepository;
 import VoidSystems.appointment_service.domain.repository.ProviderRepository;
+import VoidSystems.appointment_service.domain.repository.RefreshTokenRepository;
 import VoidSystems.appointment_service.domain.repository.RoleRepository;
 import VoidSystems.appointment_service.domain.repository.UserRepository;
 import VoidSystems.appointment_service.dto.auth.JwtAuthenticationResponse;
 import VoidSystems.appointment_service.dto.auth.LoginRequest;
+import VoidSystems.appointment_service.dto.auth.RefreshTokenRequest;
 import VoidSystems.appointment_service.dto.auth.RegisterRequest;
+import VoidSystems.appointment_service.exception.UnauthorizedException;
 import VoidSystems.appointment_service.security.JwtTokenProvider;
+import VoidSystems.appointment_service.security.RevokedTokenStore;
 import VoidSystems.appointment_service.service.AuthService;
+import io.jsonwebtoken.Claims;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class AuthServiceImpl implements AuthService {
 
     private final AuthenticationManager authenticationManager;
@@ -38,6 +59,12 @@ public class AuthServiceImpl implements AuthService {
     private final AdminRepository adminRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtTokenProvider tokenProvider;
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final RevokedTokenStore revokedTokenStore;
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    @Value("${jwt.refresh-expiration:1209600000}")
+    private long refreshExpirationInMs;
 
     @Override
     public JwtAuthenticationResponse login(LoginRequest loginRequest) {
@@ -51,20 +78,11 @@ public class AuthServiceImpl implements AuthService {
         SecurityContextHolder.getContext().setAuthentication(authentication);
 
         UserDetails userDetails = (UserDetails) authentication.getPrincipal();
-        String jwt = tokenProvider.generateToken(userDetails);
         
         User user = userRepository.findByEmail(userDetails.getUsername())
                 .orElseThrow(() -> new RuntimeException("User not found with email: " + userDetails.getUsername()));
         
-        String userType = getUserType(user);
-
-        return JwtAuthenticationResponse.builder()
-                .accessToken(jwt)
-                .userId(user.getId())
-                .email(user.getEmail())
-                .role(user.getRole().getName())
-                .userType(userType)
-                .build();
+        return issueTokens(user, getUserType(user), UUID.randomUUID().toString());
     }
 
     @Override
@@ -124,22 +142,89 @@ public class AuthServiceImpl implements AuthService {
             throw new RuntimeException("Invalid role: " + role.getName());
         }
 
-        UserDetails userDetails = org.springframework.security.core.userdetails.User.builder()
-                .username(user.getEmail())
-                .password(user.getPassword())
-                .authorities(role.getName())
-                .build();
+        return issueTokens(user, userType, UUID.randomUUID().toString());
+    }
+
+    @Override
+    @Transactional(noRollbackFor = UnauthorizedException.class)
+    public JwtAuthenticationResponse refresh(RefreshTokenRequest refreshTokenRequest) {
+        RefreshToken refreshToken = refreshTokenRepository.findByTokenHash(hash(refreshTokenRequest.getRefreshToken()))
+                .orElseThrow(() -> new UnauthorizedException("Invalid refresh token"));
+
+        if (refreshToken.getExpiresAt().isBefore(LocalDateTime.now())) {
+            throw new UnauthorizedException("Refresh token has expired");
+        }
+
+        // A token that was already used (or a revoked family) means the token leaked: end the whole session
+        if (refreshTokenRepository.markUsed(refreshToken.getId(), LocalDateTime.now()) == 0) {
+            refreshTokenRepository.revokeFamily(refreshToken.getFamilyId());
+            log.warn("Refresh token reuse detected for user {}, session revoked", refreshToken.getUser().getId());
+            throw new UnauthorizedException("Refresh token has already been used");
+        }
 
-        String jwt = tokenProvider.generateToken(userDetails);
+        User user = refreshToken.getUser();
+        return issueTokens(user, getUserType(user), refreshToken.getFamilyId());
+    }
+
+    @Override
+    @Transactional
+    public void logout(String accessToken, String refreshToken) {
+        if (accessToken != null) {
+            Claims claims = tokenProvider.validateToken(accessToken);
+            if (claims != null) {
+                revokedTokenStore.revoke(claims.getId(), claims.getExpiration());
+            }
+        }
+        if (refreshToken != null) {
+            refreshTokenRepository.findByTokenHash(hash(refreshToken))
+                    .ifPresent(token -> refreshTokenRepository.revokeFamily(token.getFamilyId()));
+        }
+    }
+
+    /**
+     * Removes refresh tokens past their expiry; used and revoked ones are kept until then so
+     * reuse is still detected.
+     */
+    @Scheduled(fixedDelayString = "${app.security.revocation.purge-interval:PT10M}")
+    @Transactional
+    public void purgeExpiredRefreshTokens() {
+        int deleted = refreshTokenRepository.deleteExpired(LocalDateTime.now());
+        if (deleted > 0) {
+            log.debug("Purged {} expired refresh tokens", deleted);
+        }
+    }
+
+    private JwtAuthenticationResponse issueTokens(User user, String userType, String familyId) {
+        byte[] randomBytes = new byte[32];
+        secureRandom.nextBytes(randomBytes);
+        String rawRefreshToken = Base64.getUrlEncoder().withoutPadding().encodeToString(randomBytes);
+
+        refreshTokenRepository.save(RefreshToken.builder()
+                .tokenHash(hash(rawRefreshToken))
+                .familyId(familyId)
+                .user(user)
+                .expiresAt(LocalDateTime.now().plus(Duration.ofMillis(refreshExpirationInMs)))
+                .build());
 
         return JwtAuthenticationResponse.builder()
-                .accessToken(jwt)
+                .accessToken(tokenProvider.generateToken(user, userType))
+                .expiresIn(TimeUnit.MILLISECONDS.toSeconds(tokenProvider.getExpirationInMs()))
+                .refreshToken(rawRefreshToken)
                 .userId(user.getId())
                 .email(user.getEmail())
-                .role(role.getName())
+                .role(user.getRole().getName())
                 .userType(userType)
                 .build();
     }
+
+    private String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
     
     private String getUserType(User user) {
         if (user instanceof Client) {
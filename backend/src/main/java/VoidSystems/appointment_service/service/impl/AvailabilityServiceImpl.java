@@ -7,23 +7,20 @@ import java.time.LocalTime;
 import java.util.List;
 import java.util.stream.Collectors;
 
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import VoidSystems.appointment_service.domain.model.Availability;
 import VoidSystems.appointment_service.domain.model.Provider;
-import VoidSystems.appointment_service.domain.model.User;
 import VoidSystems.appointment_service.domain.repository.AppointmentRepository;
 import VoidSystems.appointment_service.domain.repository.AvailabilityRepository;
 import VoidSystems.appointment_service.domain.repository.ProviderRepository;
-import VoidSystems.appointment_service.domain.repository.UserRepository;
 import VoidSystems.appointment_service.dto.availability.AvailabilityDTO;
 import VoidSystems.appointment_service.exception.BadRequestException;
 import VoidSystems.appointment_service.exception.ForbiddenException;
 import VoidSystems.appointment_service.exception.ResourceNotFoundException;
 import VoidSystems.appointment_service.mapper.AvailabilityMapper;
+import VoidSystems.appointment_service.security.AccessDecisions;
 import VoidSystems.appointment_service.service.AvailabilityService;
 import lombok.RequiredArgsConstructor;
 
@@ -33,11 +30,12 @@ public class AvailabilityServiceImpl implements AvailabilityService {
 
     private final AvailabilityRepository availabilityRepository;
     private final ProviderRepository providerRepository;
-    private final UserRepository userRepository;
     private final AppointmentRepository appointmentRepository;
     private final AvailabilityMapper availabilityMapper;
+    private final AccessDecisions accessDecisions;
 
     @Override
+    @Transactional(readOnly = true)
     public List<AvailabilityDTO> getAllAvailabilities() {
         return availabilityRepository.findAll().stream()
                 .map(availabilityMapper::toDTO)
@@ -45,6 +43,7 @@ public class AvailabilityServiceImpl implements AvailabilityService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<AvailabilityDTO> getAvailabilitiesByProviderId(Long providerId) {
         return availabilityRepository.findByProviderId(providerId).stream()
                 .map(availabilityMapper::toDTO)
@@ -52,6 +51,13 @@ public class AvailabilityServiceImpl implements AvailabilityService {
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public String getAvailabilityVersionByProviderId(Long providerId) {
+        return availabilityRepository.findDataVersionByProviderId(providerId).toTag();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public List<AvailabilityDTO> getRecurringAvailabilitiesByProviderId(Long providerId) {
         return availabilityRepository.findByProviderIdAndRecurring(providerId, true).stream()
                 .map(availabilityMapper::toDTO)
@@ -59,6 +65,7 @@ public class AvailabilityServiceImpl implements AvailabilityService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<AvailabilityDTO> getNonRecurringAvailabilitiesByProviderId(Long providerId) {
         return availabilityRepository.findByProviderIdAndRecurring(providerId, false).stream()
                 .map(availabilityMapper::toDTO)
@@ -66,6 +73,7 @@ public class AvailabilityServiceImpl implements AvailabilityService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<AvailabilityDTO> getAvailabilitiesByProviderIdAndDayOfWeek(Long providerId, DayOfWeek dayOfWeek) {
         return availabilityRepository.findByProviderIdAndDayOfWeek(providerId, dayOfWeek).stream()
                 .map(availabilityMapper::toDTO)
@@ -73,6 +81,7 @@ public class AvailabilityServiceImpl implements AvailabilityService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<AvailabilityDTO> getAvailabilitiesByProviderIdAndDate(Long providerId, LocalDate date) {
         DayOfWeek dayOfWeek = date.getDayOfWeek();
         return availabilityRepository.findByProviderIdAndDateOrDayOfWeek(providerId, date, dayOfWeek).stream()
@@ -81,6 +90,7 @@ public class AvailabilityServiceImpl implements AvailabilityService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public AvailabilityDTO getAvailabilityById(Long id) {
         Availability availability = availabilityRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Availability", "id", id));
@@ -95,13 +105,8 @@ public class AvailabilityServiceImpl implements AvailabilityService {
                 .orElseThrow(() -> new ResourceNotFoundException("Provider", "id", providerId));
         
         // Check if the current user is the provider or an admin
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String currentUserEmail = authentication.getName();
-        User currentUser = userRepository.findByEmail(currentUserEmail)
-                .orElseThrow(() -> new ResourceNotFoundException("User", "email", currentUserEmail));
-        
-        boolean isAdmin = currentUser.getRole().getName().equals("ROLE_ADMIN");
-        boolean isProvider = currentUser.getId().equals(providerId);
+        boolean isAdmin = accessDecisions.isAdmin();
+        boolean isProvider = accessDecisions.isCurrentUser(providerId);
         
         if (!isAdmin && !isProvider) {
             throw new ForbiddenException("You are not authorized to create availability for this provider");
@@ -123,13 +128,8 @@ public class AvailabilityServiceImpl implements AvailabilityService {
                 .orElseThrow(() -> new ResourceNotFoundException("Availability", "id", id));
         
         // Check if the current user is the provider or an admin
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String currentUserEmail = authentication.getName();
-        User currentUser = userRepository.findByEmail(currentUserEmail)
-                .orElseThrow(() -> new ResourceNotFoundException("User", "email", currentUserEmail));
-        
-        boolean isAdmin = currentUser.getRole().getName().equals("ROLE_ADMIN");
-        boolean isProvider = currentUser.getId().equals(availability.getProvider().getId());
+        boolean isAdmin = accessDecisions.isAdmin();
+        boolean isProvider = accessDecisions.isCurrentUser(availability.getProvider().getId());
         
         if (!isAdmin && !isProvider) {
             throw new ForbiddenException("You are not authorized to update this availability");
@@ -151,38 +151,26 @@ public class AvailabilityServiceImpl implements AvailabilityService {
                 .orElseThrow(() -> new ResourceNotFoundException("Availability", "id", id));
         
         // Check if the current user is the provider or an admin
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String currentUserEmail = authentication.getName();
-        User currentUser = userRepository.findByEmail(currentUserEmail)
-                .orElseThrow(() -> new ResourceNotFoundException("User", "email", currentUserEmail));
-        
-        boolean isAdmin = currentUser.getRole().getName().equals("ROLE_ADMIN");
-        boolean isProvider = currentUser.getId().equals(availability.getProvider().getId());
+        boolean isAdmin = accessDecisions.isAdmin();
+        boolean isProvider = accessDecisions.isCurrentUser(availability.getProvider().getId());
         
         if (!isAdmin && !isProvider) {
             throw new ForbiddenException("You are not authorized to delete this availability");
         }
         
         availabilityRepository.delete(availability);
+        accessDecisions.evict(AccessDecisions.ResourceType.AVAILABILITY, id);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public boolean isTimeSlotAvailable(Long providerId, LocalDate date, LocalTime startTime, LocalTime endTime) {
         // Check if the provider has availability for this time slot
         DayOfWeek dayOfWeek = date.getDayOfWeek();
         List<Availability> availabilities = availabilityRepository.findByProviderIdAndDateOrDayOfWeek(providerId, date, dayOfWeek);
         
-        if (availabilities.isEmpty()) {
-            return false;
-        }
-        
         // Check if the time slot is within any of the provider's availability
-        boolean withinAvailability = availabilities.stream().anyMatch(availability -> {
-            return !startTime.isBefore(availability.getStartTime()) && 
-                   !endTime.isAfter(availability.getEndTime());
-        });
-        
-        if (!withinAvailability) {
+        if (!coversSlot(availabilities, startTime, endTime)) {
             return false;
         }
         
@@ -193,6 +181,18 @@ public class AvailabilityServiceImpl implements AvailabilityService {
         return !appointmentRepository.existsOverlappingAppointment(providerId, startDateTime, endDateTime);
     }
     
+    /**
+     * Whether any of the given availabilities spans the whole slot.
+     */
+    public static boolean coversSlot(List<Availability> availabilities, LocalTime startTime, LocalTime endTime) {
+        for (Availability availability : availabilities) {
+            if (!startTime.isBefore(availability.getStartTime()) && !endTime.isAfter(availability.getEndTime())) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
     private void validateAvailabilityData(AvailabilityDTO availabilityDTO) {
         if (availabilityDTO.getStartTime() == null || availabilityDTO.getEndTime() == null) {
             throw new BadRequestException("Start time and end time are required");
@@ -1,54 +1,92 @@
 package VoidSystems.appointment_service.service.impl;
 
+import VoidSystems.appointment_service.domain.model.Appointment;
 import VoidSystems.appointment_service.domain.model.Notification;
+import VoidSystems.appointment_service.domain.model.NotificationTombstone;
 import VoidSystems.appointment_service.domain.model.User;
 import VoidSystems.appointment_service.domain.repository.NotificationRepository;
+import VoidSystems.appointment_service.domain.repository.NotificationTombstoneRepository;
+import VoidSystems.appointment_service.dto.NotificationDTO;
+import VoidSystems.appointment_service.dto.notification.NotificationChangesResponse;
 import VoidSystems.appointment_service.exception.ResourceNotFoundException;
 import VoidSystems.appointment_service.exception.UnauthorizedException;
+import VoidSystems.appointment_service.mapper.NotificationMapper;
+import VoidSystems.appointment_service.notification.NotificationCoalescer;
+import VoidSystems.appointment_service.notification.NotificationCursor;
+import VoidSystems.appointment_service.notification.NotificationStreamEvent;
+import VoidSystems.appointment_service.notification.NotificationStreamRegistry;
+import VoidSystems.appointment_service.notification.NotificationWriter;
+import VoidSystems.appointment_service.notification.RecentNotificationCache;
+import VoidSystems.appointment_service.notification.UnreadCountTracker;
 import VoidSystems.appointment_service.service.NotificationService;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class NotificationServiceImpl implements NotificationService {
 
+    private static final DateTimeFormatter REMINDER_DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("EEEE, MMMM d, yyyy 'at' h:mm a");
+
     private final NotificationRepository notificationRepository;
     private final ObjectMapper objectMapper;
+    private final NotificationMapper notificationMapper;
+    private final NotificationStreamRegistry notificationStreamRegistry;
+    private final UnreadCountTracker unreadCountTracker;
+    private final NotificationWriter notificationWriter;
+    private final NotificationCoalescer notificationCoalescer;
+    private final NotificationTombstoneRepository notificationTombstoneRepository;
+    private final RecentNotificationCache recentNotificationCache;
+
+    @Value("${app.notifications.stream.replay-limit:100}")
+    private int streamReplayLimit;
+
+    @Value("${app.notifications.changes.limit:500}")
+    private int changesLimit;
+
+    @Value("${app.notifications.changes.settle:5s}")
+    private Duration changesSettle;
+
+    @Value("${app.notifications.retention.tombstones-after:7d}")
+    private Duration tombstoneRetention;
 
     @Override
     @Transactional
     public Notification createNotification(User user, String type, String title, String message, Map<String, Object> data) {
-        String jsonData = null;
-        if (data != null) {
-            try {
-                jsonData = objectMapper.writeValueAsString(data);
-            } catch (JsonProcessingException e) {
-                log.error("Error converting notification data to JSON", e);
-            }
-        }
+        Notification notification = buildNotification(user, type, title, message, data);
 
-        Notification notification = Notification.builder()
-                .user(user)
-                .type(type)
-                .title(title)
-                .message(message)
-                .read(false)
-                .data(jsonData)
-                .build();
-
-        return notificationRepository.save(notification);
+        Notification savedNotification = notificationRepository.save(notification);
+        afterCommit(() -> {
+            unreadCountTracker.adjust(user.getId(), 1);
+            recentNotificationCache.added(user.getId(), () -> notificationMapper.toDTO(savedNotification));
+            if (notificationStreamRegistry.hasSubscribers(user.getId())) {
+                notificationStreamRegistry.publishNotification(user.getId(), notificationMapper.toDTO(savedNotification));
+                publishUnreadCount(user);
+            }
+        });
+        return savedNotification;
     }
 
     @Override
@@ -63,6 +101,15 @@ public class NotificationServiceImpl implements NotificationService {
         return notificationRepository.findByUserOrderByCreatedAtDesc(user, pageable);
     }
 
+    @Override
+    public Page<NotificationDTO> getNotificationPage(User user, Pageable pageable) {
+        Page<NotificationDTO> recent = recentNotificationCache.page(user, pageable);
+        if (recent != null) {
+            return recent;
+        }
+        return notificationRepository.findByUserOrderByCreatedAtDesc(user, pageable).map(notificationMapper::toDTO);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public List<Notification> getUnreadNotifications(User user) {
@@ -70,9 +117,61 @@ public class NotificationServiceImpl implements NotificationService {
     }
 
     @Override
-    @Transactional(readOnly = true)
     public long getUnreadNotificationCount(User user) {
-        return notificationRepository.countUnreadNotifications(user);
+        return unreadCountTracker.get(user.getId());
+    }
+
+    @Override
+    public SseEmitter streamNotifications(User user, Long lastEventId) {
+        return notificationStreamRegistry.subscribe(user.getId(), () -> {
+            List<NotificationStreamEvent> initialEvents = new ArrayList<>();
+            if (lastEventId != null) {
+                List<Notification> missed = notificationRepository.findByUserIdAfter(
+                        user.getId(), lastEventId, PageRequest.of(0, streamReplayLimit + 1));
+                if (missed.size() > streamReplayLimit) {
+                    initialEvents.add(NotificationStreamEvent.resync());
+                } else {
+                    missed.forEach(n -> initialEvents.add(NotificationStreamEvent.notification(notificationMapper.toDTO(n))));
+                }
+            }
+            initialEvents.add(NotificationStreamEvent.unreadCount(unreadCountTracker.get(user.getId())));
+            return initialEvents;
+        });
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public NotificationChangesResponse getChangesSince(User user, String cursor) {
+        LocalDateTime now = LocalDateTime.now();
+        // Changes stamped shortly before now may belong to transactions that have not committed
+        // yet, so the next cursor stays behind by the settle time and they are sent again
+        LocalDateTime settled = now.minus(changesSettle);
+        LocalDateTime since = NotificationCursor.decode(cursor);
+        if (since == null || since.isBefore(now.minus(tombstoneRetention))) {
+            return resync(settled);
+        }
+
+        Pageable limit = PageRequest.of(0, changesLimit + 1);
+        List<Notification> changed = notificationRepository.findChangedSince(user.getId(), since, limit);
+        List<Long> deletedIds = notificationTombstoneRepository.findDeletedSince(user.getId(), since, limit);
+        if (changed.size() > changesLimit || deletedIds.size() > changesLimit) {
+            return resync(settled);
+        }
+        return NotificationChangesResponse.builder()
+                .notifications(changed.stream().map(notificationMapper::toDTO).toList())
+                .deletedIds(deletedIds)
+                .cursor(NotificationCursor.encode(since.isAfter(settled) ? since : settled))
+                .resync(false)
+                .build();
+    }
+
+    private NotificationChangesResponse resync(LocalDateTime cursor) {
+        return NotificationChangesResponse.builder()
+                .notifications(List.of())
+                .deletedIds(List.of())
+                .cursor(NotificationCursor.encode(cursor))
+                .resync(true)
+                .build();
     }
 
     @Override
@@ -85,26 +184,41 @@ public class NotificationServiceImpl implements NotificationService {
             throw new UnauthorizedException("You are not authorized to access this notification");
         }
 
+        boolean wasUnread = !notification.isRead();
         notification.setRead(true);
-        return notificationRepository.save(notification);
+        Notification savedNotification = notificationRepository.save(notification);
+        if (wasUnread) {
+            afterUnreadChange(user, -1);
+            afterCommit(() -> recentNotificationCache.markedRead(user.getId(), n -> n.getId().equals(notificationId)));
+        }
+        return savedNotification;
     }
 
     @Override
     @Transactional
     public void markAllAsRead(User user) {
-        notificationRepository.markAllAsRead(user);
-        
-        // Verify that all notifications are marked as read
-        List<Notification> notifications = notificationRepository.findByUserOrderByCreatedAtDesc(user);
-        if (!notifications.isEmpty() && !notifications.stream().allMatch(Notification::isRead)) {
-            // If not all notifications are marked as read, update them individually
-            for (Notification notification : notifications) {
-                if (!notification.isRead()) {
-                    notification.setRead(true);
-                    notificationRepository.save(notification);
-                }
-            }
-        }
+        int marked = notificationRepository.markAllAsRead(user, LocalDateTime.now());
+        afterUnreadChange(user, -marked);
+        afterCommit(() -> recentNotificationCache.markedRead(user.getId(), n -> true));
+    }
+
+    @Override
+    @Transactional
+    public int markAsRead(Collection<Long> notificationIds, User user) {
+        int marked = notificationRepository.markAsReadByIds(user.getId(), notificationIds, LocalDateTime.now());
+        afterUnreadChange(user, -marked);
+        Set<Long> ids = Set.copyOf(notificationIds);
+        afterCommit(() -> recentNotificationCache.markedRead(user.getId(), n -> ids.contains(n.getId())));
+        return marked;
+    }
+
+    @Override
+    @Transactional
+    public int markAsReadBefore(LocalDateTime before, User user) {
+        int marked = notificationRepository.markAsReadBefore(user.getId(), before, LocalDateTime.now());
+        afterUnreadChange(user, -marked);
+        afterCommit(() -> recentNotificationCache.markedRead(user.getId(), n -> n.getCreatedAt().isBefore(before)));
+        return marked;
     }
 
     @Override
@@ -118,17 +232,52 @@ public class NotificationServiceImpl implements NotificationService {
         }
 
         notificationRepository.delete(notification);
+        notificationTombstoneRepository.save(NotificationTombstone.builder()
+                .userId(user.getId())
+                .notificationId(notificationId)
+                .deletedAt(LocalDateTime.now())
+                .build());
+        afterCommit(() -> recentNotificationCache.forget(user.getId()));
+        if (!notification.isRead()) {
+            afterUnreadChange(user, -1);
+        }
+    }
+
+    @Override
+    @Transactional
+    public int deleteNotifications(Collection<Long> notificationIds, User user) {
+        notificationTombstoneRepository.recordByIds(user.getId(), notificationIds, LocalDateTime.now());
+        // Unread and read rows separately, so the unread count moves by exactly what was removed
+        int unreadDeleted = notificationRepository.deleteByIds(user.getId(), notificationIds, false);
+        int readDeleted = notificationRepository.deleteByIds(user.getId(), notificationIds, true);
+        afterUnreadChange(user, -unreadDeleted);
+        afterCommit(() -> recentNotificationCache.forget(user.getId()));
+        return unreadDeleted + readDeleted;
+    }
+
+    @Override
+    @Transactional
+    public int deleteReadNotifications(User user) {
+        notificationTombstoneRepository.recordRead(user.getId(), LocalDateTime.now());
+        int deleted = notificationRepository.deleteRead(user.getId());
+        afterCommit(() -> recentNotificationCache.forget(user.getId()));
+        return deleted;
     }
 
     @Override
     @Transactional
     public void deleteAllNotifications(User user) {
+        notificationTombstoneRepository.recordAll(user.getId(), LocalDateTime.now());
         notificationRepository.deleteAllByUser(user);
+        afterCommit(() -> {
+            unreadCountTracker.reset(user.getId());
+            recentNotificationCache.forget(user.getId());
+            publishUnreadCount(user);
+        });
     }
 
     @Override
-    @Transactional
-    public Notification createAppointmentConfirmationNotification(User user, Long appointmentId, String serviceName, String dateTime) {
+    public void createAppointmentConfirmationNotification(User user, Long appointmentId, String serviceName, String dateTime) {
         String title = "Appointment Confirmed";
         String message = "Your appointment for " + serviceName + " on " + dateTime + " has been confirmed.";
         
@@ -137,12 +286,11 @@ public class NotificationServiceImpl implements NotificationService {
         data.put("serviceName", serviceName);
         data.put("dateTime", dateTime);
         
-        return createNotification(user, "APPOINTMENT_CONFIRMED", title, message, data);
+        queueNotification(user, "APPOINTMENT_CONFIRMED", title, message, data);
     }
 
     @Override
-    @Transactional
-    public Notification createAppointmentCancellationNotification(User user, Long appointmentId, String serviceName, String dateTime) {
+    public void createAppointmentCancellationNotification(User user, Long appointmentId, String serviceName, String dateTime) {
         String title = "Appointment Cancelled";
         String message = "Your appointment for " + serviceName + " on " + dateTime + " has been cancelled.";
         
@@ -151,12 +299,31 @@ public class NotificationServiceImpl implements NotificationService {
         data.put("serviceName", serviceName);
         data.put("dateTime", dateTime);
         
-        return createNotification(user, "APPOINTMENT_CANCELLED", title, message, data);
+        queueNotification(user, "APPOINTMENT_CANCELLED", title, message, data);
+    }
+
+    @Override
+    public void createAppointmentReminderNotification(User user, Long appointmentId, String serviceName, String dateTime) {
+        Notification notification = reminderNotification(user, appointmentId, serviceName, dateTime);
+        afterCommit(() -> notificationCoalescer.submit(notification));
     }
 
     @Override
     @Transactional
-    public Notification createAppointmentReminderNotification(User user, Long appointmentId, String serviceName, String dateTime) {
+    public void createAppointmentReminderNotifications(List<Appointment> appointments) {
+        List<Notification> notifications = new ArrayList<>(appointments.size() * 2);
+        for (Appointment appointment : appointments) {
+            String serviceName = appointment.getService().getName();
+            String dateTime = appointment.getStartTime().format(REMINDER_DATE_TIME_FORMATTER);
+            notifications.add(reminderNotification(appointment.getClient(), appointment.getId(), serviceName, dateTime));
+            notifications.add(reminderNotification(appointment.getProvider(), appointment.getId(), serviceName, dateTime));
+        }
+        if (!notifications.isEmpty()) {
+            notificationWriter.write(notifications);
+        }
+    }
+
+    private Notification reminderNotification(User user, Long appointmentId, String serviceName, String dateTime) {
         String title = "Upcoming Appointment";
         String message = "Reminder: You have an appointment for " + serviceName + " on " + dateTime + ".";
         
@@ -165,12 +332,11 @@ public class NotificationServiceImpl implements NotificationService {
         data.put("serviceName", serviceName);
         data.put("dateTime", dateTime);
         
-        return createNotification(user, "APPOINTMENT_REMINDER", title, message, data);
+        return buildNotification(user, "APPOINTMENT_REMINDER", title, message, data);
     }
 
     @Override
-    @Transactional
-    public Notification createNewAppointmentNotification(User provider, Long appointmentId, String clientName, String serviceName, String dateTime) {
+    public void createNewAppointmentNotification(User provider, Long appointmentId, String clientName, String serviceName, String dateTime) {
         String title = "New Appointment";
         String message = "New appointment request from " + clientName + " for " + serviceName + " on " + dateTime + ".";
         
@@ -180,6 +346,89 @@ public class NotificationServiceImpl implements NotificationService {
         data.put("serviceName", serviceName);
         data.put("dateTime", dateTime);
         
-        return createNotification(provider, "NEW_APPOINTMENT", title, message, data);
+        queueNotification(provider, "NEW_APPOINTMENT", title, message, data);
+    }
+
+    private void queueNotification(User user, String type, String title, String message, Map<String, Object> data) {
+        Notification notification = buildNotification(user, type, title, message, data);
+        afterCommit(() -> notificationCoalescer.submit(notification));
+    }
+
+    private Notification buildNotification(User user, String type, String title, String message, Map<String, Object> data) {
+        Notification notification = Notification.builder()
+                .user(user)
+                .type(type)
+                .title(title)
+                .message(message)
+                .read(false)
+                .createdAt(LocalDateTime.now())
+                .build();
+        if (data == null) {
+            return notification;
+        }
+
+        // Well-known keys go to typed columns, so reading them back needs no JSON parsing
+        Map<String, Object> remaining = new HashMap<>(data);
+        if (remaining.get(Notification.APPOINTMENT_ID) instanceof Number appointmentId) {
+            notification.setAppointmentId(appointmentId.longValue());
+            remaining.remove(Notification.APPOINTMENT_ID);
+        }
+        if (remaining.get(Notification.SERVICE_NAME) instanceof String serviceName) {
+            notification.setServiceName(serviceName);
+            remaining.remove(Notification.SERVICE_NAME);
+        }
+        if (remaining.get(Notification.CLIENT_NAME) instanceof String clientName) {
+            notification.setClientName(clientName);
+            remaining.remove(Notification.CLIENT_NAME);
+        }
+        if (remaining.get(Notification.DATE_TIME) instanceof String dateTime) {
+            notification.setDateTime(dateTime);
+            remaining.remove(Notification.DATE_TIME);
+        }
+        // Empty, not null, so the notification still reads back with the data it was given
+        notification.setData(remaining.isEmpty() ? NotificationMapper.EMPTY_DATA : toJson(remaining));
+        return notification;
+    }
+
+    private String toJson(Map<String, Object> data) {
+        if (data == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(data);
+        } catch (JsonProcessingException e) {
+            log.error("Error converting notification data to JSON", e);
+            return null;
+        }
+    }
+
+    private void afterUnreadChange(User user, long delta) {
+        if (delta == 0) {
+            return;
+        }
+        afterCommit(() -> {
+            unreadCountTracker.adjust(user.getId(), delta);
+            publishUnreadCount(user);
+        });
+    }
+
+    private void publishUnreadCount(User user) {
+        if (notificationStreamRegistry.hasSubscribers(user.getId())) {
+            notificationStreamRegistry.publishUnreadCount(user.getId(), unreadCountTracker.get(user.getId()));
+        }
+    }
+
+    // Subscribers must never see changes that roll back, and replays must find what was pushed
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,96 @@
+package VoidSystems.appointment_service.service.impl;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import VoidSystems.appointment_service.domain.model.Appointment;
+import VoidSystems.appointment_service.domain.model.ProviderAgendaEntry;
+import VoidSystems.appointment_service.domain.repository.AppointmentRepository;
+import VoidSystems.appointment_service.domain.repository.ProviderAgendaRepository;
+import VoidSystems.appointment_service.dto.appointment.AppointmentDTO;
+import VoidSystems.appointment_service.mapper.ProviderAgendaMapper;
+import VoidSystems.appointment_service.service.ProviderAgendaService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProviderAgendaServiceImpl implements ProviderAgendaService {
+
+    private final ProviderAgendaRepository providerAgendaRepository;
+    private final AppointmentRepository appointmentRepository;
+    private final ProviderAgendaMapper providerAgendaMapper;
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<AppointmentDTO> getAgenda(Long providerId) {
+        return providerAgendaRepository.findByProviderIdOrderByStartTimeAsc(providerId).stream()
+                .map(providerAgendaMapper::toAppointmentDTO)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<AppointmentDTO> getUpcomingAgenda(Long providerId) {
+        return providerAgendaRepository.findByProviderIdAndStartTimeGreaterThanEqualOrderByStartTimeAsc(providerId, LocalDateTime.now()).stream()
+                .map(providerAgendaMapper::toAppointmentDTO)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<AppointmentDTO> getAgenda(Long providerId, LocalDateTime startDateTime, LocalDateTime endDateTime) {
+        return providerAgendaRepository.findByProviderIdAndStartTimeBetweenOrderByStartTimeAsc(providerId, startDateTime, endDateTime).stream()
+                .map(providerAgendaMapper::toAppointmentDTO)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional
+    public void appointmentSaved(Appointment appointment) {
+        // Flush first so the generated timestamps are populated on the entity
+        appointmentRepository.flush();
+        
+        ProviderAgendaEntry entry = providerAgendaRepository.findById(appointment.getId())
+                .orElseGet(ProviderAgendaEntry::new);
+        providerAgendaMapper.updateEntryFromAppointment(entry, appointment);
+        providerAgendaRepository.save(entry);
+    }
+
+    @Override
+    @Transactional
+    public void appointmentDeleted(Long appointmentId) {
+        providerAgendaRepository.findById(appointmentId)
+                .ifPresent(providerAgendaRepository::delete);
+    }
+
+    @Override
+    @Transactional
+    public void serviceRenamed(Long serviceId, String serviceName) {
+        providerAgendaRepository.updateServiceName(serviceId, serviceName);
+    }
+
+    @Override
+    @Transactional
+    public void userRenamed(Long userId, String fullName) {
+        providerAgendaRepository.updateClientName(userId, fullName);
+        providerAgendaRepository.updateProviderName(userId, fullName);
+    }
+
+    @Override
+    @Transactional
+    public int rebuild() {
+        long start = System.currentTimeMillis();
+        
+        providerAgendaRepository.deleteAllInBatch();
+        int rows = providerAgendaRepository.insertFromAppointments();
+        
+        log.info("Rebuilt provider agenda with {} rows in {} ms", rows, System.currentTimeMillis() - start);
+        return rows;
+    }
+}
@@ -3,21 +3,20 @@ package VoidSystems.appointment_service.service.impl;
 import java.util.List;
 import java.util.stream.Collectors;
 
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import VoidSystems.appointment_service.cache.ServiceCatalog;
 import VoidSystems.appointment_service.domain.model.Provider;
-import VoidSystems.appointment_service.domain.model.User;
 import VoidSystems.appointment_service.domain.repository.ProviderRepository;
 import VoidSystems.appointment_service.domain.repository.ServiceRepository;
-import VoidSystems.appointment_service.domain.repository.UserRepository;
 import VoidSystems.appointment_service.dto.service.ServiceDTO;
 import VoidSystems.appointment_service.exception.BadRequestException;
 import VoidSystems.appointment_service.exception.ForbiddenException;
 import VoidSystems.appointment_service.exception.ResourceNotFoundException;
 import VoidSystems.appointment_service.mapper.ServiceMapper;
+import VoidSystems.appointment_service.security.AccessDecisions;
+import VoidSystems.appointment_service.service.ProviderAgendaService;
 import VoidSystems.appointment_service.service.ServiceService;
 import lombok.RequiredArgsConstructor;
 
@@ -27,10 +26,13 @@ public class ServiceServiceImpl implements ServiceService {
 
     private final ServiceRepository serviceRepository;
     private final ProviderRepository providerRepository;
-    private final UserRepository userRepository;
     private final ServiceMapper serviceMapper;
+    private final ServiceCatalog serviceCatalog;
+    private final ProviderAgendaService providerAgendaService;
+    private final AccessDecisions accessDecisions;
 
     @Override
+    @Transactional(readOnly = true)
     public List<ServiceDTO> getAllServices() {
         return serviceRepository.findAll().stream()
                 .map(serviceMapper::toDTO)
@@ -39,12 +41,27 @@ public class ServiceServiceImpl implements ServiceService {
 
     @Override
     public List<ServiceDTO> getAllActiveServices() {
-        return serviceRepository.findAllActive().stream()
-                .map(serviceMapper::toDTO)
-                .collect(Collectors.toList());
+        return serviceCatalog.getSnapshot().getServices();
+    }
+
+    @Override
+    public byte[] getAllActiveServicesJson() {
+        return serviceCatalog.getSnapshot().getJson();
+    }
+
+    @Override
+    public String getActiveServicesVersion() {
+        return serviceCatalog.getVersionTag();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public String getAllServicesVersion() {
+        return serviceRepository.findDataVersion().toTag();
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ServiceDTO> getServicesByProviderId(Long providerId) {
         return serviceRepository.findByProviderId(providerId).stream()
                 .map(serviceMapper::toDTO)
@@ -53,12 +70,16 @@ public class ServiceServiceImpl implements ServiceService {
 
     @Override
     public List<ServiceDTO> getActiveServicesByProviderId(Long providerId) {
-        return serviceRepository.findByProviderIdAndActive(providerId, true).stream()
-                .map(serviceMapper::toDTO)
-                .collect(Collectors.toList());
+        return serviceCatalog.getSnapshot().getServices(providerId);
+    }
+
+    @Override
+    public byte[] getActiveServicesByProviderIdJson(Long providerId) {
+        return serviceCatalog.getSnapshot().getJson(providerId);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public ServiceDTO getServiceById(Long id) {
         VoidSystems.appointment_service.domain.model.Service service = serviceRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Service", "id", id));
@@ -67,6 +88,7 @@ public class ServiceServiceImpl implements ServiceService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public ServiceDTO getServiceByIdAndProviderId(Long id, Long providerId) {
         VoidSystems.appointment_service.domain.model.Service service = serviceRepository.findByIdAndProviderId(id, providerId)
                 .orElseThrow(() -> new ResourceNotFoundException("Service", "id", id));
@@ -81,13 +103,8 @@ public class ServiceServiceImpl implements ServiceService {
                 .orElseThrow(() -> new ResourceNotFoundException("Provider", "id", providerId));
         
         // Check if the current user is the provider or an admin
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String currentUserEmail = authentication.getName();
-        User currentUser = userRepository.findByEmail(currentUserEmail)
-                .orElseThrow(() -> new ResourceNotFoundException("User", "email", currentUserEmail));
-        
-        boolean isAdmin = currentUser.getRole().getName().equals("ROLE_ADMIN");
-        boolean isProvider = currentUser.getId().equals(providerId);
+        boolean isAdmin = accessDecisions.isAdmin();
+        boolean isProvider = accessDecisions.isCurrentUser(providerId);
         
         if (!isAdmin && !isProvider) {
             throw new ForbiddenException("You are not authorized to create services for this provider");
@@ -95,6 +112,7 @@ public class ServiceServiceImpl implements ServiceService {
         
         VoidSystems.appointment_service.domain.model.Service service = serviceMapper.toEntity(serviceDTO, provider);
         VoidSystems.appointment_service.domain.model.Service savedService = serviceRepository.save(service);
+        serviceCatalog.serviceChanged(savedService);
         
         return serviceMapper.toDTO(savedService);
     }
@@ -106,20 +124,20 @@ public class ServiceServiceImpl implements ServiceService {
                 .orElseThrow(() -> new ResourceNotFoundException("Service", "id", id));
         
         // Check if the current user is the provider or an admin
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String currentUserEmail = authentication.getName();
-        User currentUser = userRepository.findByEmail(currentUserEmail)
-                .orElseThrow(() -> new ResourceNotFoundException("User", "email", currentUserEmail));
-        
-        boolean isAdmin = currentUser.getRole().getName().equals("ROLE_ADMIN");
-        boolean isProvider = currentUser.getId().equals(service.getProvider().getId());
+        boolean isAdmin = accessDecisions.isAdmin();
+        boolean isProvider = accessDecisions.isCurrentUser(service.getProvider().getId());
         
         if (!isAdmin && !isProvider) {
             throw new ForbiddenException("You are not authorized to update this service");
         }
         
+        String previousName = service.getName();
         serviceMapper.updateEntityFromDTO(service, serviceDTO);
         VoidSystems.appointment_service.domain.model.Service updatedService = serviceRepository.save(service);
+        serviceCatalog.serviceChanged(updatedService);
+        if (!previousName.equals(updatedService.getName())) {
+            providerAgendaService.serviceRenamed(updatedService.getId(), updatedService.getName());
+        }
         
         return serviceMapper.toDTO(updatedService);
     }
@@ -131,13 +149,8 @@ public class ServiceServiceImpl implements ServiceService {
                 .orElseThrow(() -> new ResourceNotFoundException("Service", "id", id));
         
         // Check if the current user is the provider or an admin
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String currentUserEmail = authentication.getName();
-        User currentUser = userRepository.findByEmail(currentUserEmail)
-                .orElseThrow(() -> new ResourceNotFoundException("User", "email", currentUserEmail));
-        
-        boolean isAdmin = currentUser.getRole().getName().equals("ROLE_ADMIN");
-        boolean isProvider = currentUser.getId().equals(service.getProvider().getId());
+        boolean isAdmin = accessDecisions.isAdmin();
+        boolean isProvider = accessDecisions.isCurrentUser(service.getProvider().getId());
         
         if (!isAdmin && !isProvider) {
             throw new ForbiddenException("You are not authorized to delete this service");
@@ -149,6 +162,8 @@ public class ServiceServiceImpl implements ServiceService {
         }
         
         serviceRepository.delete(service);
+        serviceCatalog.serviceRemoved(service.getId(), service.getProvider().getId());
+        accessDecisions.evict(AccessDecisions.ResourceType.SERVICE, id);
     }
 
     @Override
@@ -158,13 +173,8 @@ public class ServiceServiceImpl implements ServiceService {
                 .orElseThrow(() -> new ResourceNotFoundException("Service", "id", id));
         
         // Check if the current user is the provider or an admin
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String currentUserEmail = authentication.getName();
-        User currentUser = userRepository.findByEmail(currentUserEmail)
-                .orElseThrow(() -> new ResourceNotFoundException("User", "email", currentUserEmail));
-        
-        boolean isAdmin = currentUser.getRole().getName().equals("ROLE_ADMIN");
-        boolean isProvider = currentUser.getId().equals(service.getProvider().getId());
+        boolean isAdmin = accessDecisions.isAdmin();
+        boolean isProvider = accessDecisions.isCurrentUser(service.getProvider().getId());
         
         if (!isAdmin && !isProvider) {
             throw new ForbiddenException("You are not authorized to activate this service");
@@ -172,6 +182,7 @@ public class ServiceServiceImpl implements ServiceService {
         
         service.setActive(true);
         serviceRepository.save(service);
+        serviceCatalog.serviceChanged(service);
     }
 
     @Override
@@ -181,13 +192,8 @@ public class ServiceServiceImpl implements ServiceService {
                 .orElseThrow(() -> new ResourceNotFoundException("Service", "id", id));
         
         // Check if the current user is the provider or an admin
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String currentUserEmail = authentication.getName();
-        User currentUser = userRepository.findByEmail(currentUserEmail)
-                .orElseThrow(() -> new ResourceNotFoundException("User", "email", currentUserEmail));
-        
-        boolean isAdmin = currentUser.getRole().getName().equals("ROLE_ADMIN");
-        boolean isProvider = currentUser.getId().equals(service.getProvider().getId());
+        boolean isAdmin = accessDecisions.isAdmin();
+        boolean isProvider = accessDecisions.isCurrentUser(service.getProvider().getId());
         
         if (!isAdmin && !isProvider) {
             throw new ForbiddenException("You are not authorized to deactivate this service");
@@ -195,5 +201,6 @@ public class ServiceServiceImpl implements ServiceService {
         
         service.setActive(false);
         serviceRepository.save(service);
+        serviceCatalog.serviceChanged(service);
     }
 }
\ No newline at end of file
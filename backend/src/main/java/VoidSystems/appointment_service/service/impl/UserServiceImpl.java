@@ -3,11 +3,11 @@ package VoidSystems.appointment_service.service.impl;
 import java.util.List;
 import java.util.stream.Collectors;
 
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import VoidSystems.appointment_service.cache.ServiceCatalog;
+import VoidSystems.appointment_service.domain.model.Provider;
 import VoidSystems.appointment_service.domain.model.User;
 import VoidSystems.appointment_service.domain.repository.ClientRepository;
 import VoidSystems.appointment_service.domain.repository.ProviderRepository;
@@ -16,6 +16,10 @@ import VoidSystems.appointment_service.dto.user.UserDTO;
 import VoidSystems.appointment_service.exception.ResourceNotFoundException;
 import VoidSystems.appointment_service.exception.UnauthorizedException;
 import VoidSystems.appointment_service.mapper.UserMapper;
+import VoidSystems.appointment_service.security.AccessDecisions;
+import VoidSystems.appointment_service.security.CustomUserDetailsService;
+import VoidSystems.appointment_service.security.RevokedTokenStore;
+import VoidSystems.appointment_service.service.ProviderAgendaService;
 import VoidSystems.appointment_service.service.UserService;
 import lombok.RequiredArgsConstructor;
 
@@ -27,22 +31,28 @@ public class UserServiceImpl implements UserService {
     private final ClientRepository clientRepository;
     private final ProviderRepository providerRepository;
     private final UserMapper userMapper;
+    private final ProviderAgendaService providerAgendaService;
+    private final CustomUserDetailsService userDetailsService;
+    private final RevokedTokenStore revokedTokenStore;
+    private final ServiceCatalog serviceCatalog;
+    private final AccessDecisions accessDecisions;
 
     @Override
+    @Transactional(readOnly = true)
     public UserDTO getCurrentUser() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (authentication == null || !authentication.isAuthenticated() || authentication.getPrincipal().equals("anonymousUser")) {
+        Long userId = accessDecisions.currentUserId();
+        if (userId == null) {
             throw new UnauthorizedException("User not authenticated");
         }
         
-        String email = authentication.getName();
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new ResourceNotFoundException("User", "email", email));
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User", "id", userId));
         
         return userMapper.toDTO(user);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public UserDTO getUserById(Long id) {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("User", "id", id));
@@ -51,6 +61,7 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public UserDTO getUserByEmail(String email) {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new ResourceNotFoundException("User", "email", email));
@@ -59,6 +70,7 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<UserDTO> getAllUsers() {
         return userRepository.findAll().stream()
                 .map(userMapper::toDTO)
@@ -66,6 +78,7 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<UserDTO> getAllClients() {
         return clientRepository.findAll().stream()
                 .map(userMapper::toDTO)
@@ -73,6 +86,7 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<UserDTO> getAllProviders() {
         return providerRepository.findAll().stream()
                 .map(userMapper::toDTO)
@@ -82,24 +96,26 @@ public class UserServiceImpl implements UserService {
     @Override
     @Transactional
     public UserDTO updateUser(Long id, UserDTO userDTO) {
-        User user = userRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("User", "id", id));
-        
-        // Check if the current user is updating their own profile or is an admin
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String currentUserEmail = authentication.getName();
-        User currentUser = userRepository.findByEmail(currentUserEmail)
-                .orElseThrow(() -> new ResourceNotFoundException("User", "email", currentUserEmail));
-        
-        boolean isAdmin = currentUser.getRole().getName().equals("ROLE_ADMIN");
-        boolean isSameUser = user.getEmail().equals(currentUserEmail);
-        
-        if (!isAdmin && !isSameUser) {
+        // Check if the current user is updating their own profile or is an admin before loading the user
+        if (!accessDecisions.isAdmin() && !accessDecisions.isCurrentUser(id)) {
             throw new UnauthorizedException("You are not authorized to update this user");
         }
         
+        User user = userRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("User", "id", id));
+        
+        String previousName = user.getFirstName() + " " + user.getLastName();
         userMapper.updateUserFromDTO(user, userDTO);
         User updatedUser = userRepository.save(user);
+        userDetailsService.evictUser(updatedUser.getEmail());
+        
+        String fullName = updatedUser.getFirstName() + " " + updatedUser.getLastName();
+        if (!previousName.equals(fullName)) {
+            providerAgendaService.userRenamed(updatedUser.getId(), fullName);
+            if (updatedUser instanceof Provider) {
+                serviceCatalog.providerRenamed(updatedUser.getId());
+            }
+        }
         
         return userMapper.toDTO(updatedUser);
     }
@@ -107,25 +123,21 @@ public class UserServiceImpl implements UserService {
     @Override
     @Transactional
     public void deleteUser(Long id) {
-        User user = userRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("User", "id", id));
-        
         // Only admins can delete users
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String currentUserEmail = authentication.getName();
-        User currentUser = userRepository.findByEmail(currentUserEmail)
-                .orElseThrow(() -> new ResourceNotFoundException("User", "email", currentUserEmail));
-        
-        boolean isAdmin = currentUser.getRole().getName().equals("ROLE_ADMIN");
-        
-        if (!isAdmin) {
+        if (!accessDecisions.isAdmin()) {
             throw new UnauthorizedException("You are not authorized to delete users");
         }
         
+        User user = userRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("User", "id", id));
+        
         userRepository.delete(user);
+        userDetailsService.evictUser(user.getEmail());
+        revokedTokenStore.revokeUser(user.getId());
     }
 
     @Override
+    @Transactional(readOnly = true)
     public boolean existsByEmail(String email) {
         return userRepository.existsByEmail(email);
     }
@@ -0,0 +1,13 @@
+-- Notifications that could not be delivered on an outside channel (email, SMS)
+CREATE TABLE notification_dead_letters (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    notification_id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    channel VARCHAR(50) NOT NULL,
+    attempts INT NOT NULL,
+    last_error VARCHAR(1000) NULL,
+    failed_at TIMESTAMP(6) NOT NULL,
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_notification_dead_letters_failed_at ON notification_dead_letters(failed_at);
@@ -0,0 +1,4 @@
+-- Change and tombstone timestamps are compared with the application's clock, so they are all
+-- set by the application; the database no longer stamps updates itself
+ALTER TABLE notifications
+    MODIFY COLUMN updated_at TIMESTAMP(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6);
@@ -0,0 +1,2 @@
+-- Appointment ETags include the participants' updated_at, so renames need sub-second precision too
+ALTER TABLE users MODIFY updated_at TIMESTAMP(6) DEFAULT CURRENT_TIMESTAMP(6) ON UPDATE CURRENT_TIMESTAMP(6);
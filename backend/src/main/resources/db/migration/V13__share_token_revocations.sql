@@ -0,0 +1,13 @@
+-- Revocations are picked up by other instances from when they were recorded
+ALTER TABLE revoked_tokens ADD COLUMN revoked_at TIMESTAMP(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6);
+CREATE INDEX idx_revoked_tokens_revoked_at ON revoked_tokens(revoked_at);
+
+-- Users whose access tokens issued up to revoked_at are no longer accepted
+CREATE TABLE revoked_users (
+    user_id BIGINT PRIMARY KEY,
+    revoked_at TIMESTAMP(6) NOT NULL,
+    expires_at TIMESTAMP(6) NOT NULL
+);
+
+CREATE INDEX idx_revoked_users_revoked_at ON revoked_users(revoked_at);
+CREATE INDEX idx_revoked_users_expires_at ON revoked_users(expires_at);
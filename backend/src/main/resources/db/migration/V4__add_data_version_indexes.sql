@@ -0,0 +1,9 @@
+-- Keep sub-second precision on updated_at so it can serve as a change marker for ETags
+ALTER TABLE services MODIFY updated_at TIMESTAMP(6) DEFAULT CURRENT_TIMESTAMP(6) ON UPDATE CURRENT_TIMESTAMP(6);
+ALTER TABLE availability MODIFY updated_at TIMESTAMP(6) DEFAULT CURRENT_TIMESTAMP(6) ON UPDATE CURRENT_TIMESTAMP(6);
+ALTER TABLE appointments MODIFY updated_at TIMESTAMP(6) DEFAULT CURRENT_TIMESTAMP(6) ON UPDATE CURRENT_TIMESTAMP(6);
+
+-- Covering indexes for the COUNT/MAX(updated_at) version lookups
+CREATE INDEX idx_availability_provider_updated ON availability(provider_id, updated_at);
+CREATE INDEX idx_appointments_client_start_updated ON appointments(client_id, start_time, updated_at);
+CREATE INDEX idx_appointments_provider_start_updated ON appointments(provider_id, start_time, updated_at);
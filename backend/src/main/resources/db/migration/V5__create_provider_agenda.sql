@@ -0,0 +1,34 @@
+-- Denormalized read model of appointments for provider agenda views
+CREATE TABLE provider_agenda (
+    appointment_id BIGINT PRIMARY KEY,
+    provider_id BIGINT NOT NULL,
+    provider_name VARCHAR(255) NOT NULL,
+    client_id BIGINT NOT NULL,
+    client_name VARCHAR(255) NOT NULL,
+    service_id BIGINT NOT NULL,
+    service_name VARCHAR(255) NOT NULL,
+    duration_minutes INT NOT NULL,
+    start_time DATETIME NOT NULL,
+    end_time DATETIME NOT NULL,
+    status VARCHAR(50) NOT NULL,
+    notes TEXT,
+    created_at TIMESTAMP(6) NULL,
+    updated_at TIMESTAMP(6) NULL,
+    FOREIGN KEY (appointment_id) REFERENCES appointments(id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_provider_agenda_provider_start ON provider_agenda(provider_id, start_time);
+CREATE INDEX idx_provider_agenda_client ON provider_agenda(client_id);
+CREATE INDEX idx_provider_agenda_service ON provider_agenda(service_id);
+
+-- Populate from existing appointments
+INSERT INTO provider_agenda (appointment_id, provider_id, provider_name, client_id, client_name, service_id, service_name,
+                             duration_minutes, start_time, end_time, status, notes, created_at, updated_at)
+SELECT a.id, a.provider_id, CONCAT(pu.first_name, ' ', pu.last_name), a.client_id, CONCAT(cu.first_name, ' ', cu.last_name),
+       a.service_id, s.name, TIMESTAMPDIFF(MINUTE, a.start_time, a.end_time), a.start_time, a.end_time, st.name, a.notes,
+       a.created_at, a.updated_at
+FROM appointments a
+JOIN users pu ON pu.id = a.provider_id
+JOIN users cu ON cu.id = a.client_id
+JOIN services s ON s.id = a.service_id
+JOIN appointment_statuses st ON st.id = a.status_id;
@@ -0,0 +1,8 @@
+-- Reminder bookkeeping: a node claims due appointments before reminding, then marks them sent
+ALTER TABLE appointments
+    ADD COLUMN reminder_claim VARCHAR(36) NULL,
+    ADD COLUMN reminder_claimed_at DATETIME NULL,
+    ADD COLUMN reminder_sent_at DATETIME NULL;
+
+-- Reminder scans: unsent appointments by start time
+CREATE INDEX idx_appointments_reminder_due ON appointments(reminder_sent_at, start_time);
@@ -0,0 +1,24 @@
+-- Well-known notification data keys get their own columns, so reads need no JSON parsing
+ALTER TABLE notifications
+    ADD COLUMN appointment_id BIGINT NULL,
+    ADD COLUMN service_name VARCHAR(255) NULL,
+    ADD COLUMN client_name VARCHAR(255) NULL,
+    ADD COLUMN date_time VARCHAR(100) NULL;
+
+-- Move existing values out of the JSON data, where they have the expected type
+UPDATE notifications
+SET appointment_id = CASE WHEN JSON_TYPE(JSON_EXTRACT(data, '$.appointmentId')) IN ('INTEGER', 'UNSIGNED INTEGER')
+                          THEN JSON_EXTRACT(data, '$.appointmentId') END,
+    service_name = CASE WHEN JSON_TYPE(JSON_EXTRACT(data, '$.serviceName')) = 'STRING'
+                        THEN JSON_UNQUOTE(JSON_EXTRACT(data, '$.serviceName')) END,
+    client_name = CASE WHEN JSON_TYPE(JSON_EXTRACT(data, '$.clientName')) = 'STRING'
+                       THEN JSON_UNQUOTE(JSON_EXTRACT(data, '$.clientName')) END,
+    date_time = CASE WHEN JSON_TYPE(JSON_EXTRACT(data, '$.dateTime')) = 'STRING'
+                     THEN JSON_UNQUOTE(JSON_EXTRACT(data, '$.dateTime')) END
+WHERE data IS NOT NULL AND JSON_VALID(data);
+
+UPDATE notifications SET data = JSON_REMOVE(data, '$.appointmentId') WHERE appointment_id IS NOT NULL;
+UPDATE notifications SET data = JSON_REMOVE(data, '$.serviceName') WHERE service_name IS NOT NULL;
+UPDATE notifications SET data = JSON_REMOVE(data, '$.clientName') WHERE client_name IS NOT NULL;
+UPDATE notifications SET data = JSON_REMOVE(data, '$.dateTime') WHERE date_time IS NOT NULL;
+UPDATE notifications SET data = NULL WHERE data IS NOT NULL AND JSON_VALID(data) AND JSON_LENGTH(data) = 0;
@@ -0,0 +1,20 @@
+-- Delta sync: when each notification last changed, and what was deleted
+ALTER TABLE notifications
+    ADD COLUMN updated_at TIMESTAMP(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6) ON UPDATE CURRENT_TIMESTAMP(6);
+
+UPDATE notifications SET updated_at = created_at;
+
+-- Changes since a cursor; (user_id, id) lookups are already served by idx_notifications_user_id,
+-- which InnoDB extends with the primary key
+CREATE INDEX idx_notifications_user_updated ON notifications(user_id, updated_at);
+
+CREATE TABLE notification_tombstones (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    notification_id BIGINT NOT NULL,
+    deleted_at TIMESTAMP(6) NOT NULL,
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_notification_tombstones_user_deleted ON notification_tombstones(user_id, deleted_at);
+CREATE INDEX idx_notification_tombstones_deleted ON notification_tombstones(deleted_at);
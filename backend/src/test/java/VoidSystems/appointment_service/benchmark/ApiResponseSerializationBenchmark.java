@@ -0,0 +1,59 @@
+package VoidSystems.appointment_service.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import VoidSystems.appointment_service.dto.appointment.AppointmentDTO;
+import VoidSystems.appointment_service.dto.common.ApiResponse;
+import VoidSystems.appointment_service.mapper.AppointmentMapper;
+
+/**
+ * Serializes {@code ApiResponse<List<AppointmentDTO>>} with an ObjectMapper configured the way
+ * Spring MVC configures its own, for a small and a full page.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ApiResponseSerializationBenchmark {
+
+    @Param({"10", "100"})
+    private int size;
+
+    private ObjectMapper objectMapper;
+    private ApiResponse<List<AppointmentDTO>> response;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        AppointmentMapper mapper = new AppointmentMapper();
+        List<AppointmentDTO> appointments = AppointmentMapperBenchmark.Fixtures.appointments(size).stream()
+                .map(mapper::toDTO)
+                .toList();
+        response = ApiResponse.success(appointments);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+}
@@ -0,0 +1,88 @@
+package VoidSystems.appointment_service.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import VoidSystems.appointment_service.domain.model.Appointment;
+import VoidSystems.appointment_service.domain.model.AppointmentStatus;
+import VoidSystems.appointment_service.domain.model.Client;
+import VoidSystems.appointment_service.domain.model.Provider;
+import VoidSystems.appointment_service.domain.model.Service;
+import VoidSystems.appointment_service.dto.appointment.AppointmentDTO;
+import VoidSystems.appointment_service.mapper.AppointmentMapper;
+
+/**
+ * Maps a page of 100 appointments with their client, provider, service and status to DTOs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AppointmentMapperBenchmark {
+
+    private static final int PAGE_SIZE = 100;
+
+    private AppointmentMapper mapper;
+    private List<Appointment> page;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        mapper = new AppointmentMapper();
+        page = Fixtures.appointments(PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<AppointmentDTO> mapPage() {
+        List<AppointmentDTO> dtos = new ArrayList<>(PAGE_SIZE);
+        for (Appointment appointment : page) {
+            dtos.add(mapper.toDTO(appointment));
+        }
+        return dtos;
+    }
+
+    static final class Fixtures {
+
+        private Fixtures() {
+        }
+
+        static List<Appointment> appointments(int count) {
+            Client client = Client.builder().id(1L).firstName("Jane").lastName("Client").email("client@example.com").build();
+            Provider provider = Provider.builder().id(2L).firstName("John").lastName("Provider").email("provider@example.com").build();
+            Service service = Service.builder().id(3L).name("Swedish Massage").durationMinutes(60).build();
+            AppointmentStatus status = AppointmentStatus.builder().id(2L).name("CONFIRMED").build();
+            LocalDateTime start = LocalDateTime.of(2025, 6, 2, 9, 0);
+            List<Appointment> appointments = new ArrayList<>(count);
+            for (long i = 0; i < count; i++) {
+                appointments.add(Appointment.builder()
+                        .id(i)
+                        .client(client)
+                        .provider(provider)
+                        .service(service)
+                        .status(status)
+                        .startTime(start.plusHours(i))
+                        .endTime(start.plusHours(i).plusMinutes(60))
+                        .notes("Prefers a quiet room")
+                        .createdAt(start.minusDays(7))
+                        .updatedAt(start.minusDays(1))
+                        .build());
+            }
+            return appointments;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package VoidSystems.appointment_service.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import VoidSystems.appointment_service.domain.model.Client;
+import VoidSystems.appointment_service.domain.model.Role;
+import VoidSystems.appointment_service.domain.repository.RevokedTokenRepository;
+import VoidSystems.appointment_service.domain.repository.RevokedUserRepository;
+import VoidSystems.appointment_service.security.JwtAuthenticationFilter;
+import VoidSystems.appointment_service.security.JwtTokenProvider;
+import VoidSystems.appointment_service.security.RevokedTokenStore;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * Measures {@link JwtAuthenticationFilter} per request for valid tokens (with and without the
+ * verified-token cache), tokens carrying the user claims, tokens with a bad signature and
+ * structurally malformed tokens. User lookup is stubbed so only token handling is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+
+    private static final String SECRET = "benchmark-secret-key-for-jwt-token-generation-with-additional-characters-to-make-it-long-enough-for-hs512";
+
+    @Param({"10000", "0"})
+    private long cacheSize;
+
+    private JwtAuthenticationFilter filter;
+    private String validToken;
+    private String claimsToken;
+    private String tamperedToken;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        JwtTokenProvider tokenProvider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(tokenProvider, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(tokenProvider, "jwtExpirationInMs", TimeUnit.HOURS.toMillis(1));
+        ReflectionTestUtils.setField(tokenProvider, "verifiedTokenCacheSize", cacheSize);
+        tokenProvider.init();
+
+        UserDetails user = new User("client@example.com", "password", List.of(new SimpleGrantedAuthority("ROLE_CLIENT")));
+        filter = new JwtAuthenticationFilter(tokenProvider, username -> user,
+                new RevokedTokenStore(mock(RevokedTokenRepository.class), mock(RevokedUserRepository.class),
+                        mock(PlatformTransactionManager.class), 100_000, true, TimeUnit.HOURS.toMillis(1)));
+
+        validToken = tokenProvider.generateToken(user);
+        Client client = Client.builder()
+                .id(1L)
+                .email("client@example.com")
+                .role(Role.builder().name("ROLE_CLIENT").build())
+                .build();
+        claimsToken = tokenProvider.generateToken(client, "CLIENT");
+        char last = validToken.charAt(validToken.length() - 2);
+        tamperedToken = validToken.substring(0, validToken.length() - 2) + (last == 'A' ? 'B' : 'A') + validToken.charAt(validToken.length() - 1);
+    }
+
+    @TearDown(Level.Invocation)
+    public void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public MockHttpServletResponse validToken() throws Exception {
+        return filter(validToken);
+    }
+
+    @Benchmark
+    public MockHttpServletResponse claimsToken() throws Exception {
+        return filter(claimsToken);
+    }
+
+    @Benchmark
+    public MockHttpServletResponse badSignature() throws Exception {
+        return filter(tamperedToken);
+    }
+
+    @Benchmark
+    public MockHttpServletResponse malformedToken() throws Exception {
+        return filter("not-a-jwt");
+    }
+
+    private MockHttpServletResponse filter(String token) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/appointments");
+        request.addHeader("Authorization", "Bearer " + token);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+}
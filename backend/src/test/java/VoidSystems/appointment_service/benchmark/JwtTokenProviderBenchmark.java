@@ -0,0 +1,70 @@
+package VoidSystems.appointment_service.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import VoidSystems.appointment_service.domain.model.Client;
+import VoidSystems.appointment_service.domain.model.Role;
+import VoidSystems.appointment_service.security.JwtTokenProvider;
+import io.jsonwebtoken.Claims;
+
+/**
+ * Measures {@link JwtTokenProvider} signing a token at login and verifying one, with and
+ * without the verified-token cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtTokenProviderBenchmark {
+
+    private static final String SECRET = "benchmark-secret-key-for-jwt-token-generation-with-additional-characters-to-make-it-long-enough-for-hs512";
+
+    @Param({"10000", "0"})
+    private long cacheSize;
+
+    private JwtTokenProvider tokenProvider;
+    private Client client;
+    private String token;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        tokenProvider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(tokenProvider, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(tokenProvider, "jwtExpirationInMs", TimeUnit.HOURS.toMillis(1));
+        ReflectionTestUtils.setField(tokenProvider, "verifiedTokenCacheSize", cacheSize);
+        tokenProvider.init();
+
+        client = Client.builder()
+                .id(1L)
+                .email("client@example.com")
+                .role(Role.builder().name("ROLE_CLIENT").build())
+                .build();
+        token = tokenProvider.generateToken(client, "CLIENT");
+    }
+
+    @Benchmark
+    public String generate() {
+        return tokenProvider.generateToken(client, "CLIENT");
+    }
+
+    @Benchmark
+    public Claims validate() {
+        return tokenProvider.validateToken(token);
+    }
+}
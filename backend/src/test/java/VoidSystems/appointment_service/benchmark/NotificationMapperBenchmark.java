@@ -0,0 +1,79 @@
+package VoidSystems.appointment_service.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import VoidSystems.appointment_service.domain.model.Notification;
+import VoidSystems.appointment_service.dto.NotificationDTO;
+import VoidSystems.appointment_service.mapper.NotificationMapper;
+
+/**
+ * Maps a page of 100 notifications to DTOs, with the appointment data stored as a JSON blob
+ * (rows written before the typed payload columns) and in the typed columns.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NotificationMapperBenchmark {
+
+    private static final int PAGE_SIZE = 100;
+
+    @Param({"json", "typed"})
+    private String payload;
+
+    private NotificationMapper mapper;
+    private List<Notification> page;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        mapper = new NotificationMapper(new ObjectMapper());
+        page = new ArrayList<>(PAGE_SIZE);
+        for (long i = 0; i < PAGE_SIZE; i++) {
+            Notification notification = Notification.builder()
+                    .id(i)
+                    .type("APPOINTMENT_CONFIRMED")
+                    .title("Appointment Confirmed")
+                    .message("Your appointment for Swedish Massage on Friday, June 23, 2023 at 2:00 PM has been confirmed.")
+                    .createdAt(LocalDateTime.now())
+                    .build();
+            if ("json".equals(payload)) {
+                notification.setData("{\"appointmentId\":" + i
+                        + ",\"serviceName\":\"Swedish Massage\",\"dateTime\":\"Friday, June 23, 2023 at 2:00 PM\"}");
+            } else {
+                notification.setAppointmentId(i);
+                notification.setServiceName("Swedish Massage");
+                notification.setDateTime("Friday, June 23, 2023 at 2:00 PM");
+            }
+            page.add(notification);
+        }
+    }
+
+    @Benchmark
+    public List<NotificationDTO> mapPage() {
+        List<NotificationDTO> dtos = new ArrayList<>(PAGE_SIZE);
+        for (Notification notification : page) {
+            dtos.add(mapper.toDTO(notification));
+        }
+        return dtos;
+    }
+}
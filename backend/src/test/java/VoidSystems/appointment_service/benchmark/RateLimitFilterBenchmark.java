@@ -0,0 +1,99 @@
+package VoidSystems.appointment_service.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import VoidSystems.appointment_service.ratelimit.RateLimitFilter;
+import VoidSystems.appointment_service.ratelimit.RateLimitProperties;
+import VoidSystems.appointment_service.ratelimit.TokenBucket;
+import VoidSystems.appointment_service.security.JwtTokenProvider;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+
+/**
+ * Per-request overhead of {@link RateLimitFilter} for anonymous and authenticated clients,
+ * plus the raw bucket update under contention. Limits are set high enough that every
+ * request is admitted, so only the bookkeeping is measured; the target is under 1 µs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RateLimitFilterBenchmark {
+
+    private static final String SECRET = "benchmark-secret-key-for-jwt-token-generation-with-additional-characters-to-make-it-long-enough-for-hs512";
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> { };
+
+    private RateLimitFilter filter;
+    private TokenBucket sharedBucket;
+    private MockHttpServletRequest anonymousRequest;
+    private MockHttpServletRequest authenticatedRequest;
+    private MockHttpServletResponse response;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        JwtTokenProvider tokenProvider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(tokenProvider, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(tokenProvider, "jwtExpirationInMs", TimeUnit.HOURS.toMillis(1));
+        ReflectionTestUtils.setField(tokenProvider, "verifiedTokenCacheSize", 10_000L);
+        tokenProvider.init();
+
+        RateLimitProperties.Group group = new RateLimitProperties.Group();
+        group.setName("availability-check");
+        group.setPatterns(List.of("/api/appointments/check"));
+        group.setCapacity(1_000_000_000L);
+        group.setRefillPerSecond(1_000_000_000.0);
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setGroups(List.of(group));
+        filter = new RateLimitFilter(properties, tokenProvider, new ObjectMapper(), new SimpleMeterRegistry());
+        sharedBucket = new TokenBucket(1_000_000_000L, 1_000_000_000.0, System.nanoTime());
+
+        anonymousRequest = new MockHttpServletRequest("GET", "/api/appointments/check");
+        anonymousRequest.setRemoteAddr("10.0.0.1");
+        authenticatedRequest = new MockHttpServletRequest("GET", "/api/appointments/check");
+        String token = tokenProvider.generateToken(new User("client@example.com", "password",
+                List.of(new SimpleGrantedAuthority("ROLE_CLIENT"))));
+        authenticatedRequest.addHeader("Authorization", "Bearer " + token);
+        response = new MockHttpServletResponse();
+    }
+
+    @Benchmark
+    public MockHttpServletResponse anonymous() throws Exception {
+        filter.doFilter(anonymousRequest, response, NO_OP_CHAIN);
+        return response;
+    }
+
+    @Benchmark
+    public MockHttpServletResponse authenticated() throws Exception {
+        filter.doFilter(authenticatedRequest, response, NO_OP_CHAIN);
+        return response;
+    }
+
+    @Benchmark
+    @Threads(4)
+    public long bucketContended() {
+        return sharedBucket.tryAcquire(System.nanoTime());
+    }
+}
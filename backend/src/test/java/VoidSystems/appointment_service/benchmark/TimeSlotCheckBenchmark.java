@@ -0,0 +1,67 @@
+package VoidSystems.appointment_service.benchmark;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import VoidSystems.appointment_service.domain.model.Availability;
+import VoidSystems.appointment_service.service.impl.AvailabilityServiceImpl;
+
+/**
+ * The in-memory part of {@code AvailabilityServiceImpl.isTimeSlotAvailable}: matching a slot
+ * against a provider's availabilities for the day, for a slot covered by the last window
+ * and one covered by none.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TimeSlotCheckBenchmark {
+
+    @Param({"2", "8"})
+    private int windows;
+
+    private List<Availability> availabilities;
+    private LocalTime lastWindowStart;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Back-to-back one-hour windows from 08:00, as split shifts produce
+        availabilities = new ArrayList<>(windows);
+        for (int i = 0; i < windows; i++) {
+            availabilities.add(Availability.builder()
+                    .dayOfWeek(DayOfWeek.MONDAY)
+                    .startTime(LocalTime.of(8 + i, 0))
+                    .endTime(LocalTime.of(9 + i, 0))
+                    .build());
+        }
+        lastWindowStart = LocalTime.of(8 + windows - 1, 0);
+    }
+
+    @Benchmark
+    public boolean covered() {
+        return AvailabilityServiceImpl.coversSlot(availabilities, lastWindowStart, lastWindowStart.plusMinutes(30));
+    }
+
+    @Benchmark
+    public boolean notCovered() {
+        return AvailabilityServiceImpl.coversSlot(availabilities, LocalTime.of(7, 30), LocalTime.of(8, 30));
+    }
+}
@@ -0,0 +1,182 @@
+package VoidSystems.appointment_service.cache;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import VoidSystems.appointment_service.domain.model.Provider;
+import VoidSystems.appointment_service.domain.model.Service;
+import VoidSystems.appointment_service.domain.repository.ServiceRepository;
+import VoidSystems.appointment_service.mapper.ServiceMapper;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class ServiceCatalogTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    private ServiceRepository serviceRepository;
+    private ServiceCatalog serviceCatalog;
+    private PlatformTransactionManager transactionManager;
+    private List<Service> activeServices;
+
+    @BeforeEach
+    void setUp() {
+        serviceRepository = mock(ServiceRepository.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+
+        activeServices = new ArrayList<>();
+        activeServices.add(service(1L, 10L, "Haircut", true));
+        activeServices.add(service(2L, 20L, "Massage", true));
+        when(serviceRepository.findAllActive()).thenAnswer(invocation -> activeServices);
+        when(serviceRepository.findByProviderIdAndActive(anyLong(), eq(true))).thenAnswer(invocation -> activeServices.stream()
+                .filter(service -> service.getProvider().getId().equals(invocation.getArgument(0)))
+                .toList());
+
+        serviceCatalog = catalog(Duration.ofMinutes(1));
+    }
+
+    @Test
+    void getSnapshot_ShouldLoadOnce_WhenCalledRepeatedly() throws Exception {
+        // Act
+        ServiceCatalogSnapshot first = serviceCatalog.getSnapshot();
+        ServiceCatalogSnapshot second = serviceCatalog.getSnapshot();
+
+        // Assert
+        assertSame(first, second);
+        verify(serviceRepository, times(1)).findAllActive();
+        JsonNode body = objectMapper.readTree(first.getJson());
+        assertTrue(body.get("success").asBoolean());
+        assertEquals(2, body.get("data").size());
+        assertEquals(1, first.getServices(10L).size());
+    }
+
+    @Test
+    void serviceChanged_ShouldPublishNewVersion_WhenServiceAdded() throws Exception {
+        // Arrange
+        ServiceCatalogSnapshot before = serviceCatalog.getSnapshot();
+
+        // Act
+        serviceCatalog.serviceChanged(service(3L, 10L, "Shave", true));
+
+        // Assert
+        ServiceCatalogSnapshot after = serviceCatalog.getSnapshot();
+        assertTrue(after.getVersion() > before.getVersion());
+        assertEquals(1, before.getServices(10L).size());
+        assertEquals(2, after.getServices(10L).size());
+        assertEquals(2, objectMapper.readTree(after.getJson(10L)).get("data").size());
+        assertEquals(3, after.getServices().size());
+    }
+
+    @Test
+    void serviceChanged_ShouldRemoveService_WhenDeactivated() throws Exception {
+        // Arrange
+        serviceCatalog.getSnapshot();
+
+        // Act
+        serviceCatalog.serviceChanged(service(2L, 20L, "Massage", false));
+
+        // Assert
+        ServiceCatalogSnapshot after = serviceCatalog.getSnapshot();
+        assertTrue(after.getServices(20L).isEmpty());
+        assertEquals(0, objectMapper.readTree(after.getJson(20L)).get("data").size());
+        assertEquals(1, after.getServices().size());
+    }
+
+    @Test
+    void serviceRemoved_ShouldDropService_WhenDeleted() {
+        // Arrange
+        serviceCatalog.getSnapshot();
+
+        // Act
+        serviceCatalog.serviceRemoved(1L, 10L);
+
+        // Assert
+        assertEquals(List.of(2L), serviceCatalog.getSnapshot().getServices().stream().map(s -> s.getId()).toList());
+        verify(serviceRepository, times(1)).findAllActive();
+    }
+
+    @Test
+    void providerRenamed_ShouldReloadOnlyThatProvider_WhenProviderRenamed() throws Exception {
+        // Arrange
+        String before = serviceCatalog.getVersionTag();
+        activeServices.get(0).getProvider().setFirstName("Renamed");
+        activeServices.get(1).getProvider().setFirstName("Unreported");
+
+        // Act
+        serviceCatalog.providerRenamed(10L);
+
+        // Assert
+        ServiceCatalogSnapshot after = serviceCatalog.getSnapshot();
+        assertNotEquals(before, serviceCatalog.getVersionTag());
+        assertEquals("Renamed 10", after.getServices(10L).get(0).getProviderName());
+        assertEquals("Provider 20", after.getServices(20L).get(0).getProviderName());
+        verify(serviceRepository, times(1)).findAllActive();
+        verify(serviceRepository).findByProviderIdAndActive(10L, true);
+    }
+
+    @Test
+    void getSnapshot_ShouldPickUpChangesFromOtherInstances_WhenMaxStalenessPassed() {
+        // Arrange - no staleness allowed, so every read reloads
+        serviceCatalog = catalog(Duration.ZERO);
+        ServiceCatalogSnapshot before = serviceCatalog.getSnapshot();
+        activeServices.add(service(3L, 10L, "Shave", true));
+
+        // Act
+        ServiceCatalogSnapshot after = serviceCatalog.getSnapshot();
+
+        // Assert
+        assertTrue(after.getVersion() > before.getVersion());
+        assertEquals(2, after.getServices(10L).size());
+        verify(serviceRepository, times(2)).findAllActive();
+    }
+
+    @Test
+    void getSnapshot_ShouldKeepVersion_WhenReloadFindsNoChanges() {
+        // Arrange
+        serviceCatalog = catalog(Duration.ZERO);
+        ServiceCatalogSnapshot before = serviceCatalog.getSnapshot();
+
+        // Act
+        ServiceCatalogSnapshot after = serviceCatalog.getSnapshot();
+
+        // Assert
+        assertSame(before, after);
+        verify(serviceRepository, times(2)).findAllActive();
+    }
+
+    private ServiceCatalog catalog(Duration maxStaleness) {
+        return new ServiceCatalog(serviceRepository, new ServiceMapper(), objectMapper, transactionManager, maxStaleness);
+    }
+
+    private Service service(Long id, Long providerId, String name, boolean active) {
+        Provider provider = new Provider();
+        provider.setId(providerId);
+        provider.setFirstName("Provider");
+        provider.setLastName(String.valueOf(providerId));
+
+        Service service = new Service();
+        service.setId(id);
+        service.setName(name);
+        service.setDurationMinutes(30);
+        service.setPrice(BigDecimal.TEN);
+        service.setProvider(provider);
+        service.setActive(active);
+        return service;
+    }
+}
@@ -0,0 +1,124 @@
+package VoidSystems.appointment_service.datasource;
+
+import java.time.Duration;
+import java.util.Collections;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the router against two independent H2 databases standing in for primary and replica.
+ */
+public class ReplicaRoutingDataSourceTest {
+
+    private ReadYourWritesTracker readYourWritesTracker;
+    private DataSource routingDataSource;
+    private DataSourceTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        DataSource primary = createNode("primary");
+        DataSource replica = createNode("replica");
+
+        readYourWritesTracker = new ReadYourWritesTracker(Duration.ofSeconds(5), 100);
+        ReplicaRoutingDataSource router = new ReplicaRoutingDataSource(primary, replica, readYourWritesTracker);
+        router.afterPropertiesSet();
+
+        routingDataSource = new LazyConnectionDataSourceProxy(router);
+        transactionManager = new DataSourceTransactionManager(routingDataSource);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readWriteTransaction_ShouldUsePrimary() {
+        assertEquals("primary", currentNode(false));
+    }
+
+    @Test
+    void readOnlyTransaction_ShouldUseReplica() {
+        assertEquals("replica", currentNode(true));
+    }
+
+    @Test
+    void nonTransactionalAccess_ShouldUsePrimary() {
+        String node = new JdbcTemplate(routingDataSource).queryForObject("SELECT name FROM node", String.class);
+
+        assertEquals("primary", node);
+    }
+
+    @Test
+    void readOnlyTransaction_ShouldStickToPrimary_AfterOwnWrite() {
+        authenticateAs("client@test.com");
+        readYourWritesTracker.recordWrite("client@test.com");
+
+        assertEquals("primary", currentNode(true));
+
+        authenticateAs("other@test.com");
+        assertEquals("replica", currentNode(true));
+    }
+
+    @Test
+    void readOnlyTransaction_ShouldReturnToReplica_AfterWindowExpires() throws InterruptedException {
+        readYourWritesTracker = new ReadYourWritesTracker(Duration.ofMillis(10), 100);
+        ReplicaRoutingDataSource router = new ReplicaRoutingDataSource(
+                createNode("primary"), createNode("replica"), readYourWritesTracker);
+        router.afterPropertiesSet();
+        routingDataSource = new LazyConnectionDataSourceProxy(router);
+        transactionManager = new DataSourceTransactionManager(routingDataSource);
+
+        authenticateAs("client@test.com");
+        readYourWritesTracker.recordWrite("client@test.com");
+        Thread.sleep(20);
+
+        assertEquals("replica", currentNode(true));
+    }
+
+    @Test
+    void recordWrite_ShouldStayWithinMaxEntries_WhenManyUsersWrite() {
+        ReadYourWritesTracker tracker = new ReadYourWritesTracker(Duration.ofMinutes(1), 10);
+
+        for (int i = 0; i < 1_000; i++) {
+            tracker.recordWrite("user" + i + "@test.com");
+        }
+
+        assertTrue(tracker.size() <= 10);
+    }
+
+    private String currentNode(boolean readOnly) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(readOnly);
+        return transactionTemplate.execute(status ->
+                new JdbcTemplate(routingDataSource).queryForObject("SELECT name FROM node", String.class));
+    }
+
+    private void authenticateAs(String email) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(email, null, Collections.emptyList()));
+    }
+
+    private DataSource createNode(String name) {
+        DataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:routing_" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("DROP TABLE IF EXISTS node");
+        jdbcTemplate.execute("CREATE TABLE node (name VARCHAR(20))");
+        jdbcTemplate.update("INSERT INTO node (name) VALUES (?)", name);
+        return dataSource;
+    }
+}
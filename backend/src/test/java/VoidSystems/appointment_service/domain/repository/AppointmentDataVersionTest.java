@@ -0,0 +1,59 @@
+package VoidSystems.appointment_service.domain.repository;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AppointmentDataVersionTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 3, 1, 12, 0);
+
+    @Test
+    void toTag_ShouldChange_WhenOnlyAParticipantWasRenamed() {
+        // Arrange
+        AppointmentDataVersion before = version(NOW.minusDays(1), NOW.minusDays(2), null);
+        AppointmentDataVersion after = version(NOW.minusDays(1), NOW, null);
+
+        // Act & Assert
+        assertNotEquals(before.toTag(), after.toTag());
+        assertEquals(before.toTag(), version(NOW.minusDays(1), NOW.minusDays(2), null).toTag());
+    }
+
+    @Test
+    void toTag_ShouldNotFail_WhenThereAreNoAppointments() {
+        // Act & Assert
+        assertEquals("0-0-0", version(null, null, null).toTag());
+    }
+
+    private static AppointmentDataVersion version(LocalDateTime appointments, LocalDateTime clients, LocalDateTime services) {
+        long count = appointments != null ? 1 : 0;
+        return new AppointmentDataVersion() {
+            @Override
+            public long getCount() {
+                return count;
+            }
+
+            @Override
+            public LocalDateTime getLastModified() {
+                return appointments;
+            }
+
+            @Override
+            public LocalDateTime getClientsModified() {
+                return clients;
+            }
+
+            @Override
+            public LocalDateTime getProvidersModified() {
+                return null;
+            }
+
+            @Override
+            public LocalDateTime getServicesModified() {
+                return services;
+            }
+        };
+    }
+}
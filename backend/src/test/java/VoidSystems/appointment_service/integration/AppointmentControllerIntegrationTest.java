@@ -13,6 +13,7 @@ import VoidSystems.appointment_service.domain.repository.ServiceRepository;
 import VoidSystems.appointment_service.domain.repository.ProviderRepository;
 import VoidSystems.appointment_service.domain.repository.UserRepository;
 import VoidSystems.appointment_service.domain.repository.RoleRepository;
+import VoidSystems.appointment_service.service.ProviderAgendaService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -50,6 +51,9 @@ public class AppointmentControllerIntegrationTest {
     @Autowired
     private AppointmentRepository appointmentRepository;
 
+    @Autowired
+    private ProviderAgendaService providerAgendaService;
+
     @Autowired
     private ServiceRepository serviceRepository;
 
@@ -102,6 +106,9 @@ public class AppointmentControllerIntegrationTest {
         LocalDateTime startTime = LocalDateTime.now().plusDays(1).withHour(10).withMinute(0).withSecond(0).withNano(0);
         LocalDateTime endTime = startTime.plusMinutes(testService.getDurationMinutes());
         testAppointment = createTestAppointment(clientUser.getId(), providerUser.getId(), testService.getId(), startTime, endTime, "CONFIRMED");
+
+        // Fixtures bypass the service layer, so regenerate the agenda read model
+        providerAgendaService.rebuild();
     }
 
     @AfterEach
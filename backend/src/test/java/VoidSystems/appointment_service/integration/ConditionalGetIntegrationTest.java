@@ -0,0 +1,261 @@
+package VoidSystems.appointment_service.integration;
+
+import VoidSystems.appointment_service.cache.ServiceCatalog;
+import VoidSystems.appointment_service.config.IntegrationTestConfig;
+import VoidSystems.appointment_service.domain.model.Appointment;
+import VoidSystems.appointment_service.domain.model.AppointmentStatus;
+import VoidSystems.appointment_service.domain.model.Client;
+import VoidSystems.appointment_service.domain.model.Provider;
+import VoidSystems.appointment_service.domain.model.Role;
+import VoidSystems.appointment_service.domain.model.Service;
+import VoidSystems.appointment_service.domain.model.User;
+import VoidSystems.appointment_service.domain.repository.AppointmentRepository;
+import VoidSystems.appointment_service.domain.repository.AppointmentStatusRepository;
+import VoidSystems.appointment_service.domain.repository.RoleRepository;
+import VoidSystems.appointment_service.domain.repository.ServiceRepository;
+import VoidSystems.appointment_service.domain.repository.UserRepository;
+import VoidSystems.appointment_service.dto.service.ServiceDTO;
+import VoidSystems.appointment_service.dto.user.UserDTO;
+import VoidSystems.appointment_service.security.JwtTokenProvider;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * ETag and If-None-Match handling of the cached list endpoints. Not transactional: the service
+ * catalog only applies changes after commit, so fixtures are committed and removed afterwards.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test-only")
+@Import(IntegrationTestConfig.class)
+public class ConditionalGetIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private ServiceRepository serviceRepository;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private AppointmentStatusRepository appointmentStatusRepository;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    @Autowired
+    private ServiceCatalog serviceCatalog;
+
+    private User admin;
+    private Provider provider;
+    private Client client;
+    private Service service;
+    private Appointment appointment;
+    private String adminToken;
+    private String providerToken;
+
+    @BeforeEach
+    void setUp() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+
+        admin = userRepository.save(fill(new User(), "admin-" + suffix, "ROLE_ADMIN"));
+        provider = userRepository.save(fill(new Provider(), "provider-" + suffix, "ROLE_PROVIDER"));
+        client = userRepository.save(fill(new Client(), "client-" + suffix, "ROLE_CLIENT"));
+
+        service = new Service();
+        service.setName("Haircut");
+        service.setDurationMinutes(30);
+        service.setPrice(BigDecimal.TEN);
+        service.setProvider(provider);
+        service.setActive(true);
+        service = serviceRepository.save(service);
+
+        AppointmentStatus confirmed = appointmentStatusRepository.findByName("CONFIRMED")
+                .orElseGet(() -> {
+                    AppointmentStatus status = new AppointmentStatus();
+                    status.setName("CONFIRMED");
+                    return appointmentStatusRepository.save(status);
+                });
+        LocalDateTime start = LocalDateTime.now().plusDays(1).withNano(0);
+        appointment = appointmentRepository.save(Appointment.builder()
+                .client(client)
+                .provider(provider)
+                .service(service)
+                .startTime(start)
+                .endTime(start.plusMinutes(30))
+                .status(confirmed)
+                .build());
+
+        adminToken = jwtTokenProvider.generateToken(admin, "ADMIN");
+        providerToken = jwtTokenProvider.generateToken(provider, "PROVIDER");
+
+        // Fixtures are written through the repositories, so drop any catalog loaded by earlier tests
+        serviceCatalog.invalidate();
+    }
+
+    @AfterEach
+    void tearDown() {
+        appointmentRepository.deleteById(appointment.getId());
+        serviceRepository.deleteById(service.getId());
+        userRepository.deleteAllById(List.of(client.getId(), provider.getId(), admin.getId()));
+        serviceCatalog.invalidate();
+    }
+
+    @Test
+    void getActiveServices_ShouldReturnNotModified_WhenETagMatches() throws Exception {
+        // Arrange
+        String eTag = eTag("/api/services?activeOnly=true", providerToken);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/services").param("activeOnly", "true")
+                        .header("Authorization", "Bearer " + providerToken)
+                        .header("If-None-Match", eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void getActiveServices_ShouldReturnNewETag_WhenServiceUpdated() throws Exception {
+        // Arrange
+        String before = eTag("/api/services?activeOnly=true", providerToken);
+
+        // Act
+        updateService("Beard trim");
+
+        // Assert
+        String after = mockMvc.perform(get("/api/services").param("activeOnly", "true")
+                        .header("Authorization", "Bearer " + providerToken)
+                        .header("If-None-Match", before))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+        assertNotEquals(before, after);
+    }
+
+    @Test
+    void getProviderServices_ShouldReturnNotModifiedUntilServiceUpdated() throws Exception {
+        // Arrange
+        String path = "/api/services/provider/" + provider.getId() + "?activeOnly=true";
+        String before = eTag(path, providerToken);
+        mockMvc.perform(get(path).header("Authorization", "Bearer " + providerToken).header("If-None-Match", before))
+                .andExpect(status().isNotModified());
+
+        // Act
+        updateService("Beard trim");
+
+        // Assert
+        mockMvc.perform(get(path).header("Authorization", "Bearer " + providerToken).header("If-None-Match", before))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"));
+    }
+
+    @Test
+    void getProviderAppointments_ShouldReturnNotModified_WhenETagMatches() throws Exception {
+        // Arrange
+        String path = "/api/appointments/provider/" + provider.getId();
+        String eTag = eTag(path, providerToken);
+
+        // Act & Assert
+        mockMvc.perform(get(path).header("Authorization", "Bearer " + providerToken).header("If-None-Match", eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void getProviderAppointments_ShouldReturnNewETag_WhenClientRenamed() throws Exception {
+        // Arrange
+        String path = "/api/appointments/provider/" + provider.getId();
+        String before = eTag(path, providerToken);
+        UserDTO rename = new UserDTO();
+        rename.setFirstName("Renamed");
+
+        // Act
+        mockMvc.perform(put("/api/users/" + client.getId())
+                        .header("Authorization", "Bearer " + adminToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(rename)))
+                .andExpect(status().isOk());
+
+        // Assert
+        assertNotEquals(before, eTag(path, providerToken));
+    }
+
+    @Test
+    void getProviderAppointments_ShouldReturnNewETag_WhenServiceUpdated() throws Exception {
+        // Arrange
+        String path = "/api/appointments/provider/" + provider.getId();
+        String before = eTag(path, providerToken);
+
+        // Act
+        updateService("Beard trim");
+
+        // Assert
+        assertNotEquals(before, eTag(path, providerToken));
+    }
+
+    private String eTag(String path, String token) throws Exception {
+        String eTag = mockMvc.perform(get(path).header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn().getResponse().getHeader("ETag");
+        assertNotNull(eTag);
+        return eTag;
+    }
+
+    private void updateService(String name) throws Exception {
+        ServiceDTO update = new ServiceDTO();
+        update.setName(name);
+        update.setDurationMinutes(service.getDurationMinutes());
+        update.setPrice(service.getPrice());
+        mockMvc.perform(put("/api/services/" + service.getId())
+                        .header("Authorization", "Bearer " + adminToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(update)))
+                .andExpect(status().isOk());
+    }
+
+    private <T extends User> T fill(T user, String name, String roleName) {
+        Role role = roleRepository.findByName(roleName)
+                .orElseGet(() -> {
+                    Role newRole = new Role();
+                    newRole.setName(roleName);
+                    return roleRepository.save(newRole);
+                });
+        user.setEmail(name + "@example.com");
+        user.setPassword("$2a$10$eDhNCmF9/LNYm/xLcQRLRO9jRBTJ1W6tK2GA.1kkHwGNzFd6oUjfK"); // "password" encoded
+        user.setFirstName(name);
+        user.setLastName("Test");
+        user.setRole(role);
+        return user;
+    }
+}
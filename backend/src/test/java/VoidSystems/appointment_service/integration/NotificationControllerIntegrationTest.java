@@ -7,12 +7,15 @@ import VoidSystems.appointment_service.domain.repository.NotificationRepository;
 import VoidSystems.appointment_service.domain.repository.RoleRepository;
 import VoidSystems.appointment_service.domain.repository.UserRepository;
 import VoidSystems.appointment_service.dto.NotificationDTO;
+import VoidSystems.appointment_service.dto.notification.NotificationChangesResponse;
+import VoidSystems.appointment_service.notification.NotificationCursor;
 import VoidSystems.appointment_service.security.JwtTokenProvider;
 import VoidSystems.appointment_service.service.NotificationService;
 import VoidSystems.appointment_service.config.IntegrationTestConfig;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.MockedStatic;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -28,10 +31,14 @@ import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.security.test.context.support.WithMockUser;
 
+import java.time.Clock;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.mockStatic;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -216,6 +223,45 @@ public class NotificationControllerIntegrationTest {
         assertTrue(notifications.stream().allMatch(Notification::isRead));
     }
 
+    @Test
+    void markAsReadByIds_ShouldReturnAffectedCount() throws Exception {
+        // Act - the second id does not exist and the first is counted once
+        mockMvc.perform(put("/api/notifications/read")
+                .header("Authorization", "Bearer " + jwtToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"ids\":[" + testNotification.getId() + "," + (testNotification.getId() + 1000) + "]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.affected").value(1));
+
+        // Assert
+        assertTrue(notificationRepository.findById(testNotification.getId()).orElseThrow().isRead());
+    }
+
+    @Test
+    void deleteReadNotifications_ShouldKeepUnreadNotifications() throws Exception {
+        // Arrange
+        Notification readNotification = new Notification();
+        readNotification.setUser(testUser);
+        readNotification.setType("READ_TYPE");
+        readNotification.setTitle("Read Title");
+        readNotification.setMessage("Read Message");
+        readNotification.setRead(true);
+        readNotification.setCreatedAt(LocalDateTime.now());
+        notificationRepository.save(readNotification);
+
+        // Act
+        mockMvc.perform(delete("/api/notifications/read")
+                .header("Authorization", "Bearer " + jwtToken)
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.affected").value(1));
+
+        // Assert
+        List<Notification> notifications = notificationRepository.findByUserOrderByCreatedAtDesc(testUser);
+        assertEquals(1, notifications.size());
+        assertEquals(testNotification.getId(), notifications.get(0).getId());
+    }
+
     @Test
     void deleteNotification_ShouldDeleteNotification() throws Exception {
         // Act
@@ -287,6 +333,46 @@ public class NotificationControllerIntegrationTest {
                 .andExpect(status().isUnauthorized()); // Our application returns 401 Unauthorized for accessing other user's resources
     }
 
+    @Test
+    void getChanges_ShouldReturnBulkChanges_WhenDatabaseClockIsBehind() throws Exception {
+        // Arrange
+        Notification readNotification = new Notification();
+        readNotification.setUser(testUser);
+        readNotification.setType("READ_TYPE");
+        readNotification.setTitle("Read Title");
+        readNotification.setMessage("Read Message");
+        readNotification.setRead(true);
+        readNotification.setCreatedAt(LocalDateTime.now());
+        readNotification = notificationRepository.save(readNotification);
+
+        // The application's clock runs hours ahead of the database's
+        Clock ahead = Clock.offset(Clock.systemDefaultZone(), Duration.ofHours(10));
+        try (MockedStatic<LocalDateTime> clock = mockStatic(LocalDateTime.class, CALLS_REAL_METHODS)) {
+            clock.when(LocalDateTime::now).thenAnswer(invocation -> LocalDateTime.now(ahead));
+            String cursor = NotificationCursor.encode(LocalDateTime.now());
+
+            // Act
+            mockMvc.perform(put("/api/notifications/read-all")
+                    .header("Authorization", "Bearer " + jwtToken)
+                    .contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isOk());
+            NotificationChangesResponse afterRead = notificationService.getChangesSince(testUser, cursor);
+            mockMvc.perform(delete("/api/notifications/read")
+                    .header("Authorization", "Bearer " + jwtToken)
+                    .contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.affected").value(2));
+            NotificationChangesResponse afterDelete = notificationService.getChangesSince(testUser, cursor);
+
+            // Assert
+            assertFalse(afterRead.isResync());
+            assertEquals(List.of(testNotification.getId()),
+                    afterRead.getNotifications().stream().map(NotificationDTO::getId).toList());
+            assertFalse(afterDelete.isResync());
+            assertTrue(afterDelete.getDeletedIds().containsAll(List.of(testNotification.getId(), readNotification.getId())));
+        }
+    }
+
     @Test
     void markAsReadDirect_ShouldMarkNotificationAsRead() {
         // Act - Call the service method directly
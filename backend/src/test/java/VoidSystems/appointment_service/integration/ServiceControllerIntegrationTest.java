@@ -1,5 +1,6 @@
 package VoidSystems.appointment_service.integration;
 
+import VoidSystems.appointment_service.cache.ServiceCatalog;
 import VoidSystems.appointment_service.dto.ServiceDTO;
 import VoidSystems.appointment_service.dto.auth.AuthRequest;
 import VoidSystems.appointment_service.dto.auth.AuthResponse;
@@ -60,6 +61,9 @@ public class ServiceControllerIntegrationTest {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private ServiceCatalog serviceCatalog;
+
     private String adminToken;
     private String providerToken;
     private String clientToken;
@@ -90,6 +94,9 @@ public class ServiceControllerIntegrationTest {
 
         // Create a test service
         testService = createTestService("Test Service", "This is a test service", 60, 99.99, providerUser.getId());
+
+        // Fixtures are written through the repositories, so drop any catalog loaded by earlier tests
+        serviceCatalog.invalidate();
     }
 
     @AfterEach
@@ -163,6 +170,22 @@ public class ServiceControllerIntegrationTest {
                 .andExpect(jsonPath("$.data[0].active").value(true));
     }
 
+    @Test
+    void getAllServices_ReturnsNotModified_WhenETagMatches() throws Exception {
+        MvcResult first = mockMvc.perform(get("/api/services")
+                        .param("activeOnly", "true"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn();
+        String eTag = first.getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/services")
+                        .param("activeOnly", "true")
+                        .header("If-None-Match", eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
     @Test
     void getServiceById_ReturnsService() throws Exception {
         mockMvc.perform(get("/api/services/" + testService.getId()))
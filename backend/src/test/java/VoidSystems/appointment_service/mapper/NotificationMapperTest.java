@@ -0,0 +1,159 @@
+package VoidSystems.appointment_service.mapper;
+
+import VoidSystems.appointment_service.domain.model.Notification;
+import VoidSystems.appointment_service.domain.model.User;
+import VoidSystems.appointment_service.domain.repository.NotificationRepository;
+import VoidSystems.appointment_service.domain.repository.NotificationTombstoneRepository;
+import VoidSystems.appointment_service.dto.NotificationDTO;
+import VoidSystems.appointment_service.notification.NotificationCoalescer;
+import VoidSystems.appointment_service.notification.NotificationStreamRegistry;
+import VoidSystems.appointment_service.notification.NotificationWriter;
+import VoidSystems.appointment_service.notification.RecentNotificationCache;
+import VoidSystems.appointment_service.notification.UnreadCountTracker;
+import VoidSystems.appointment_service.service.impl.NotificationServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class NotificationMapperTest {
+
+    private NotificationMapper notificationMapper;
+    private NotificationRepository notificationRepository;
+    private NotificationCoalescer notificationCoalescer;
+    private NotificationServiceImpl notificationService;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        notificationMapper = new NotificationMapper(objectMapper);
+        notificationRepository = mock(NotificationRepository.class);
+        notificationCoalescer = mock(NotificationCoalescer.class);
+        notificationService = new NotificationServiceImpl(notificationRepository, objectMapper, notificationMapper,
+                mock(NotificationStreamRegistry.class), mock(UnreadCountTracker.class), mock(NotificationWriter.class),
+                notificationCoalescer, mock(NotificationTombstoneRepository.class), mock(RecentNotificationCache.class));
+        when(notificationRepository.save(any(Notification.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        user = new User();
+        user.setId(1L);
+    }
+
+    @Test
+    void toDTO_ShouldMergeTypedColumnsIntoData() {
+        // Arrange
+        Notification notification = notification("{\"key\":\"value\"}");
+        notification.setAppointmentId(5L);
+        notification.setServiceName("Test Service");
+        notification.setClientName("Test Client");
+        notification.setDateTime("2023-01-01 10:00 AM");
+
+        // Act
+        NotificationDTO result = notificationMapper.toDTO(notification);
+
+        // Assert
+        assertEquals(Map.of(
+                "key", "value",
+                "appointmentId", 5L,
+                "serviceName", "Test Service",
+                "clientName", "Test Client",
+                "dateTime", "2023-01-01 10:00 AM"), result.getData());
+    }
+
+    @Test
+    void toDTO_ShouldReturnEmptyData_WhenDataIsEmptyObject() {
+        // Act
+        NotificationDTO result = notificationMapper.toDTO(notification(NotificationMapper.EMPTY_DATA));
+
+        // Assert
+        assertEquals(Map.of(), result.getData());
+    }
+
+    @Test
+    void toDTO_ShouldReturnNullData_WhenNoDataAndNoTypedColumns() {
+        // Act
+        NotificationDTO result = notificationMapper.toDTO(notification(null));
+
+        // Assert
+        assertNull(result.getData());
+    }
+
+    @Test
+    void toDTO_ShouldReturnOriginalData_WhenWellKnownKeysStoredInColumns() {
+        // Arrange
+        Map<String, Object> data = new HashMap<>();
+        data.put("appointmentId", 5L);
+        data.put("serviceName", "Test Service");
+        data.put("clientName", "Test Client");
+        data.put("dateTime", "2023-01-01 10:00 AM");
+        data.put("key", "value");
+
+        // Act
+        Notification stored = notificationService.createNotification(user, "TEST_TYPE", "Test Title", "Test Message", data);
+        NotificationDTO result = notificationMapper.toDTO(stored);
+
+        // Assert
+        assertEquals(5L, stored.getAppointmentId());
+        assertEquals("{\"key\":\"value\"}", stored.getData());
+        assertEquals(data, result.getData());
+    }
+
+    @Test
+    void toDTO_ShouldReturnEmptyData_WhenCreatedWithEmptyData() {
+        // Act
+        Notification stored = notificationService.createNotification(user, "TEST_TYPE", "Test Title", "Test Message", Map.of());
+        NotificationDTO result = notificationMapper.toDTO(stored);
+
+        // Assert
+        assertEquals(Map.of(), result.getData());
+    }
+
+    @Test
+    void toDTO_ShouldReturnNullData_WhenCreatedWithoutData() {
+        // Act
+        Notification stored = notificationService.createNotification(user, "TEST_TYPE", "Test Title", "Test Message", null);
+        NotificationDTO result = notificationMapper.toDTO(stored);
+
+        // Assert
+        assertNull(stored.getData());
+        assertNull(result.getData());
+    }
+
+    @Test
+    void toDTO_ShouldReturnAppointmentDetails_WhenQueuedAppointmentNotification() {
+        // Arrange
+        ArgumentCaptor<Notification> queued = ArgumentCaptor.forClass(Notification.class);
+
+        // Act
+        notificationService.createNewAppointmentNotification(user, 5L, "Test Client", "Test Service", "2023-01-01 10:00 AM");
+        verify(notificationCoalescer).submit(queued.capture());
+        NotificationDTO result = notificationMapper.toDTO(queued.getValue());
+
+        // Assert
+        assertEquals(Map.of(
+                "appointmentId", 5L,
+                "serviceName", "Test Service",
+                "clientName", "Test Client",
+                "dateTime", "2023-01-01 10:00 AM"), result.getData());
+    }
+
+    private Notification notification(String data) {
+        Notification notification = new Notification();
+        notification.setId(1L);
+        notification.setUser(user);
+        notification.setType("TEST_TYPE");
+        notification.setTitle("Test Title");
+        notification.setMessage("Test Message");
+        notification.setCreatedAt(LocalDateTime.now());
+        notification.setData(data);
+        return notification;
+    }
+}
@@ -0,0 +1,75 @@
+package VoidSystems.appointment_service.metrics;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.DispatcherServlet;
+import org.springframework.web.servlet.HandlerMapping;
+
+import VoidSystems.appointment_service.exception.BadRequestException;
+import VoidSystems.appointment_service.exception.ForbiddenException;
+import VoidSystems.appointment_service.exception.SlotUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BookingMetricsInterceptorTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private BookingMetricsInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        interceptor = new BookingMetricsInterceptor(meterRegistry);
+    }
+
+    @Test
+    void afterCompletion_ShouldCountConflict_WhenSlotTaken() {
+        // Arrange
+        MockHttpServletRequest request = bookingRequest();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        interceptor.preHandle(request, response, new Object());
+        double inFlight = meterRegistry.get("bookings.in_flight").tag("endpoint", "POST /api/appointments").gauge().value();
+        request.setAttribute(DispatcherServlet.EXCEPTION_ATTRIBUTE, new SlotUnavailableException());
+        response.setStatus(400);
+
+        // Act
+        interceptor.afterCompletion(request, response, new Object(), null);
+
+        // Assert
+        assertEquals(1.0, inFlight);
+        assertEquals(0.0, meterRegistry.get("bookings.in_flight").tag("endpoint", "POST /api/appointments").gauge().value());
+        assertEquals(1.0, meterRegistry.get("bookings.outcomes")
+                .tag("endpoint", "POST /api/appointments").tag("outcome", "conflict").counter().count());
+    }
+
+    @Test
+    void afterCompletion_ShouldIgnoreReads() {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/appointments/check");
+
+        // Act
+        interceptor.preHandle(request, new MockHttpServletResponse(), new Object());
+        interceptor.afterCompletion(request, new MockHttpServletResponse(), new Object(), null);
+
+        // Assert
+        assertTrue(meterRegistry.find("bookings.outcomes").counters().isEmpty());
+    }
+
+    @Test
+    void outcome_ShouldClassifyByException_ThenStatus() {
+        assertEquals("success", BookingMetricsInterceptor.outcome(null, 201));
+        assertEquals("validation", BookingMetricsInterceptor.outcome(new BadRequestException("Start time is required"), 400));
+        assertEquals("forbidden", BookingMetricsInterceptor.outcome(new ForbiddenException("Not yours"), 403));
+        assertEquals("forbidden", BookingMetricsInterceptor.outcome(null, 401));
+        assertEquals("error", BookingMetricsInterceptor.outcome(new IllegalStateException(), 500));
+    }
+
+    private static MockHttpServletRequest bookingRequest() {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/appointments");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/appointments");
+        return request;
+    }
+}
@@ -0,0 +1,106 @@
+package VoidSystems.appointment_service.metrics;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import VoidSystems.appointment_service.exception.QueryBudgetExceededException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class QueryBudgetTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private QueryBudgetChecker checker;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        checker = new QueryBudgetChecker(3, 10);
+    }
+
+    @AfterEach
+    void tearDown() {
+        QueryStatsHolder.clear();
+    }
+
+    @Test
+    void doFilter_ShouldCountOverrunWithoutFailing_WhenResponseAlreadyWritten() throws Exception {
+        // Arrange
+        QueryStatsFilter filter = new QueryStatsFilter(meterRegistry, checker);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/services");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/services");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest req, HttpServletResponse resp) {
+                for (int i = 0; i < 4; i++) {
+                    QueryStatsHolder.current().recordStatement("select " + i, 0);
+                }
+                resp.setStatus(200);
+            }
+        });
+
+        // Act
+        filter.doFilter(request, response, chain);
+
+        // Assert
+        assertEquals(200, response.getStatus());
+        assertEquals(1.0, meterRegistry.get("jdbc.request.budget.exceeded")
+                .tag("uri", "/api/services").tag("reason", QueryBudgetChecker.REASON_STATEMENTS).counter().count());
+    }
+
+    @Test
+    void beforeBodyWrite_ShouldFailBeforeBodyIsWritten_WhenOverAnnotatedBudget() throws Exception {
+        // Arrange
+        QueryBudgetAdvice advice = new QueryBudgetAdvice(checker, true);
+        QueryStats stats = QueryStatsHolder.begin();
+        stats.recordStatement("select 1", 0);
+        stats.recordStatement("select 2", 0);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/things");
+        MethodParameter returnType = new MethodParameter(BudgetedController.class.getMethod("list"), -1);
+
+        // Act & Assert - within the default budget, but not within the method's own
+        assertTrue(advice.supports(returnType, MappingJackson2HttpMessageConverter.class));
+        assertThrows(QueryBudgetExceededException.class, () -> write(advice, returnType, request));
+        // The error response replacing the body is written normally
+        assertEquals("body", write(advice, returnType, request));
+    }
+
+    @Test
+    void supports_ShouldBeFalse_WhenNotFailingOnExceed() throws Exception {
+        // Arrange
+        QueryBudgetAdvice advice = new QueryBudgetAdvice(checker, false);
+        MethodParameter returnType = new MethodParameter(BudgetedController.class.getMethod("list"), -1);
+
+        // Act & Assert
+        assertFalse(advice.supports(returnType, MappingJackson2HttpMessageConverter.class));
+    }
+
+    private static Object write(QueryBudgetAdvice advice, MethodParameter returnType, MockHttpServletRequest request) {
+        return advice.beforeBodyWrite("body", returnType, MediaType.APPLICATION_JSON,
+                MappingJackson2HttpMessageConverter.class,
+                new ServletServerHttpRequest(request), new ServletServerHttpResponse(new MockHttpServletResponse()));
+    }
+
+    static class BudgetedController {
+
+        @QueryBudget(maxStatements = 1)
+        public String list() {
+            return "body";
+        }
+    }
+}
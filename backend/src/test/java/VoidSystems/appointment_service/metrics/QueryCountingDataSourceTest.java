@@ -0,0 +1,73 @@
+package VoidSystems.appointment_service.metrics;
+
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class QueryCountingDataSourceTest {
+
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource target = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(new QueryCountingDataSource(target));
+        jdbcTemplate.execute("CREATE TABLE item (id INT PRIMARY KEY, name VARCHAR(50))");
+        jdbcTemplate.update("INSERT INTO item VALUES (1, 'a'), (2, 'b'), (3, 'c')");
+    }
+
+    @AfterEach
+    void tearDown() {
+        QueryStatsHolder.clear();
+    }
+
+    @Test
+    void query_ShouldCountStatementsAndRows_WhenStatsBound() {
+        // Arrange
+        QueryStats stats = QueryStatsHolder.begin();
+
+        // Act
+        jdbcTemplate.queryForList("SELECT name FROM item", String.class);
+        jdbcTemplate.update("UPDATE item SET name = ? WHERE id = ?", "z", 1);
+
+        // Assert
+        assertEquals(2, stats.getStatementCount());
+        assertEquals(3, stats.getRowCount());
+        assertTrue(stats.getJdbcNanos() > 0);
+    }
+
+    @Test
+    void query_ShouldReportMostRepeatedStatement_WhenSameSqlExecutedInLoop() {
+        // Arrange
+        QueryStats stats = QueryStatsHolder.begin();
+
+        // Act
+        for (int id = 1; id <= 3; id++) {
+            jdbcTemplate.queryForObject("SELECT name FROM item WHERE id = ?", String.class, id);
+        }
+        jdbcTemplate.queryForList("SELECT id FROM item", Integer.class);
+
+        // Assert
+        Map.Entry<String, Integer> repeated = stats.getMostRepeatedStatement();
+        assertNotNull(repeated);
+        assertEquals("SELECT name FROM item WHERE id = ?", repeated.getKey());
+        assertEquals(3, repeated.getValue());
+    }
+
+    @Test
+    void query_ShouldNotRecord_WhenNoStatsBound() {
+        // Act
+        jdbcTemplate.queryForList("SELECT name FROM item", String.class);
+
+        // Assert
+        assertNull(QueryStatsHolder.current());
+    }
+}
@@ -0,0 +1,71 @@
+package VoidSystems.appointment_service.notification;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import VoidSystems.appointment_service.domain.model.Appointment;
+import VoidSystems.appointment_service.domain.repository.AppointmentRepository;
+import VoidSystems.appointment_service.service.NotificationService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class AppointmentReminderSchedulerTest {
+
+    private AppointmentRepository appointmentRepository;
+    private NotificationService notificationService;
+    private SimpleMeterRegistry meterRegistry;
+    private AppointmentReminderScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        appointmentRepository = mock(AppointmentRepository.class);
+        notificationService = mock(NotificationService.class);
+        meterRegistry = new SimpleMeterRegistry();
+        scheduler = new AppointmentReminderScheduler(appointmentRepository, notificationService,
+                mock(PlatformTransactionManager.class), meterRegistry, true,
+                Duration.ofHours(24), Duration.ofHours(1), Duration.ofMinutes(5), 10);
+    }
+
+    @Test
+    void sendDueReminders_ShouldRemindClaimedAppointments_AndMarkThemSent() {
+        // Arrange
+        List<Long> candidates = List.of(1L, 2L);
+        List<Appointment> claimed = List.of(Appointment.builder().id(1L).build());
+        when(appointmentRepository.findReminderCandidates(any(), any(), anyCollection(), any(), any(Pageable.class)))
+                .thenReturn(candidates);
+        when(appointmentRepository.claimReminders(eq(candidates), anyString(), any(), any())).thenReturn(1);
+        when(appointmentRepository.findClaimedReminders(eq(candidates), anyString(), anyCollection())).thenReturn(claimed);
+
+        // Act
+        scheduler.sendDueReminders();
+
+        // Assert
+        verify(notificationService).createAppointmentReminderNotifications(claimed);
+        verify(appointmentRepository).markReminded(eq(candidates), anyString(), any());
+        assertEquals(1.0, meterRegistry.get("appointments.reminders.sent").counter().count());
+        assertEquals(1.0, meterRegistry.get("appointments.reminders.contended").counter().count());
+    }
+
+    @Test
+    void sendDueReminders_ShouldSkipBatch_WhenAnotherNodeClaimedIt() {
+        // Arrange
+        when(appointmentRepository.findReminderCandidates(any(), any(), anyCollection(), any(), any(Pageable.class)))
+                .thenReturn(List.of(1L));
+        when(appointmentRepository.claimReminders(anyCollection(), anyString(), any(), any())).thenReturn(0);
+
+        // Act
+        scheduler.sendDueReminders();
+
+        // Assert
+        verifyNoInteractions(notificationService);
+        verify(appointmentRepository, never()).markReminded(anyCollection(), anyString(), any());
+    }
+}
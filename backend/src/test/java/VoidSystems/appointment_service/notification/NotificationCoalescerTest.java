@@ -0,0 +1,90 @@
+package VoidSystems.appointment_service.notification;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import VoidSystems.appointment_service.domain.model.Notification;
+import VoidSystems.appointment_service.domain.model.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class NotificationCoalescerTest {
+
+    private NotificationWriter notificationWriter;
+    private SimpleMeterRegistry meterRegistry;
+    private NotificationCoalescer coalescer;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        notificationWriter = mock(NotificationWriter.class);
+        meterRegistry = new SimpleMeterRegistry();
+        coalescer = new NotificationCoalescer(notificationWriter, meterRegistry, Duration.ofMillis(200));
+        user = new User();
+        user.setId(1L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        coalescer.shutdown();
+    }
+
+    @Test
+    void submit_ShouldWriteOnlyLatest_WhenSameAppointmentChangesWithinWindow() {
+        // Arrange
+        Notification confirmed = notification("APPOINTMENT_CONFIRMED", 10L);
+        Notification cancelled = notification("APPOINTMENT_CANCELLED", 10L);
+
+        // Act
+        coalescer.submit(confirmed);
+        coalescer.submit(cancelled);
+
+        // Assert
+        verify(notificationWriter, never()).enqueue(any());
+        verify(notificationWriter, timeout(2000)).enqueue(cancelled);
+        verify(notificationWriter, after(300).times(1)).enqueue(any());
+        assertEquals(1.0, meterRegistry.get("notifications.coalesced").counter().count());
+    }
+
+    @Test
+    void submit_ShouldPassThrough_WhenNoAppointment() {
+        // Arrange
+        Notification general = notification("GENERAL", null);
+
+        // Act
+        coalescer.submit(general);
+
+        // Assert
+        verify(notificationWriter).enqueue(general);
+    }
+
+    @Test
+    void shutdown_ShouldWriteHeldNotifications() {
+        // Arrange
+        Notification first = notification("APPOINTMENT_CONFIRMED", 10L);
+        Notification other = notification("APPOINTMENT_CONFIRMED", 11L);
+        coalescer.submit(first);
+        coalescer.submit(other);
+
+        // Act
+        coalescer.shutdown();
+
+        // Assert
+        verify(notificationWriter).enqueue(first);
+        verify(notificationWriter).enqueue(other);
+    }
+
+    private Notification notification(String type, Long appointmentId) {
+        return Notification.builder()
+                .user(user)
+                .type(type)
+                .appointmentId(appointmentId)
+                .build();
+    }
+}
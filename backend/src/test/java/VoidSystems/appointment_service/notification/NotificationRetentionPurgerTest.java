@@ -0,0 +1,72 @@
+package VoidSystems.appointment_service.notification;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import VoidSystems.appointment_service.domain.repository.NotificationRef;
+import VoidSystems.appointment_service.domain.repository.NotificationRepository;
+import VoidSystems.appointment_service.domain.repository.NotificationTombstoneRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class NotificationRetentionPurgerTest {
+
+    private NotificationRepository notificationRepository;
+    private NotificationTombstoneRepository notificationTombstoneRepository;
+    private UnreadCountTracker unreadCountTracker;
+    private SimpleMeterRegistry meterRegistry;
+    private NotificationRetentionPurger purger;
+
+    @BeforeEach
+    void setUp() {
+        notificationRepository = mock(NotificationRepository.class);
+        unreadCountTracker = mock(UnreadCountTracker.class);
+        meterRegistry = new SimpleMeterRegistry();
+        notificationTombstoneRepository = mock(NotificationTombstoneRepository.class);
+        purger = new NotificationRetentionPurger(notificationRepository, notificationTombstoneRepository, unreadCountTracker,
+                mock(RecentNotificationCache.class),
+                mock(PlatformTransactionManager.class), meterRegistry, true,
+                Duration.ofDays(30), Duration.ofDays(180), Duration.ofDays(7), 0, 2, Duration.ZERO);
+    }
+
+    @Test
+    void purge_ShouldDeleteInPrimaryKeyOrderedChunks() {
+        // Arrange - a full chunk, then a partial one that ends the walk
+        List<NotificationRef> firstChunk = List.of(ref(1L, 10L), ref(2L, 10L));
+        List<NotificationRef> lastChunk = List.of(ref(5L, 11L));
+        List<NotificationRef> unread = List.of(ref(3L, 12L));
+        when(notificationRepository.findCreatedBefore(eq(true), any(), eq(0L), any(Pageable.class))).thenReturn(firstChunk);
+        when(notificationRepository.findCreatedBefore(eq(true), any(), eq(2L), any(Pageable.class))).thenReturn(lastChunk);
+        when(notificationRepository.findCreatedBefore(eq(false), any(), eq(0L), any(Pageable.class))).thenReturn(unread);
+
+        // Act
+        purger.purge();
+
+        // Assert
+        verify(notificationRepository).purgeByIds(List.of(1L, 2L));
+        verify(notificationRepository).purgeByIds(List.of(5L));
+        verify(notificationRepository).purgeByIds(List.of(3L));
+        verify(notificationTombstoneRepository).recordPurged(eq(List.of(1L, 2L)), any(LocalDateTime.class));
+        verify(notificationRepository, never()).findCreatedBefore(eq(true), any(), eq(5L), any(Pageable.class));
+        verify(unreadCountTracker).forget(12L);
+        verify(unreadCountTracker, never()).forget(10L);
+        assertEquals(4.0, meterRegistry.get("notifications.retention.run_purged").summary().totalAmount());
+        verify(notificationRepository, never()).findUserIdsWithMoreThan(anyLong());
+    }
+
+    private static NotificationRef ref(Long id, Long userId) {
+        NotificationRef ref = mock(NotificationRef.class);
+        when(ref.getId()).thenReturn(id);
+        when(ref.getUserId()).thenReturn(userId);
+        return ref;
+    }
+}
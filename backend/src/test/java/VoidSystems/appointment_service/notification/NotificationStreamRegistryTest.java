@@ -0,0 +1,85 @@
+package VoidSystems.appointment_service.notification;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import VoidSystems.appointment_service.dto.NotificationDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class NotificationStreamRegistryTest {
+
+    private final Deque<SseEmitter> emitters = new ArrayDeque<>();
+    private NotificationStreamRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new NotificationStreamRegistry(new SimpleMeterRegistry(), Duration.ofMinutes(30), 8, 1) {
+            @Override
+            SseEmitter newEmitter() {
+                SseEmitter emitter = mock(SseEmitter.class);
+                emitters.add(emitter);
+                return emitter;
+            }
+        };
+    }
+
+    @AfterEach
+    void tearDown() {
+        registry.shutdown();
+    }
+
+    @Test
+    void sendHeartbeats_ShouldWriteToEveryOpenStream() throws Exception {
+        // Arrange
+        registry.subscribe(1L, List::of);
+        registry.subscribe(2L, List::of);
+
+        // Act
+        registry.sendHeartbeats();
+
+        // Assert
+        for (SseEmitter emitter : emitters) {
+            verify(emitter, timeout(1000)).send(any(SseEmitter.SseEventBuilder.class));
+        }
+    }
+
+    @Test
+    void sendHeartbeats_ShouldRunOnTheConfiguredInterval() throws Exception {
+        // Act
+        Scheduled scheduled = NotificationStreamRegistry.class.getMethod("sendHeartbeats").getAnnotation(Scheduled.class);
+
+        // Assert
+        assertNotNull(scheduled);
+        assertEquals("${app.notifications.stream.heartbeat-interval:PT15S}", scheduled.fixedRateString());
+    }
+
+    @Test
+    void publishNotification_ShouldOnlyReachTheUsersStreams() throws Exception {
+        // Arrange
+        registry.subscribe(1L, List::of);
+        registry.subscribe(2L, List::of);
+        SseEmitter first = emitters.getFirst();
+        SseEmitter second = emitters.getLast();
+
+        // Act
+        registry.publishNotification(1L, NotificationDTO.builder().id(7L).type("TEST_TYPE").build());
+
+        // Assert
+        verify(first, timeout(1000)).send(any(SseEmitter.SseEventBuilder.class));
+        verify(second, after(100).never()).send(any(SseEmitter.SseEventBuilder.class));
+        assertTrue(registry.hasSubscribers(1L));
+        assertFalse(registry.hasSubscribers(3L));
+    }
+}
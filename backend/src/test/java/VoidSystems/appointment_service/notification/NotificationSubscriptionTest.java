@@ -0,0 +1,99 @@
+package VoidSystems.appointment_service.notification;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import VoidSystems.appointment_service.dto.NotificationDTO;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class NotificationSubscriptionTest {
+
+    private SseEmitter emitter;
+
+    @BeforeEach
+    void setUp() {
+        emitter = mock(SseEmitter.class);
+    }
+
+    @Test
+    void offer_ShouldCloseEmitter_WhenBufferOverflows() throws Exception {
+        // Arrange - a dispatcher that never gets to drain
+        List<Runnable> pendingDrains = new ArrayList<>();
+        NotificationSubscription subscription = new NotificationSubscription(1L, emitter, 2, pendingDrains::add);
+        subscription.start(List.of());
+
+        // Act
+        boolean first = subscription.offer(notification(1L));
+        boolean second = subscription.offer(notification(2L));
+        boolean overflow = subscription.offer(notification(3L));
+
+        // Assert
+        assertTrue(first);
+        assertTrue(second);
+        assertFalse(overflow);
+        assertTrue(subscription.isClosed());
+        verify(emitter).complete();
+        assertFalse(subscription.offer(notification(4L)));
+    }
+
+    @Test
+    void offer_ShouldDropHeartbeat_WhenBufferIsFull() {
+        // Arrange
+        List<Runnable> pendingDrains = new ArrayList<>();
+        NotificationSubscription subscription = new NotificationSubscription(1L, emitter, 1, pendingDrains::add);
+        subscription.start(List.of());
+        subscription.offer(notification(1L));
+
+        // Act
+        boolean accepted = subscription.offer(NotificationStreamEvent.HEARTBEAT);
+
+        // Assert
+        assertTrue(accepted);
+        assertFalse(subscription.isClosed());
+        verify(emitter, never()).complete();
+    }
+
+    @Test
+    void offer_ShouldSkipLiveNotifications_AlreadySentByReplay() throws Exception {
+        // Arrange - notification 2 is published while the replay that includes it is being sent
+        Executor direct = Runnable::run;
+        NotificationSubscription subscription = new NotificationSubscription(1L, emitter, 8, direct);
+        subscription.offer(notification(2L));
+        subscription.start(List.of(notification(1L), notification(2L), NotificationStreamEvent.unreadCount(2)));
+
+        // Act
+        subscription.offer(notification(2L));
+        subscription.offer(notification(3L));
+
+        // Assert - 1, 2 and the count from the replay, then only 3
+        verify(emitter, times(4)).send(any(SseEmitter.SseEventBuilder.class));
+    }
+
+    @Test
+    void start_ShouldHoldLiveEvents_UntilReplayIsSent() throws Exception {
+        // Arrange
+        List<Runnable> pendingDrains = new ArrayList<>();
+        NotificationSubscription subscription = new NotificationSubscription(1L, emitter, 8, pendingDrains::add);
+
+        // Act
+        subscription.offer(notification(5L));
+
+        // Assert
+        assertTrue(pendingDrains.isEmpty());
+        subscription.start(List.of(notification(4L)));
+        assertEquals(1, pendingDrains.size());
+        verify(emitter, times(1)).send(any(SseEmitter.SseEventBuilder.class));
+    }
+
+    private static NotificationStreamEvent notification(Long id) {
+        return NotificationStreamEvent.notification(NotificationDTO.builder().id(id).type("TEST_TYPE").build());
+    }
+}
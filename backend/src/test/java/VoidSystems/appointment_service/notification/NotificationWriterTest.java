@@ -0,0 +1,233 @@
+package VoidSystems.appointment_service.notification;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+
+import VoidSystems.appointment_service.domain.model.Notification;
+import VoidSystems.appointment_service.domain.model.User;
+import VoidSystems.appointment_service.mapper.NotificationMapper;
+import VoidSystems.appointment_service.notification.delivery.NotificationDeliveryDispatcher;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class NotificationWriterTest {
+
+    private static final AtomicInteger DATABASES = new AtomicInteger();
+    private static final long KNOWN_USER = 1L;
+    private static final long DELETED_USER = 2L;
+
+    private JdbcDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private NotificationDeliveryDispatcher deliveryDispatcher;
+    private SimpleMeterRegistry meterRegistry;
+    private NotificationWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:notification-writer-" + DATABASES.incrementAndGet() + ";MODE=MySQL;DB_CLOSE_DELAY=-1");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE users (id BIGINT PRIMARY KEY)");
+        jdbcTemplate.execute("CREATE TABLE notifications (id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+                + "user_id BIGINT NOT NULL REFERENCES users(id), type VARCHAR(50), title VARCHAR(255), "
+                + "message VARCHAR(1000), `read` BOOLEAN, created_at TIMESTAMP(6), updated_at TIMESTAMP(6), "
+                + "appointment_id BIGINT, service_name VARCHAR(255), client_name VARCHAR(255), "
+                + "date_time VARCHAR(255), data VARCHAR(4000))");
+        jdbcTemplate.update("INSERT INTO users (id) VALUES (?)", KNOWN_USER);
+        deliveryDispatcher = mock(NotificationDeliveryDispatcher.class);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (writer != null) {
+            writer.shutdown();
+        }
+        jdbcTemplate.execute("SHUTDOWN");
+    }
+
+    @Test
+    void enqueue_ShouldFlushOneBatch_WhenBatchSizeReached() {
+        // Arrange - the interval alone would not flush within the test
+        writer = writer(100, 3, Duration.ofSeconds(30), Duration.ofMillis(100));
+
+        // Act
+        writer.enqueue(notification(KNOWN_USER));
+        writer.enqueue(notification(KNOWN_USER));
+        writer.enqueue(notification(KNOWN_USER));
+
+        // Assert
+        awaitRows(3);
+        assertEquals(1, meterRegistry.get("notifications.writer.batch_size").summary().count());
+        assertEquals(3, meterRegistry.get("notifications.writer.batch_size").summary().totalAmount());
+    }
+
+    @Test
+    void enqueue_ShouldFlushPartialBatch_WhenFlushIntervalPasses() {
+        // Arrange
+        writer = writer(100, 50, Duration.ofMillis(100), Duration.ofMillis(100));
+
+        // Act
+        writer.enqueue(notification(KNOWN_USER));
+        writer.enqueue(notification(KNOWN_USER));
+
+        // Assert
+        awaitRows(2);
+        assertEquals(1, meterRegistry.get("notifications.writer.batch_size").summary().count());
+    }
+
+    @Test
+    void enqueue_ShouldWriteOnCallersThread_WhenQueueStaysFull() throws Exception {
+        // Arrange - the writer thread is held up handing its first batch to delivery
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch writerBusy = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            if (Thread.currentThread().getName().equals("notification-writer")) {
+                writerBusy.countDown();
+                release.await(5, TimeUnit.SECONDS);
+            }
+            return null;
+        }).when(deliveryDispatcher).dispatch(any(Notification.class));
+        writer = writer(1, 1, Duration.ofMillis(10), Duration.ofMillis(50));
+        writer.enqueue(notification(KNOWN_USER));
+        assertTrue(writerBusy.await(5, TimeUnit.SECONDS));
+        writer.enqueue(notification(KNOWN_USER));
+
+        // Act
+        Notification overflow = notification(KNOWN_USER);
+        writer.enqueue(overflow);
+
+        // Assert
+        assertNotNull(overflow.getId());
+        assertEquals(1, meterRegistry.get("notifications.writer.caller_writes").counter().count());
+        assertEquals(2, rows());
+        release.countDown();
+        awaitRows(3);
+    }
+
+    @Test
+    void enqueue_ShouldRetryRowByRow_WhenBatchFails() {
+        // Arrange - one notification's user was deleted before the batch ran
+        writer = writer(100, 3, Duration.ofSeconds(30), Duration.ofMillis(100));
+
+        // Act
+        writer.enqueue(notification(KNOWN_USER));
+        writer.enqueue(notification(DELETED_USER));
+        writer.enqueue(notification(KNOWN_USER));
+
+        // Assert
+        awaitRows(2);
+        awaitCount("notifications.writer.failed", 1);
+        assertEquals(2, meterRegistry.get("notifications.writer.written").counter().count());
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM notifications WHERE user_id = ?", Integer.class, DELETED_USER));
+    }
+
+    @Test
+    void shutdown_ShouldDrainQueuedNotifications() throws Exception {
+        // Arrange - notifications pile up while the writer is held up
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch writerBusy = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            if (Thread.currentThread().getName().equals("notification-writer")) {
+                writerBusy.countDown();
+                release.await(5, TimeUnit.SECONDS);
+            }
+            return null;
+        }).when(deliveryDispatcher).dispatch(any(Notification.class));
+        writer = writer(100, 5, Duration.ofMillis(50), Duration.ofMillis(100));
+        writer.enqueue(notification(KNOWN_USER));
+        assertTrue(writerBusy.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 20; i++) {
+            writer.enqueue(notification(KNOWN_USER));
+        }
+
+        // Act
+        Thread stopping = new Thread(writer::shutdown);
+        stopping.start();
+        Thread.sleep(100);
+        release.countDown();
+        stopping.join(5000);
+
+        // Assert
+        assertFalse(stopping.isAlive());
+        assertEquals(21, rows());
+    }
+
+    @Test
+    void enqueue_ShouldStampUpdatedAtWhenWritten_WhenNotificationWasHeldBack() {
+        // Arrange - e.g. held by the coalescer before reaching the writer
+        writer = writer(100, 1, Duration.ofMillis(10), Duration.ofMillis(100));
+        Notification held = notification(KNOWN_USER);
+        held.setCreatedAt(LocalDateTime.now().minusMinutes(1));
+        LocalDateTime beforeWrite = LocalDateTime.now();
+
+        // Act
+        writer.enqueue(held);
+
+        // Assert
+        awaitRows(1);
+        LocalDateTime updatedAt = jdbcTemplate.queryForObject(
+                "SELECT updated_at FROM notifications", LocalDateTime.class);
+        assertFalse(updatedAt.isBefore(beforeWrite));
+        assertTrue(held.getCreatedAt().isBefore(beforeWrite));
+    }
+
+    private NotificationWriter writer(int queueCapacity, int batchSize, Duration flushInterval, Duration enqueueTimeout) {
+        return new NotificationWriter(dataSource,
+                new DataSourceTransactionManager(dataSource),
+                mock(UnreadCountTracker.class),
+                mock(NotificationStreamRegistry.class),
+                mock(NotificationMapper.class),
+                deliveryDispatcher,
+                mock(RecentNotificationCache.class),
+                meterRegistry,
+                queueCapacity, batchSize, flushInterval, enqueueTimeout, Duration.ofSeconds(5));
+    }
+
+    private static Notification notification(long userId) {
+        User user = new User();
+        user.setId(userId);
+        return Notification.builder()
+                .user(user)
+                .type("TEST_TYPE")
+                .title("Test Title")
+                .message("Test Message")
+                .read(false)
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+
+    private int rows() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM notifications", Integer.class);
+    }
+
+    private void awaitRows(int expected) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (rows() < expected && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertEquals(expected, rows());
+    }
+
+    private void awaitCount(String counter, double expected) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get(counter).counter().count() < expected && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertEquals(expected, meterRegistry.get(counter).counter().count());
+    }
+}
@@ -0,0 +1,160 @@
+package VoidSystems.appointment_service.notification;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import VoidSystems.appointment_service.domain.model.Notification;
+import VoidSystems.appointment_service.domain.model.User;
+import VoidSystems.appointment_service.domain.repository.NotificationRepository;
+import VoidSystems.appointment_service.dto.NotificationDTO;
+import VoidSystems.appointment_service.mapper.NotificationMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class RecentNotificationCacheTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 3, 1, 12, 0);
+
+    private NotificationRepository notificationRepository;
+    private NotificationMapper notificationMapper;
+    private RecentNotificationCache cache;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        notificationRepository = mock(NotificationRepository.class);
+        notificationMapper = mock(NotificationMapper.class);
+        cache = new RecentNotificationCache(notificationRepository, notificationMapper,
+                mock(PlatformTransactionManager.class), new SimpleMeterRegistry(), 3, 100, Duration.ofMinutes(30), Duration.ofMinutes(1));
+        user = new User();
+        user.setId(1L);
+    }
+
+    @Test
+    void page_ShouldLoadOnce_ThenServeNewestFromMemory() {
+        // Arrange - 2 held of 5 stored, then one more arrives
+        Notification second = notification(2L, 2);
+        Notification first = notification(1L, 1);
+        when(notificationMapper.toDTO(any(Notification.class))).thenAnswer(invocation -> dto(invocation.getArgument(0)));
+        when(notificationRepository.findByUserOrderByCreatedAtDesc(eq(user), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(second, first), PageRequest.of(0, 3), 5));
+
+        // Act
+        cache.page(user, PageRequest.of(0, 2));
+        cache.added(1L, () -> dto(notification(6L, 6)));
+        Page<NotificationDTO> page = cache.page(user, PageRequest.of(0, 3));
+
+        // Assert
+        assertEquals(List.of(6L, 2L, 1L), page.getContent().stream().map(NotificationDTO::getId).toList());
+        assertEquals(6, page.getTotalElements());
+        verify(notificationRepository, times(1)).findByUserOrderByCreatedAtDesc(eq(user), any(Pageable.class));
+    }
+
+    @Test
+    void page_ShouldDecline_WhenPageReachesPastHeldNotifications() {
+        // Arrange
+        Notification only = notification(1L, 1);
+        when(notificationMapper.toDTO(any(Notification.class))).thenAnswer(invocation -> dto(invocation.getArgument(0)));
+        when(notificationRepository.findByUserOrderByCreatedAtDesc(eq(user), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(only), PageRequest.of(0, 3), 10));
+
+        // Act & Assert
+        assertNull(cache.page(user, PageRequest.of(1, 3)));
+        assertNull(cache.page(user, PageRequest.of(0, 2)));
+    }
+
+    @Test
+    void markedRead_ShouldReplaceMatchingEntries() {
+        // Arrange
+        Notification second = notification(2L, 2);
+        Notification first = notification(1L, 1);
+        when(notificationMapper.toDTO(any(Notification.class))).thenAnswer(invocation -> dto(invocation.getArgument(0)));
+        when(notificationRepository.findByUserOrderByCreatedAtDesc(eq(user), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(second, first), PageRequest.of(0, 3), 2));
+        NotificationDTO before = cache.page(user, PageRequest.of(0, 3)).getContent().get(1);
+
+        // Act
+        cache.markedRead(1L, n -> n.getId().equals(1L));
+        Page<NotificationDTO> page = cache.page(user, PageRequest.of(0, 3));
+
+        // Assert
+        assertFalse(before.isRead());
+        assertFalse(page.getContent().get(0).isRead());
+        assertTrue(page.getContent().get(1).isRead());
+    }
+
+    @Test
+    void page_ShouldNotKeepLoad_WhenNotificationAddedWhileLoading() {
+        // Arrange - a notification is reported while the first load is querying
+        Notification first = notification(1L, 1);
+        Notification second = notification(2L, 2);
+        when(notificationMapper.toDTO(any(Notification.class))).thenAnswer(invocation -> dto(invocation.getArgument(0)));
+        when(notificationRepository.findByUserOrderByCreatedAtDesc(eq(user), any(Pageable.class)))
+                .thenAnswer(invocation -> {
+                    cache.added(1L, () -> dto(second));
+                    return new PageImpl<>(List.of(first), PageRequest.of(0, 3), 1);
+                })
+                .thenReturn(new PageImpl<>(List.of(second, first), PageRequest.of(0, 3), 2));
+
+        // Act
+        Page<NotificationDTO> during = cache.page(user, PageRequest.of(0, 3));
+        Page<NotificationDTO> after = cache.page(user, PageRequest.of(0, 3));
+
+        // Assert
+        assertEquals(List.of(1L), during.getContent().stream().map(NotificationDTO::getId).toList());
+        assertEquals(List.of(2L, 1L), after.getContent().stream().map(NotificationDTO::getId).toList());
+        verify(notificationRepository, times(2)).findByUserOrderByCreatedAtDesc(eq(user), any(Pageable.class));
+    }
+
+    @Test
+    void page_ShouldReload_WhenHeldListIsOlderThanMaxStaleness() {
+        // Arrange
+        cache = new RecentNotificationCache(notificationRepository, notificationMapper,
+                mock(PlatformTransactionManager.class), new SimpleMeterRegistry(), 3, 100, Duration.ofMinutes(30), Duration.ZERO);
+        Notification first = notification(1L, 1);
+        Notification second = notification(2L, 2);
+        when(notificationMapper.toDTO(any(Notification.class))).thenAnswer(invocation -> dto(invocation.getArgument(0)));
+        when(notificationRepository.findByUserOrderByCreatedAtDesc(eq(user), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(first), PageRequest.of(0, 3), 1))
+                .thenReturn(new PageImpl<>(List.of(second, first), PageRequest.of(0, 3), 2));
+
+        // Act - the second notification was written on another instance
+        cache.page(user, PageRequest.of(0, 3));
+        Page<NotificationDTO> page = cache.page(user, PageRequest.of(0, 3));
+
+        // Assert
+        assertEquals(List.of(2L, 1L), page.getContent().stream().map(NotificationDTO::getId).toList());
+    }
+
+    private Notification notification(Long id, int minutes) {
+        return Notification.builder()
+                .id(id)
+                .user(user)
+                .type("TEST_TYPE")
+                .read(false)
+                .createdAt(NOW.plusMinutes(minutes))
+                .build();
+    }
+
+    private static NotificationDTO dto(Notification notification) {
+        return NotificationDTO.builder()
+                .id(notification.getId())
+                .type(notification.getType())
+                .read(notification.isRead())
+                .createdAt(notification.getCreatedAt())
+                .build();
+    }
+}
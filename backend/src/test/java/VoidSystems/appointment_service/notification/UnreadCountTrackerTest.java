@@ -0,0 +1,79 @@
+package VoidSystems.appointment_service.notification;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import VoidSystems.appointment_service.domain.repository.NotificationRepository;
+import VoidSystems.appointment_service.domain.repository.UnreadCount;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+public class UnreadCountTrackerTest {
+
+    private NotificationRepository notificationRepository;
+    private SimpleMeterRegistry meterRegistry;
+    private UnreadCountTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        notificationRepository = mock(NotificationRepository.class);
+        meterRegistry = new SimpleMeterRegistry();
+        tracker = new UnreadCountTracker(notificationRepository, mock(PlatformTransactionManager.class), meterRegistry, 100);
+    }
+
+    @Test
+    void get_ShouldLoadOnce_ThenApplyDeltas() {
+        // Arrange
+        when(notificationRepository.countUnreadByUserId(1L)).thenReturn(3L);
+
+        // Act
+        long seeded = tracker.get(1L);
+        tracker.adjust(1L, 1);
+        tracker.adjust(1L, -2);
+
+        // Assert
+        assertEquals(3L, seeded);
+        assertEquals(2L, tracker.get(1L));
+        verify(notificationRepository, times(1)).countUnreadByUserId(1L);
+    }
+
+    @Test
+    void adjust_ShouldIgnoreUsers_WhenCountNotHeld() {
+        // Act
+        tracker.adjust(1L, 5);
+
+        // Assert
+        verifyNoInteractions(notificationRepository);
+        assertEquals(0.0, meterRegistry.get("notifications.unread.tracked").gauge().value());
+    }
+
+    @Test
+    void reconcile_ShouldCorrectDrift_AndForgetIdleUsers() {
+        // Arrange
+        when(notificationRepository.countUnreadByUserId(1L)).thenReturn(3L);
+        when(notificationRepository.countUnreadByUserId(2L)).thenReturn(1L);
+        UnreadCount actual = mock(UnreadCount.class);
+        when(actual.getUserId()).thenReturn(1L);
+        when(actual.getUnread()).thenReturn(7L);
+        when(notificationRepository.countUnreadByUserIds(anyCollection())).thenReturn(List.of(actual));
+        tracker.get(1L);
+        tracker.get(2L);
+
+        // Act - the first pass checks both users, later passes forget whoever was not read since
+        tracker.reconcile();
+        long corrected = tracker.get(1L);
+        tracker.reconcile();
+        tracker.reconcile();
+
+        // Assert
+        assertEquals(7L, corrected);
+        assertEquals(2.0, meterRegistry.get("notifications.unread.corrections").counter().count());
+        assertEquals(0.0, meterRegistry.get("notifications.unread.tracked").gauge().value());
+    }
+}
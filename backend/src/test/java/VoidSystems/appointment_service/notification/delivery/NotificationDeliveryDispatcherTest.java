@@ -0,0 +1,132 @@
+package VoidSystems.appointment_service.notification.delivery;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import VoidSystems.appointment_service.domain.model.Notification;
+import VoidSystems.appointment_service.domain.model.User;
+import VoidSystems.appointment_service.domain.repository.NotificationDeadLetterRepository;
+import VoidSystems.appointment_service.domain.repository.UserContact;
+import VoidSystems.appointment_service.domain.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+public class NotificationDeliveryDispatcherTest {
+
+    private StubChannel channel;
+    private NotificationDeadLetterRepository deadLetterRepository;
+    private SimpleMeterRegistry meterRegistry;
+    private NotificationDeliveryDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        channel = new StubChannel();
+        UserContact contact = mock(UserContact.class);
+        when(contact.getEmail()).thenReturn("client@test.com");
+        UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.findContactById(7L)).thenReturn(Optional.of(contact));
+        deadLetterRepository = mock(NotificationDeadLetterRepository.class);
+        meterRegistry = new SimpleMeterRegistry();
+
+        DeliveryProperties.Channel settings = new DeliveryProperties.Channel();
+        settings.setThreads(1);
+        settings.setMaxAttempts(3);
+        settings.setInitialBackoff(Duration.ofMillis(1));
+        settings.setMaxBackoff(Duration.ofMillis(5));
+        settings.setRatePerSecond(1000);
+        settings.setBurst(100);
+        DeliveryProperties properties = new DeliveryProperties();
+        properties.getChannels().put("stub", settings);
+
+        dispatcher = new NotificationDeliveryDispatcher(List.of(channel), properties, userRepository,
+                deadLetterRepository, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        dispatcher.shutdown();
+    }
+
+    @Test
+    void dispatch_ShouldRetryWithBackoff_UntilChannelAccepts() {
+        // Arrange
+        channel.failuresLeft.set(2);
+
+        // Act
+        dispatcher.dispatch(notification(1L));
+
+        // Assert
+        verify(deadLetterRepository, after(300).never()).save(any());
+        assertEquals(List.of(1L), channel.delivered);
+        assertEquals(1.0, meterRegistry.get("notifications.delivery.sent").tag("channel", "stub").counter().count());
+        assertEquals(2.0, meterRegistry.get("notifications.delivery.failed").tag("channel", "stub").counter().count());
+    }
+
+    @Test
+    void dispatch_ShouldDeadLetter_WhenAttemptsUsedUp() {
+        // Arrange
+        channel.failuresLeft.set(Integer.MAX_VALUE);
+
+        // Act
+        dispatcher.dispatch(notification(2L));
+
+        // Assert
+        verify(deadLetterRepository, timeout(2000)).save(argThat(deadLetter ->
+                deadLetter.getNotificationId().equals(2L)
+                        && deadLetter.getChannel().equals("stub")
+                        && deadLetter.getAttempts() == 3));
+        assertTrue(channel.delivered.isEmpty());
+    }
+
+    private static Notification notification(Long id) {
+        User user = new User();
+        user.setId(7L);
+        return Notification.builder()
+                .id(id)
+                .user(user)
+                .type("APPOINTMENT_CONFIRMED")
+                .title("Appointment Confirmed")
+                .message("Your appointment has been confirmed")
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+
+    /**
+     * Local sink standing in for an SMTP server or SMS gateway.
+     */
+    private static class StubChannel implements NotificationChannel {
+
+        private final AtomicInteger failuresLeft = new AtomicInteger();
+        private final List<Long> delivered = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String name() {
+            return "stub";
+        }
+
+        @Override
+        public boolean canReach(UserContact recipient) {
+            return recipient.getEmail() != null;
+        }
+
+        @Override
+        public void send(NotificationMessage message, UserContact recipient) {
+            if (failuresLeft.getAndDecrement() > 0) {
+                throw new IllegalStateException("Sink unavailable");
+            }
+            delivered.add(message.notificationId());
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package VoidSystems.appointment_service.ratelimit;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import VoidSystems.appointment_service.security.JwtTokenProvider;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+public class RateLimitFilterTest {
+
+    private static final String PATH = "/api/appointments/check";
+
+    private JwtTokenProvider tokenProvider;
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        tokenProvider = mock(JwtTokenProvider.class);
+
+        RateLimitProperties.Group group = new RateLimitProperties.Group();
+        group.setName("availability-check");
+        group.setPatterns(List.of(PATH));
+        group.setCapacity(2);
+        group.setRefillPerSecond(0.001);
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setGroups(List.of(group));
+        filter = new RateLimitFilter(properties, tokenProvider, new ObjectMapper().findAndRegisterModules(),
+                new SimpleMeterRegistry());
+    }
+
+    @Test
+    void doFilter_ShouldRejectByAddressBeforeValidatingToken_WhenTokensAreJunk() throws Exception {
+        // Arrange
+        when(tokenProvider.validateToken(anyString())).thenReturn(null);
+
+        // Act
+        int first = send("10.0.0.1", "junk-1");
+        int second = send("10.0.0.1", "junk-2");
+        int third = send("10.0.0.1", "junk-3");
+
+        // Assert
+        assertEquals(200, first);
+        assertEquals(200, second);
+        assertEquals(429, third);
+        verify(tokenProvider, times(2)).validateToken(anyString());
+    }
+
+    @Test
+    void doFilter_ShouldLimitByUser_WhenSameUserSwitchesAddress() throws Exception {
+        // Arrange
+        Claims claims = mock(Claims.class);
+        when(claims.get(JwtTokenProvider.CLAIM_USER_ID)).thenReturn(42L);
+        when(tokenProvider.validateToken("valid")).thenReturn(claims);
+
+        // Act
+        int first = send("10.0.0.1", "valid");
+        int second = send("10.0.0.2", "valid");
+        int third = send("10.0.0.3", "valid");
+
+        // Assert
+        assertEquals(200, first);
+        assertEquals(200, second);
+        assertEquals(429, third);
+    }
+
+    @Test
+    void doFilter_ShouldLimitByAddress_WhenUsersShareAddress() throws Exception {
+        // Arrange
+        Claims alice = mock(Claims.class);
+        when(alice.get(JwtTokenProvider.CLAIM_USER_ID)).thenReturn(1L);
+        Claims bob = mock(Claims.class);
+        when(bob.get(JwtTokenProvider.CLAIM_USER_ID)).thenReturn(2L);
+        when(tokenProvider.validateToken("alice")).thenReturn(alice);
+        when(tokenProvider.validateToken("bob")).thenReturn(bob);
+
+        // Act
+        int first = send("10.0.0.1", "alice");
+        int second = send("10.0.0.1", "bob");
+        int third = send("10.0.0.1", "alice");
+
+        // Assert
+        assertEquals(200, first);
+        assertEquals(200, second);
+        assertEquals(429, third);
+    }
+
+    private int send(String remoteAddr, String token) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", PATH);
+        request.setRemoteAddr(remoteAddr);
+        request.addHeader("Authorization", "Bearer " + token);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response.getStatus();
+    }
+}
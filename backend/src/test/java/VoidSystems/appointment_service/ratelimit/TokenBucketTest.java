@@ -0,0 +1,39 @@
+package VoidSystems.appointment_service.ratelimit;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TokenBucketTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void tryAcquire_ShouldAllowBurstUpToCapacity_ThenReject() {
+        // Arrange
+        TokenBucket bucket = new TokenBucket(3, 1.0, 0L);
+
+        // Act & Assert
+        assertEquals(2, bucket.tryAcquire(0L));
+        assertEquals(1, bucket.tryAcquire(0L));
+        assertEquals(0, bucket.tryAcquire(0L));
+        assertEquals(-1, bucket.tryAcquire(0L));
+        assertEquals(SECOND, bucket.nanosUntilAvailable(0L));
+    }
+
+    @Test
+    void tryAcquire_ShouldRefillOverTime_WithoutExceedingCapacity() {
+        // Arrange
+        TokenBucket bucket = new TokenBucket(2, 2.0, 0L);
+        bucket.tryAcquire(0L);
+        bucket.tryAcquire(0L);
+
+        // Act & Assert
+        assertEquals(-1, bucket.tryAcquire(SECOND / 4));
+        assertEquals(0, bucket.tryAcquire(SECOND / 2));
+        assertEquals(1, bucket.tryAcquire(10 * SECOND));
+        assertEquals(0L, bucket.nanosUntilAvailable(10 * SECOND));
+    }
+}
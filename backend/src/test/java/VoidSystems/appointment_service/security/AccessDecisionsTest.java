@@ -0,0 +1,113 @@
+package VoidSystems.appointment_service.security;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import VoidSystems.appointment_service.domain.repository.AppointmentParticipants;
+import VoidSystems.appointment_service.domain.repository.AppointmentRepository;
+import VoidSystems.appointment_service.domain.repository.AvailabilityRepository;
+import VoidSystems.appointment_service.domain.repository.ServiceRepository;
+import VoidSystems.appointment_service.domain.repository.UserRepository;
+import VoidSystems.appointment_service.exception.ResourceNotFoundException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class AccessDecisionsTest {
+
+    private ServiceRepository serviceRepository;
+    private AppointmentRepository appointmentRepository;
+    private UserRepository userRepository;
+    private AccessDecisions accessDecisions;
+
+    @BeforeEach
+    void setUp() {
+        serviceRepository = mock(ServiceRepository.class);
+        userRepository = mock(UserRepository.class);
+        appointmentRepository = mock(AppointmentRepository.class);
+        accessDecisions = new AccessDecisions(serviceRepository, mock(AvailabilityRepository.class),
+                appointmentRepository, userRepository, Duration.ofMinutes(1), 100);
+
+        UserPrincipal principal = new UserPrincipal(2L, "provider@test.com", "ROLE_PROVIDER", "PROVIDER");
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void isServiceOwner_ShouldLoadOwnerOnce_WhenCheckedRepeatedly() {
+        // Arrange
+        when(serviceRepository.findProviderIdById(10L)).thenReturn(Optional.of(2L));
+
+        // Act & Assert
+        assertTrue(accessDecisions.isServiceOwner(10L));
+        assertTrue(accessDecisions.isServiceOwner(10L));
+        verify(serviceRepository, times(1)).findProviderIdById(10L);
+        verifyNoInteractions(userRepository);
+        assertFalse(accessDecisions.isAdmin());
+    }
+
+    @Test
+    void isServiceOwner_ShouldReturnFalse_WhenOwnedByAnotherProvider() {
+        // Arrange
+        when(serviceRepository.findProviderIdById(11L)).thenReturn(Optional.of(3L));
+
+        // Act & Assert
+        assertFalse(accessDecisions.isServiceOwner(11L));
+    }
+
+    @Test
+    void isServiceOwner_ShouldThrowNotFound_WhenServiceMissing() {
+        // Arrange
+        when(serviceRepository.findProviderIdById(12L)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class, () -> accessDecisions.isServiceOwner(12L));
+    }
+
+    @Test
+    void isAppointmentParticipant_ShouldReturnTrue_WhenCurrentUserIsProvider() {
+        // Arrange
+        AppointmentParticipants participants = participants(5L, 2L);
+        when(appointmentRepository.findParticipantsById(20L)).thenReturn(Optional.of(participants));
+
+        // Act & Assert
+        assertTrue(accessDecisions.isAppointmentParticipant(20L));
+    }
+
+    @Test
+    void isAppointmentParticipant_ShouldReturnFalse_WhenCurrentUserTakesNoPart() {
+        // Arrange
+        AppointmentParticipants participants = participants(5L, 3L);
+        when(appointmentRepository.findParticipantsById(21L)).thenReturn(Optional.of(participants));
+
+        // Act & Assert
+        assertFalse(accessDecisions.isAppointmentParticipant(21L));
+    }
+
+    @Test
+    void isAppointmentParticipant_ShouldThrowNotFound_WhenAppointmentMissing() {
+        // Arrange
+        when(appointmentRepository.findParticipantsById(22L)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class, () -> accessDecisions.isAppointmentParticipant(22L));
+    }
+
+    private static AppointmentParticipants participants(Long clientId, Long providerId) {
+        AppointmentParticipants participants = mock(AppointmentParticipants.class);
+        when(participants.getClientId()).thenReturn(clientId);
+        when(participants.getProviderId()).thenReturn(providerId);
+        return participants;
+    }
+}
@@ -0,0 +1,35 @@
+package VoidSystems.appointment_service.security;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BloomFilterTest {
+
+    @Test
+    void mightContain_ShouldFindEveryAddedValue_AndRarelyOthers() {
+        // Arrange
+        BloomFilter filter = new BloomFilter(1_000, 0.01);
+        String[] added = new String[1_000];
+        for (int i = 0; i < added.length; i++) {
+            added[i] = UUID.randomUUID().toString();
+            filter.put(added[i]);
+        }
+
+        // Act
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (filter.mightContain(UUID.randomUUID().toString())) {
+                falsePositives++;
+            }
+        }
+
+        // Assert
+        for (String value : added) {
+            assertTrue(filter.mightContain(value));
+        }
+        assertTrue(falsePositives < 300, "false positives: " + falsePositives);
+    }
+}
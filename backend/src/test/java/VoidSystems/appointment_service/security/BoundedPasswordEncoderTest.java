@@ -0,0 +1,87 @@
+package VoidSystems.appointment_service.security;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import VoidSystems.appointment_service.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BoundedPasswordEncoderTest {
+
+    private final CountDownLatch started = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private SimpleMeterRegistry meterRegistry;
+    private BoundedPasswordEncoder encoder;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        encoder = new BoundedPasswordEncoder(new BlockingEncoder(), meterRegistry, 1, 1, Duration.ofSeconds(3));
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        encoder.destroy();
+    }
+
+    @Test
+    void encode_ShouldDelegate_WhenCapacityAvailable() {
+        // Arrange
+        release.countDown();
+
+        // Act & Assert
+        assertEquals("hashed:secret", encoder.encode("secret"));
+        assertTrue(encoder.matches("secret", "hashed:secret"));
+        assertEquals(1, meterRegistry.get("auth.password.hash.cpu").tag("operation", "encode").timer().count());
+    }
+
+    @Test
+    void encode_ShouldRejectWithRetryAfter_WhenQueueFull() throws Exception {
+        // Arrange - one running and one queued fill the pool
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encoder.encode("first"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> encoder.encode("second"));
+        while (meterRegistry.get("auth.password.hash.queue").gauge().value() < 1) {
+            Thread.onSpinWait();
+        }
+
+        // Act
+        ServiceUnavailableException ex = assertThrows(ServiceUnavailableException.class, () -> encoder.encode("third"));
+
+        // Assert
+        assertEquals(3, ex.getRetryAfterSeconds());
+        assertEquals(1.0, meterRegistry.get("auth.password.hash.rejected").counter().count());
+        release.countDown();
+        assertEquals("hashed:first", running.get(5, TimeUnit.SECONDS));
+        assertEquals("hashed:second", queued.get(5, TimeUnit.SECONDS));
+    }
+
+    private class BlockingEncoder implements PasswordEncoder {
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "hashed:" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return encodedPassword.equals("hashed:" + rawPassword);
+        }
+    }
+}
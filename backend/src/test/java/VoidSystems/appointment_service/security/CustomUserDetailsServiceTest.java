@@ -0,0 +1,69 @@
+package VoidSystems.appointment_service.security;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import VoidSystems.appointment_service.domain.model.Role;
+import VoidSystems.appointment_service.domain.model.User;
+import VoidSystems.appointment_service.domain.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class CustomUserDetailsServiceTest {
+
+    private UserRepository userRepository;
+    private SimpleMeterRegistry meterRegistry;
+    private CustomUserDetailsService userDetailsService;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        meterRegistry = new SimpleMeterRegistry();
+        userDetailsService = new CustomUserDetailsService(userRepository, meterRegistry, Duration.ofMinutes(5), 100);
+
+        User user = new User();
+        user.setEmail("client@test.com");
+        user.setPassword("encoded");
+        user.setRole(new Role(1L, "ROLE_CLIENT"));
+        when(userRepository.findByEmail("client@test.com")).thenReturn(Optional.of(user));
+    }
+
+    @Test
+    void loadUserByUsername_ShouldHitDatabaseOnce_WhenCalledRepeatedly() {
+        // Act
+        UserDetails first = userDetailsService.loadUserByUsername("client@test.com");
+        UserDetails second = userDetailsService.loadUserByUsername("client@test.com");
+
+        // Assert
+        assertEquals("client@test.com", second.getUsername());
+        assertEquals("encoded", second.getPassword());
+        assertNotSame(first, second);
+        verify(userRepository, times(1)).findByEmail("client@test.com");
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "userDetails").tag("result", "hit").functionCounter().count());
+    }
+
+    @Test
+    void loadUserByUsername_ShouldReload_WhenUserEvicted() {
+        // Arrange
+        userDetailsService.loadUserByUsername("client@test.com");
+
+        // Act
+        userDetailsService.evictUser("client@test.com");
+        userDetailsService.loadUserByUsername("client@test.com");
+
+        // Assert
+        verify(userRepository, times(2)).findByEmail("client@test.com");
+    }
+
+    @Test
+    void loadUserByUsername_ShouldThrow_WhenUserMissing() {
+        assertThrows(UsernameNotFoundException.class, () -> userDetailsService.loadUserByUsername("missing@test.com"));
+    }
+}
@@ -0,0 +1,135 @@
+package VoidSystems.appointment_service.security;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import VoidSystems.appointment_service.domain.model.Client;
+import VoidSystems.appointment_service.domain.model.Role;
+import VoidSystems.appointment_service.domain.repository.RevokedTokenRepository;
+import VoidSystems.appointment_service.domain.repository.RevokedUserRepository;
+import io.jsonwebtoken.Claims;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class JwtAuthenticationFilterTest {
+
+    private static final String SECRET = "test-secret-key-for-jwt-token-generation-with-additional-characters-to-make-it-long-enough-for-hs512-algorithm";
+
+    private JwtTokenProvider tokenProvider;
+    private UserDetailsService userDetailsService;
+    private RevokedTokenStore revokedTokenStore;
+    private JwtAuthenticationFilter filter;
+    private Client client;
+
+    @BeforeEach
+    void setUp() {
+        tokenProvider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(tokenProvider, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(tokenProvider, "jwtExpirationInMs", 60_000L);
+        ReflectionTestUtils.setField(tokenProvider, "verifiedTokenCacheSize", 100L);
+        tokenProvider.init();
+
+        userDetailsService = mock(UserDetailsService.class);
+        revokedTokenStore = new RevokedTokenStore(mock(RevokedTokenRepository.class), mock(RevokedUserRepository.class),
+                mock(PlatformTransactionManager.class), 1_000, true, 60_000L);
+        filter = new JwtAuthenticationFilter(tokenProvider, userDetailsService, revokedTokenStore);
+
+        client = Client.builder()
+                .id(7L)
+                .email("client@test.com")
+                .role(Role.builder().name("ROLE_CLIENT").build())
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void doFilter_ShouldAuthenticateFromClaims_WithoutLoadingUser() throws Exception {
+        // Arrange
+        String token = tokenProvider.generateToken(client, "CLIENT");
+
+        // Act
+        filter.doFilter(requestWith(token), new MockHttpServletResponse(), new MockFilterChain());
+
+        // Assert
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertNotNull(authentication);
+        UserPrincipal principal = assertInstanceOf(UserPrincipal.class, authentication.getPrincipal());
+        assertEquals(7L, principal.getId());
+        assertEquals("client@test.com", authentication.getName());
+        assertEquals("CLIENT", principal.getUserType());
+        assertTrue(authentication.getAuthorities().stream().anyMatch(a -> a.getAuthority().equals("ROLE_CLIENT")));
+        verifyNoInteractions(userDetailsService);
+    }
+
+    @Test
+    void doFilter_ShouldStayAnonymous_WhenUserRevoked() throws Exception {
+        // Arrange
+        String token = tokenProvider.generateToken(client, "CLIENT");
+        revokedTokenStore.revokeUser(7L);
+
+        // Act
+        filter.doFilter(requestWith(token), new MockHttpServletResponse(), new MockFilterChain());
+
+        // Assert
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    @Test
+    void doFilter_ShouldStayAnonymous_WhenTokenRevoked() throws Exception {
+        // Arrange
+        String token = tokenProvider.generateToken(client, "CLIENT");
+        String otherToken = tokenProvider.generateToken(client, "CLIENT");
+        Claims claims = tokenProvider.validateToken(token);
+        revokedTokenStore.revoke(claims.getId(), claims.getExpiration());
+
+        // Act
+        filter.doFilter(requestWith(token), new MockHttpServletResponse(), new MockFilterChain());
+        Authentication revoked = SecurityContextHolder.getContext().getAuthentication();
+        filter.doFilter(requestWith(otherToken), new MockHttpServletResponse(), new MockFilterChain());
+
+        // Assert
+        assertNull(revoked);
+        assertNotNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    @Test
+    void doFilter_ShouldAcceptTokenParameter_OnlyForNotificationStream() throws Exception {
+        // Arrange
+        String token = tokenProvider.generateToken(client, "CLIENT");
+        MockHttpServletRequest stream = new MockHttpServletRequest("GET", JwtAuthenticationFilter.STREAM_PATH);
+        stream.addParameter(JwtAuthenticationFilter.TOKEN_PARAMETER, token);
+        MockHttpServletRequest other = new MockHttpServletRequest("GET", "/api/notifications");
+        other.addParameter(JwtAuthenticationFilter.TOKEN_PARAMETER, token);
+
+        // Act
+        filter.doFilter(other, new MockHttpServletResponse(), new MockFilterChain());
+        Authentication ignored = SecurityContextHolder.getContext().getAuthentication();
+        filter.doFilter(stream, new MockHttpServletResponse(), new MockFilterChain());
+
+        // Assert
+        assertNull(ignored);
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertNotNull(authentication);
+        assertEquals(7L, assertInstanceOf(UserPrincipal.class, authentication.getPrincipal()).getId());
+    }
+
+    private MockHttpServletRequest requestWith(String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/notifications");
+        request.addHeader("Authorization", "Bearer " + token);
+        return request;
+    }
+}
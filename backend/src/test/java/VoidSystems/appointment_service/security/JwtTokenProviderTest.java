@@ -0,0 +1,80 @@
+package VoidSystems.appointment_service.security;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.jsonwebtoken.Claims;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JwtTokenProviderTest {
+
+    private static final String SECRET = "test-secret-key-for-jwt-token-generation-with-additional-characters-to-make-it-long-enough-for-hs512-algorithm";
+
+    private JwtTokenProvider tokenProvider;
+    private UserDetails user;
+
+    @BeforeEach
+    void setUp() {
+        tokenProvider = createProvider(60_000);
+        user = new User("client@test.com", "password", List.of(new SimpleGrantedAuthority("ROLE_CLIENT")));
+    }
+
+    @Test
+    void validateToken_ShouldReturnClaims_WhenTokenValid() {
+        // Arrange
+        String token = tokenProvider.generateToken(user);
+
+        // Act
+        Claims claims = tokenProvider.validateToken(token);
+
+        // Assert
+        assertNotNull(claims);
+        assertEquals("client@test.com", claims.getSubject());
+        assertSame(claims, tokenProvider.validateToken(token));
+    }
+
+    @Test
+    void validateToken_ShouldReturnNull_WhenSignatureTampered() {
+        // Arrange
+        String token = tokenProvider.generateToken(user);
+        JwtTokenProvider otherProvider = createProvider(60_000);
+        ReflectionTestUtils.setField(otherProvider, "jwtSecret", SECRET.replace('t', 'x'));
+        otherProvider.init();
+
+        // Act & Assert
+        assertNull(otherProvider.validateToken(token));
+    }
+
+    @Test
+    void validateToken_ShouldReturnNull_WhenTokenExpired() {
+        // Arrange
+        JwtTokenProvider expiredProvider = createProvider(-1_000);
+        String token = expiredProvider.generateToken(user);
+
+        // Act & Assert
+        assertNull(expiredProvider.validateToken(token));
+    }
+
+    @Test
+    void validateToken_ShouldReturnNull_WhenTokenMalformed() {
+        assertNull(tokenProvider.validateToken("not-a-jwt"));
+        assertNull(tokenProvider.validateToken("a.b."));
+        assertNull(tokenProvider.validateToken("a.b.c.d"));
+    }
+
+    private JwtTokenProvider createProvider(long expirationMs) {
+        JwtTokenProvider provider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(provider, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(provider, "jwtExpirationInMs", expirationMs);
+        ReflectionTestUtils.setField(provider, "verifiedTokenCacheSize", 100L);
+        provider.init();
+        return provider;
+    }
+}
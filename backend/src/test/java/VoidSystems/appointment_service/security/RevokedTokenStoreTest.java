@@ -0,0 +1,122 @@
+package VoidSystems.appointment_service.security;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import VoidSystems.appointment_service.domain.model.RevokedToken;
+import VoidSystems.appointment_service.domain.model.RevokedUser;
+import VoidSystems.appointment_service.domain.repository.RevokedTokenRepository;
+import VoidSystems.appointment_service.domain.repository.RevokedUserRepository;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class RevokedTokenStoreTest {
+
+    private static final long TOKEN_LIFETIME_MS = 60_000L;
+
+    private RevokedTokenRepository revokedTokenRepository;
+    private RevokedUserRepository revokedUserRepository;
+    private RevokedTokenStore store;
+
+    @BeforeEach
+    void setUp() {
+        revokedTokenRepository = mock(RevokedTokenRepository.class);
+        revokedUserRepository = mock(RevokedUserRepository.class);
+        store = new RevokedTokenStore(revokedTokenRepository, revokedUserRepository,
+                mock(PlatformTransactionManager.class), 1_000, true, TOKEN_LIFETIME_MS);
+    }
+
+    @Test
+    void isRevoked_ShouldLoadPersistedRevocations_OnFirstUse() {
+        // Arrange
+        LocalDateTime now = LocalDateTime.now();
+        when(revokedTokenRepository.findByExpiresAtAfter(any(LocalDateTime.class))).thenReturn(List.of(
+                RevokedToken.builder().jti("revoked-jti").revokedAt(now).expiresAt(now.plusMinutes(1)).build()));
+        when(revokedUserRepository.findByExpiresAtAfter(any(LocalDateTime.class))).thenReturn(List.of(
+                RevokedUser.builder().userId(7L).revokedAt(now).expiresAt(now.plusMinutes(1)).build()));
+
+        // Act & Assert
+        assertTrue(store.isRevoked("revoked-jti"));
+        assertFalse(store.isRevoked("other-jti"));
+        assertTrue(store.isRevoked(7L, new Date(System.currentTimeMillis() - 5_000)));
+        assertFalse(store.isRevoked(7L, new Date(System.currentTimeMillis() + 5_000)));
+        assertFalse(store.isRevoked(8L, new Date()));
+        verify(revokedTokenRepository, times(1)).findByExpiresAtAfter(any(LocalDateTime.class));
+    }
+
+    @Test
+    void refresh_ShouldPickUpRevocationsFromOtherInstances() {
+        // Arrange
+        assertFalse(store.isRevoked("revoked-elsewhere"));
+        assertFalse(store.isRevoked(7L, new Date()));
+        LocalDateTime now = LocalDateTime.now();
+        when(revokedTokenRepository.findByRevokedAtGreaterThanEqual(any(LocalDateTime.class))).thenReturn(List.of(
+                RevokedToken.builder().jti("revoked-elsewhere").revokedAt(now).expiresAt(now.plusMinutes(1)).build(),
+                RevokedToken.builder().jti("already-expired").revokedAt(now).expiresAt(now.minusMinutes(1)).build()));
+        when(revokedUserRepository.findByRevokedAtGreaterThanEqual(any(LocalDateTime.class))).thenReturn(List.of(
+                RevokedUser.builder().userId(7L).revokedAt(now.plusSeconds(1)).expiresAt(now.plusMinutes(1)).build()));
+
+        // Act
+        store.refresh();
+
+        // Assert
+        assertTrue(store.isRevoked("revoked-elsewhere"));
+        assertFalse(store.isRevoked("already-expired"));
+        assertTrue(store.isRevoked(7L, new Date()));
+    }
+
+    @Test
+    void refresh_ShouldReachBackPastTheLastRefresh() {
+        // Arrange
+        LocalDateTime beforeLoad = LocalDateTime.now();
+        store.isRevoked("any-jti");
+        ArgumentCaptor<LocalDateTime> since = ArgumentCaptor.forClass(LocalDateTime.class);
+
+        // Act
+        store.refresh();
+        LocalDateTime beforeSecondRefresh = LocalDateTime.now();
+        store.refresh();
+
+        // Assert - each poll starts a minute before the previous one
+        verify(revokedTokenRepository, times(2)).findByRevokedAtGreaterThanEqual(since.capture());
+        LocalDateTime firstSince = since.getAllValues().get(0);
+        LocalDateTime secondSince = since.getAllValues().get(1);
+        assertFalse(firstSince.isAfter(beforeLoad.minusSeconds(59)));
+        assertFalse(secondSince.isAfter(beforeSecondRefresh.minusSeconds(59)));
+        assertFalse(secondSince.isBefore(firstSince));
+    }
+
+    @Test
+    void refresh_ShouldDoNothing_BeforeFirstUse() {
+        // Act
+        store.refresh();
+
+        // Assert
+        verifyNoInteractions(revokedTokenRepository, revokedUserRepository);
+    }
+
+    @Test
+    void revokeUser_ShouldPersistRevocationForOtherInstances() {
+        // Arrange
+        ArgumentCaptor<RevokedUser> saved = ArgumentCaptor.forClass(RevokedUser.class);
+
+        // Act
+        store.revokeUser(7L);
+
+        // Assert
+        verify(revokedUserRepository).save(saved.capture());
+        assertEquals(7L, saved.getValue().getUserId());
+        assertEquals(Duration.ofMillis(TOKEN_LIFETIME_MS),
+                Duration.between(saved.getValue().getRevokedAt(), saved.getValue().getExpiresAt()));
+        assertTrue(store.isRevoked(7L, new Date(System.currentTimeMillis() - 1_000)));
+    }
+}
@@ -0,0 +1,131 @@
+package VoidSystems.appointment_service.service;
+
+import VoidSystems.appointment_service.domain.model.Appointment;
+import VoidSystems.appointment_service.domain.model.Provider;
+import VoidSystems.appointment_service.domain.model.Service;
+import VoidSystems.appointment_service.domain.repository.AppointmentRepository;
+import VoidSystems.appointment_service.domain.repository.AppointmentStatusRepository;
+import VoidSystems.appointment_service.domain.repository.ClientRepository;
+import VoidSystems.appointment_service.domain.repository.ProviderRepository;
+import VoidSystems.appointment_service.domain.repository.ServiceRepository;
+import VoidSystems.appointment_service.dto.appointment.AppointmentDTO;
+import VoidSystems.appointment_service.mapper.AppointmentMapper;
+import VoidSystems.appointment_service.security.AccessDecisions;
+import VoidSystems.appointment_service.service.impl.AppointmentServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class AppointmentServiceTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2030, 3, 4, 10, 0);
+
+    @Mock
+    private AppointmentRepository appointmentRepository;
+
+    @Mock
+    private ClientRepository clientRepository;
+
+    @Mock
+    private ProviderRepository providerRepository;
+
+    @Mock
+    private ServiceRepository serviceRepository;
+
+    @Mock
+    private AppointmentStatusRepository appointmentStatusRepository;
+
+    @Mock
+    private AppointmentMapper appointmentMapper;
+
+    @Mock
+    private AvailabilityService availabilityService;
+
+    @Mock
+    private NotificationService notificationService;
+
+    @Mock
+    private ProviderAgendaService providerAgendaService;
+
+    @Mock
+    private AccessDecisions accessDecisions;
+
+    @InjectMocks
+    private AppointmentServiceImpl appointmentService;
+
+    private Appointment appointment;
+
+    @BeforeEach
+    void setUp() {
+        Provider provider = Provider.builder().id(2L).build();
+        Service service = Service.builder().id(3L).durationMinutes(30).provider(provider).build();
+        appointment = Appointment.builder()
+                .id(1L)
+                .provider(provider)
+                .service(service)
+                .startTime(START)
+                .endTime(START.plusMinutes(30))
+                .build();
+
+        when(accessDecisions.isAdmin()).thenReturn(true);
+        when(appointmentRepository.findById(1L)).thenReturn(Optional.of(appointment));
+        when(appointmentRepository.save(any(Appointment.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        doCallRealMethod().when(appointmentMapper).updateEntityFromDTO(any(), any(), any(), any());
+    }
+
+    @Test
+    void updateAppointment_ShouldResetReminder_WhenStartTimeChanges() {
+        // Arrange
+        AppointmentDTO update = new AppointmentDTO();
+        update.setStartTime(START.plusDays(1));
+        when(availabilityService.isTimeSlotAvailable(eq(2L), any(), any(), any())).thenReturn(true);
+        when(appointmentRepository.findAppointmentsByProviderIdAndTimeRange(anyLong(), any(), any())).thenReturn(List.of());
+
+        // Act
+        appointmentService.updateAppointment(1L, update);
+
+        // Assert
+        verify(appointmentRepository).resetReminder(1L);
+    }
+
+    @Test
+    void updateAppointment_ShouldKeepReminder_WhenStartTimeIsUnchanged() {
+        // Arrange
+        AppointmentDTO update = new AppointmentDTO();
+        update.setStartTime(START);
+        when(availabilityService.isTimeSlotAvailable(eq(2L), any(), any(), any())).thenReturn(true);
+        when(appointmentRepository.findAppointmentsByProviderIdAndTimeRange(anyLong(), any(), any())).thenReturn(List.of(appointment));
+
+        // Act
+        appointmentService.updateAppointment(1L, update);
+
+        // Assert
+        verify(appointmentRepository, never()).resetReminder(anyLong());
+    }
+
+    @Test
+    void updateAppointment_ShouldKeepReminder_WhenOnlyNotesChange() {
+        // Arrange
+        AppointmentDTO update = new AppointmentDTO();
+        update.setNotes("Bring the paperwork");
+
+        // Act
+        appointmentService.updateAppointment(1L, update);
+
+        // Assert
+        verify(appointmentRepository, never()).resetReminder(anyLong());
+    }
+}
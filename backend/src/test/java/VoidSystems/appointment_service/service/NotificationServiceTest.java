@@ -3,8 +3,19 @@ package VoidSystems.appointment_service.service;
 import VoidSystems.appointment_service.domain.model.Notification;
 import VoidSystems.appointment_service.domain.model.User;
 import VoidSystems.appointment_service.domain.repository.NotificationRepository;
+import VoidSystems.appointment_service.domain.repository.NotificationTombstoneRepository;
+import VoidSystems.appointment_service.dto.NotificationDTO;
+import VoidSystems.appointment_service.dto.notification.NotificationChangesResponse;
 import VoidSystems.appointment_service.exception.ResourceNotFoundException;
 import VoidSystems.appointment_service.exception.UnauthorizedException;
+import VoidSystems.appointment_service.mapper.NotificationMapper;
+import VoidSystems.appointment_service.notification.NotificationCoalescer;
+import VoidSystems.appointment_service.notification.NotificationCursor;
+import VoidSystems.appointment_service.notification.NotificationStreamEvent;
+import VoidSystems.appointment_service.notification.NotificationStreamRegistry;
+import VoidSystems.appointment_service.notification.NotificationWriter;
+import VoidSystems.appointment_service.notification.RecentNotificationCache;
+import VoidSystems.appointment_service.notification.UnreadCountTracker;
 import VoidSystems.appointment_service.service.impl.NotificationServiceImpl;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -18,12 +29,18 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.*;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -35,6 +52,27 @@ public class NotificationServiceTest {
     @Mock
     private ObjectMapper objectMapper;
 
+    @Mock
+    private NotificationMapper notificationMapper;
+
+    @Mock
+    private NotificationStreamRegistry notificationStreamRegistry;
+
+    @Mock
+    private UnreadCountTracker unreadCountTracker;
+
+    @Mock
+    private NotificationWriter notificationWriter;
+
+    @Mock
+    private NotificationCoalescer notificationCoalescer;
+
+    @Mock
+    private NotificationTombstoneRepository notificationTombstoneRepository;
+
+    @Mock
+    private RecentNotificationCache recentNotificationCache;
+
     @InjectMocks
     private NotificationServiceImpl notificationService;
 
@@ -85,6 +123,61 @@ public class NotificationServiceTest {
         verify(notificationRepository).save(any(Notification.class));
     }
 
+    @Test
+    void createNotification_ShouldStoreWellKnownKeysInColumns() throws JsonProcessingException {
+        // Arrange
+        Map<String, Object> data = new HashMap<>();
+        data.put("appointmentId", 5L);
+        data.put("serviceName", "Test Service");
+        data.put("clientName", "Test Client");
+        data.put("dateTime", "2023-01-01 10:00 AM");
+        data.put("key", "value");
+
+        when(objectMapper.writeValueAsString(Map.of("key", "value"))).thenReturn("{\"key\":\"value\"}");
+        when(notificationRepository.save(any(Notification.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        Notification result = notificationService.createNotification(user, "TEST_TYPE", "Test Title", "Test Message", data);
+
+        // Assert
+        assertEquals(5L, result.getAppointmentId());
+        assertEquals("Test Service", result.getServiceName());
+        assertEquals("Test Client", result.getClientName());
+        assertEquals("2023-01-01 10:00 AM", result.getDateTime());
+        assertEquals("{\"key\":\"value\"}", result.getData());
+    }
+
+    @Test
+    void createNotification_ShouldStoreEmptyData_WhenOnlyWellKnownKeysGiven() {
+        // Arrange
+        Map<String, Object> data = Map.of("appointmentId", 5L, "serviceName", "Test Service");
+        when(notificationRepository.save(any(Notification.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        Notification result = notificationService.createNotification(user, "TEST_TYPE", "Test Title", "Test Message", data);
+
+        // Assert
+        assertEquals(5L, result.getAppointmentId());
+        assertEquals("Test Service", result.getServiceName());
+        assertEquals("{}", result.getData());
+        verifyNoInteractions(objectMapper);
+    }
+
+    @Test
+    void createNotification_ShouldKeepWellKnownKeyInData_WhenValueHasUnexpectedType() throws JsonProcessingException {
+        // Arrange
+        Map<String, Object> data = Map.of("appointmentId", "not-a-number");
+        when(objectMapper.writeValueAsString(data)).thenReturn("{\"appointmentId\":\"not-a-number\"}");
+        when(notificationRepository.save(any(Notification.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        Notification result = notificationService.createNotification(user, "TEST_TYPE", "Test Title", "Test Message", data);
+
+        // Assert
+        assertNull(result.getAppointmentId());
+        assertEquals("{\"appointmentId\":\"not-a-number\"}", result.getData());
+    }
+
     @Test
     void getUserNotifications_ShouldReturnUserNotifications() {
         // Arrange
@@ -143,7 +236,7 @@ public class NotificationServiceTest {
     @Test
     void getUnreadNotificationCount_ShouldReturnCount() {
         // Arrange
-        when(notificationRepository.countUnreadNotifications(user)).thenReturn(5L);
+        when(unreadCountTracker.get(user.getId())).thenReturn(5L);
 
         // Act
         long result = notificationService.getUnreadNotificationCount(user);
@@ -151,7 +244,7 @@ public class NotificationServiceTest {
         // Assert
         assertEquals(5L, result);
         
-        verify(notificationRepository).countUnreadNotifications(user);
+        verifyNoInteractions(notificationRepository);
     }
 
     @Test
@@ -216,7 +309,7 @@ public class NotificationServiceTest {
         notificationService.markAllAsRead(user);
 
         // Assert
-        verify(notificationRepository).markAllAsRead(user);
+        verify(notificationRepository).markAllAsRead(eq(user), any(LocalDateTime.class));
     }
 
     @Test
@@ -230,6 +323,8 @@ public class NotificationServiceTest {
         // Assert
         verify(notificationRepository).findById(1L);
         verify(notificationRepository).delete(notification);
+        verify(notificationTombstoneRepository).save(argThat(tombstone ->
+                tombstone.getNotificationId().equals(1L) && tombstone.getUserId().equals(1L)));
     }
 
     @Test
@@ -269,66 +364,142 @@ public class NotificationServiceTest {
         notificationService.deleteAllNotifications(user);
 
         // Assert
+        verify(notificationTombstoneRepository).recordAll(eq(1L), any(LocalDateTime.class));
         verify(notificationRepository).deleteAllByUser(user);
     }
 
     @Test
-    void createAppointmentConfirmationNotification_ShouldCreateNotification() {
+    void getChangesSince_ShouldAskForResync_WhenCursorMissing() {
         // Arrange
-        when(notificationRepository.save(any(Notification.class))).thenReturn(notification);
+        ReflectionTestUtils.setField(notificationService, "tombstoneRetention", Duration.ofDays(7));
+        ReflectionTestUtils.setField(notificationService, "changesSettle", Duration.ofSeconds(5));
 
         // Act
-        Notification result = notificationService.createAppointmentConfirmationNotification(user, 1L, "Test Service", "2023-01-01 10:00 AM");
+        NotificationChangesResponse changes = notificationService.getChangesSince(user, null);
 
         // Assert
-        assertNotNull(result);
-        assertEquals(notification.getId(), result.getId());
-        
-        verify(notificationRepository).save(any(Notification.class));
+        assertTrue(changes.isResync());
+        assertNotNull(NotificationCursor.decode(changes.getCursor()));
+        verifyNoInteractions(notificationRepository, notificationTombstoneRepository);
     }
 
     @Test
-    void createAppointmentCancellationNotification_ShouldCreateNotification() {
+    void getChangesSince_ShouldReturnChangesAndDeletions_WhenCursorValid() {
         // Arrange
-        when(notificationRepository.save(any(Notification.class))).thenReturn(notification);
+        ReflectionTestUtils.setField(notificationService, "tombstoneRetention", Duration.ofDays(7));
+        ReflectionTestUtils.setField(notificationService, "changesSettle", Duration.ofSeconds(5));
+        ReflectionTestUtils.setField(notificationService, "changesLimit", 10);
+        LocalDateTime since = LocalDateTime.now().minusHours(1);
+        NotificationDTO dto = new NotificationDTO();
+        when(notificationRepository.findChangedSince(eq(1L), eq(since.truncatedTo(ChronoUnit.MICROS)), any(Pageable.class)))
+                .thenReturn(List.of(notification));
+        when(notificationTombstoneRepository.findDeletedSince(eq(1L), any(), any(Pageable.class))).thenReturn(List.of(7L));
+        when(notificationMapper.toDTO(notification)).thenReturn(dto);
 
         // Act
-        Notification result = notificationService.createAppointmentCancellationNotification(user, 1L, "Test Service", "2023-01-01 10:00 AM");
+        NotificationChangesResponse changes = notificationService.getChangesSince(user, NotificationCursor.encode(since));
 
         // Assert
-        assertNotNull(result);
-        assertEquals(notification.getId(), result.getId());
-        
-        verify(notificationRepository).save(any(Notification.class));
+        assertFalse(changes.isResync());
+        assertEquals(List.of(dto), changes.getNotifications());
+        assertEquals(List.of(7L), changes.getDeletedIds());
+        assertTrue(NotificationCursor.decode(changes.getCursor()).isAfter(since));
+    }
+
+    @Test
+    void createAppointmentConfirmationNotification_ShouldQueueNotification() {
+        // Act
+        notificationService.createAppointmentConfirmationNotification(user, 1L, "Test Service", "2023-01-01 10:00 AM");
+
+        // Assert
+        verify(notificationCoalescer).submit(argThat(queued ->
+                "APPOINTMENT_CONFIRMED".equals(queued.getType()) && queued.getUser() == user && queued.getId() == null));
+        verifyNoInteractions(notificationRepository);
+    }
+
+    @Test
+    void createAppointmentCancellationNotification_ShouldQueueNotification() {
+        // Act
+        notificationService.createAppointmentCancellationNotification(user, 1L, "Test Service", "2023-01-01 10:00 AM");
+
+        // Assert
+        verify(notificationCoalescer).submit(argThat(queued ->
+                "APPOINTMENT_CANCELLED".equals(queued.getType()) && queued.getUser() == user && queued.getId() == null));
+        verifyNoInteractions(notificationRepository);
+    }
+
+    @Test
+    void createAppointmentReminderNotification_ShouldQueueNotification() {
+        // Act
+        notificationService.createAppointmentReminderNotification(user, 1L, "Test Service", "2023-01-01 10:00 AM");
+
+        // Assert
+        verify(notificationCoalescer).submit(argThat(queued ->
+                "APPOINTMENT_REMINDER".equals(queued.getType()) && queued.getUser() == user && queued.getId() == null));
+        verifyNoInteractions(notificationRepository);
+    }
+
+    @Test
+    void createNewAppointmentNotification_ShouldQueueNotification() {
+        // Act
+        notificationService.createNewAppointmentNotification(user, 1L, "Test Client", "Test Service", "2023-01-01 10:00 AM");
+
+        // Assert
+        verify(notificationCoalescer).submit(argThat(queued ->
+                "NEW_APPOINTMENT".equals(queued.getType()) && queued.getUser() == user && queued.getId() == null
+                        && queued.getAppointmentId() == 1L
+                        && "Test Client".equals(queued.getClientName())
+                        && "Test Service".equals(queued.getServiceName())
+                        && "2023-01-01 10:00 AM".equals(queued.getDateTime())
+                        && "{}".equals(queued.getData())));
+        verifyNoInteractions(notificationRepository);
     }
 
     @Test
-    void createAppointmentReminderNotification_ShouldCreateNotification() {
+    void streamNotifications_ShouldReplayMissedNotifications_WhenLastEventIdGiven() {
         // Arrange
-        when(notificationRepository.save(any(Notification.class))).thenReturn(notification);
+        ReflectionTestUtils.setField(notificationService, "streamReplayLimit", 2);
+        Notification missed = Notification.builder().id(6L).user(user).type("TEST_TYPE").build();
+        when(notificationRepository.findByUserIdAfter(eq(1L), eq(5L), any(Pageable.class))).thenReturn(List.of(missed));
+        when(notificationMapper.toDTO(missed)).thenReturn(NotificationDTO.builder().id(6L).build());
+        when(unreadCountTracker.get(1L)).thenReturn(3L);
 
         // Act
-        Notification result = notificationService.createAppointmentReminderNotification(user, 1L, "Test Service", "2023-01-01 10:00 AM");
+        List<NotificationStreamEvent> initialEvents = streamInitialEvents(5L);
 
         // Assert
-        assertNotNull(result);
-        assertEquals(notification.getId(), result.getId());
-        
-        verify(notificationRepository).save(any(Notification.class));
+        assertEquals(List.of(NotificationStreamEvent.NOTIFICATION, NotificationStreamEvent.UNREAD_COUNT),
+                initialEvents.stream().map(NotificationStreamEvent::name).toList());
+        assertEquals(6L, initialEvents.get(0).id());
     }
 
     @Test
-    void createNewAppointmentNotification_ShouldCreateNotification() {
+    void streamNotifications_ShouldAskForResync_WhenMoreMissedThanReplayLimit() {
         // Arrange
-        when(notificationRepository.save(any(Notification.class))).thenReturn(notification);
+        ReflectionTestUtils.setField(notificationService, "streamReplayLimit", 2);
+        List<Notification> missed = List.of(
+                Notification.builder().id(6L).user(user).build(),
+                Notification.builder().id(7L).user(user).build(),
+                Notification.builder().id(8L).user(user).build());
+        when(notificationRepository.findByUserIdAfter(eq(1L), eq(5L), argThat(page -> page.getPageSize() == 3))).thenReturn(missed);
 
         // Act
-        Notification result = notificationService.createNewAppointmentNotification(user, 1L, "Test Client", "Test Service", "2023-01-01 10:00 AM");
+        List<NotificationStreamEvent> initialEvents = streamInitialEvents(5L);
 
         // Assert
-        assertNotNull(result);
-        assertEquals(notification.getId(), result.getId());
-        
-        verify(notificationRepository).save(any(Notification.class));
+        assertEquals(List.of(NotificationStreamEvent.RESYNC, NotificationStreamEvent.UNREAD_COUNT),
+                initialEvents.stream().map(NotificationStreamEvent::name).toList());
+        verifyNoInteractions(notificationMapper);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<NotificationStreamEvent> streamInitialEvents(Long lastEventId) {
+        List<List<NotificationStreamEvent>> captured = new ArrayList<>();
+        when(notificationStreamRegistry.subscribe(eq(1L), any())).thenAnswer(invocation -> {
+            captured.add(((Supplier<List<NotificationStreamEvent>>) invocation.getArgument(1)).get());
+            return null;
+        });
+        notificationService.streamNotifications(user, lastEventId);
+        return captured.get(0);
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,148 @@
+package VoidSystems.appointment_service.service;
+
+import VoidSystems.appointment_service.cache.ServiceCatalog;
+import VoidSystems.appointment_service.domain.model.User;
+import VoidSystems.appointment_service.domain.repository.ClientRepository;
+import VoidSystems.appointment_service.domain.repository.ProviderRepository;
+import VoidSystems.appointment_service.domain.repository.UserRepository;
+import VoidSystems.appointment_service.dto.user.UserDTO;
+import VoidSystems.appointment_service.exception.UnauthorizedException;
+import VoidSystems.appointment_service.mapper.UserMapper;
+import VoidSystems.appointment_service.security.AccessDecisions;
+import VoidSystems.appointment_service.security.CustomUserDetailsService;
+import VoidSystems.appointment_service.security.RevokedTokenStore;
+import VoidSystems.appointment_service.service.impl.UserServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class UserServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private ClientRepository clientRepository;
+
+    @Mock
+    private ProviderRepository providerRepository;
+
+    @Mock
+    private UserMapper userMapper;
+
+    @Mock
+    private ProviderAgendaService providerAgendaService;
+
+    @Mock
+    private CustomUserDetailsService userDetailsService;
+
+    @Mock
+    private RevokedTokenStore revokedTokenStore;
+
+    @Mock
+    private ServiceCatalog serviceCatalog;
+
+    @Mock
+    private AccessDecisions accessDecisions;
+
+    @InjectMocks
+    private UserServiceImpl userService;
+
+    @Test
+    void getCurrentUser_ShouldLoadUserById_WhenAuthenticated() {
+        // Arrange
+        User user = new User();
+        user.setId(5L);
+        UserDTO userDTO = new UserDTO();
+        when(accessDecisions.currentUserId()).thenReturn(5L);
+        when(userRepository.findById(5L)).thenReturn(Optional.of(user));
+        when(userMapper.toDTO(user)).thenReturn(userDTO);
+
+        // Act
+        UserDTO result = userService.getCurrentUser();
+
+        // Assert
+        assertSame(userDTO, result);
+        verify(userRepository, never()).findByEmail(anyString());
+    }
+
+    @Test
+    void getCurrentUser_ShouldThrowUnauthorized_WhenNotAuthenticated() {
+        // Arrange
+        when(accessDecisions.currentUserId()).thenReturn(null);
+
+        // Act & Assert
+        assertThrows(UnauthorizedException.class, () -> userService.getCurrentUser());
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void updateUser_ShouldThrowUnauthorizedWithoutLoading_WhenNotSelfOrAdmin() {
+        // Arrange
+        when(accessDecisions.isAdmin()).thenReturn(false);
+        when(accessDecisions.isCurrentUser(7L)).thenReturn(false);
+
+        // Act & Assert
+        assertThrows(UnauthorizedException.class, () -> userService.updateUser(7L, new UserDTO()));
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void updateUser_ShouldSaveUser_WhenUpdatingOwnProfile() {
+        // Arrange
+        User user = new User();
+        user.setId(7L);
+        user.setEmail("client@test.com");
+        when(accessDecisions.isAdmin()).thenReturn(false);
+        when(accessDecisions.isCurrentUser(7L)).thenReturn(true);
+        when(userRepository.findById(7L)).thenReturn(Optional.of(user));
+        when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        userService.updateUser(7L, new UserDTO());
+
+        // Assert
+        verify(userRepository).save(user);
+        verify(userRepository, never()).findByEmail(anyString());
+    }
+
+    @Test
+    void deleteUser_ShouldThrowUnauthorizedWithoutLoading_WhenNotAdmin() {
+        // Arrange
+        when(accessDecisions.isAdmin()).thenReturn(false);
+
+        // Act & Assert
+        assertThrows(UnauthorizedException.class, () -> userService.deleteUser(7L));
+        verifyNoInteractions(userRepository, revokedTokenStore);
+    }
+
+    @Test
+    void deleteUser_ShouldRevokeTokens_WhenAdmin() {
+        // Arrange
+        User user = new User();
+        user.setId(7L);
+        user.setEmail("client@test.com");
+        when(accessDecisions.isAdmin()).thenReturn(true);
+        when(userRepository.findById(7L)).thenReturn(Optional.of(user));
+
+        // Act
+        userService.deleteUser(7L);
+
+        // Assert
+        verify(userRepository).delete(user);
+        verify(revokedTokenStore).revokeUser(7L);
+        verify(userRepository, never()).findByEmail(anyString());
+        verify(accessDecisions, never()).isCurrentUser(anyLong());
+    }
+}
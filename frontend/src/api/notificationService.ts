@@ -68,6 +68,23 @@ export const getUnreadNotificationCount = async (): Promise<number> => {
   }
 };
 
+/**
+ * URL of the live notification stream for the current user. EventSource cannot send headers,
+ * so the token and the id of the last notification seen go in the query string.
+ * @param lastEventId Id of the newest notification the client already has, if any
+ */
+export const getNotificationStreamUrl = (lastEventId?: string | null): string => {
+  const params: Record<string, string> = {};
+  const token = localStorage.getItem('token');
+  if (token) {
+    params.access_token = token;
+  }
+  if (lastEventId) {
+    params.lastEventId = lastEventId;
+  }
+  return axios.getUri({ url: '/api/notifications/stream', params });
+};
+
 /**
  * Mark a notification as read
  * @param notificationId The ID of the notification to mark as read
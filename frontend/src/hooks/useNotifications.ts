@@ -2,6 +2,7 @@ import { useState, useEffect, useCallback } from 'react';
 import { useDispatch, useSelector } from 'react-redux';
 import { 
   addNotification, 
+  receiveNotification,
   markAsRead, 
   markAllAsRead, 
   removeNotification, 
@@ -19,6 +20,22 @@ export interface NotificationData {
   data?: Record<string, any>;
 }
 
+// Polling is only the fallback for when the notification stream is unavailable
+const POLL_INTERVAL_MS = 30000;
+// Delay before reopening a stream the server closed or refused
+const STREAM_RETRY_MS = 30000;
+
+// Convert backend DTOs to frontend notification format
+const toNotification = (dto: notificationApi.NotificationDTO): Notification => ({
+  id: dto.id.toString(),
+  type: dto.type,
+  title: dto.title,
+  message: dto.message,
+  read: dto.read,
+  createdAt: dto.createdAt,
+  data: dto.data
+});
+
 export const useNotifications = () => {
   const dispatch = useDispatch();
   const { notifications } = useSelector((state: RootState) => state.notifications);
@@ -28,25 +45,18 @@ export const useNotifications = () => {
   const unreadCount = notifications.filter(notification => !notification.read).length;
 
   // Fetch notifications from the API
-  const fetchNotifications = useCallback(async () => {
+  const fetchNotifications = useCallback(async (): Promise<Notification[]> => {
     setLoading(true);
     setError(null);
     try {
       const data = await notificationApi.getNotifications();
-      // Convert backend DTOs to frontend notification format
-      const formattedNotifications = data.map(dto => ({
-        id: dto.id.toString(),
-        type: dto.type,
-        title: dto.title,
-        message: dto.message,
-        read: dto.read,
-        createdAt: dto.createdAt,
-        data: dto.data
-      }));
+      const formattedNotifications = data.map(toNotification);
       dispatch(setNotifications(formattedNotifications));
+      return formattedNotifications;
     } catch (err) {
       setError('Failed to fetch notifications');
       console.error(err);
+      return [];
     } finally {
       setLoading(false);
     }
@@ -63,13 +73,80 @@ export const useNotifications = () => {
     }
   }, []);
 
-  // Load notifications on component mount
+  // Load notifications on component mount, then follow the server's notification stream
   useEffect(() => {
-    fetchNotifications();
-    // Set up polling for new notifications every 30 seconds
-    const interval = setInterval(fetchNotifications, 30000);
-    return () => clearInterval(interval);
-  }, [fetchNotifications]);
+    if (typeof EventSource === 'undefined') {
+      fetchNotifications();
+      const interval = setInterval(fetchNotifications, POLL_INTERVAL_MS);
+      return () => clearInterval(interval);
+    }
+
+    let closed = false;
+    let source: EventSource | null = null;
+    let pollTimer: ReturnType<typeof setInterval> | null = null;
+    let retryTimer: ReturnType<typeof setTimeout> | null = null;
+    // Id of the newest notification held; the server replays anything after it
+    let lastEventId: string | null = null;
+
+    const startPolling = () => {
+      if (!pollTimer) {
+        pollTimer = setInterval(fetchNotifications, POLL_INTERVAL_MS);
+      }
+    };
+
+    const stopPolling = () => {
+      if (pollTimer) {
+        clearInterval(pollTimer);
+        pollTimer = null;
+      }
+    };
+
+    const connect = () => {
+      retryTimer = null;
+      if (closed) {
+        return;
+      }
+      source = new EventSource(notificationApi.getNotificationStreamUrl(lastEventId));
+      source.onopen = stopPolling;
+      source.addEventListener('notification', (event) => {
+        const message = event as MessageEvent;
+        if (message.lastEventId) {
+          lastEventId = message.lastEventId;
+        }
+        dispatch(receiveNotification(toNotification(JSON.parse(message.data))));
+      });
+      // More was missed than the server can replay
+      source.addEventListener('resync', () => {
+        fetchNotifications();
+      });
+      source.onerror = () => {
+        startPolling();
+        // The browser reconnects on its own, sending Last-Event-ID, unless the stream was refused
+        if (source && source.readyState === EventSource.CLOSED) {
+          source.close();
+          source = null;
+          retryTimer = setTimeout(connect, STREAM_RETRY_MS);
+        }
+      };
+    };
+
+    fetchNotifications().then(loaded => {
+      const newest = loaded.reduce((max, notification) => Math.max(max, Number(notification.id)), 0);
+      if (newest > 0) {
+        lastEventId = newest.toString();
+      }
+      connect();
+    });
+
+    return () => {
+      closed = true;
+      source?.close();
+      stopPolling();
+      if (retryTimer) {
+        clearTimeout(retryTimer);
+      }
+    };
+  }, [dispatch, fetchNotifications]);
 
   const addNewNotification = (notification: NotificationData) => {
     dispatch(addNotification(notification));
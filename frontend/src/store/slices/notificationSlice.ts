@@ -34,6 +34,15 @@ const notificationSlice = createSlice({
         ...action.payload
       });
     },
+    // A notification pushed by the server; replaces the held copy if it was already received
+    receiveNotification: (state, action: PayloadAction<Notification>) => {
+      const index = state.notifications.findIndex(n => n.id === action.payload.id);
+      if (index >= 0) {
+        state.notifications[index] = action.payload;
+      } else {
+        state.notifications.unshift(action.payload);
+      }
+    },
     markAsRead: (state, action: PayloadAction<string>) => {
       const notification = state.notifications.find(n => n.id === action.payload);
       if (notification) {
@@ -105,6 +114,7 @@ const notificationSlice = createSlice({
 export const { 
   setNotifications,
   addNotification, 
+  receiveNotification,
   markAsRead, 
   markAllAsRead, 
   removeNotification, 